@@ -0,0 +1,113 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.maven.api.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures transforming models of a warm {@link DecisionCache}, as in a repeated build, against
+ * applying the plan to every model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionCacheBenchmark {
+
+    /** Number of distinct models transformed per benchmark invocation. */
+    private static final int MODELS = 16;
+
+    @Param({"10", "100"})
+    public int elements;
+
+    @Param({"100", "1000"})
+    public int instructions;
+
+    private Path dir;
+
+    private DolaTransformer plain;
+
+    private DolaTransformer cached;
+
+    private Model[] models;
+
+    @Setup
+    public void setup() throws IOException {
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        dir = Files.createTempDirectory("dola-decisions");
+        Properties properties = Workloads.instructions(instructions);
+        properties.setProperty("dola.transformer.cache", "0");
+        plain = new DolaTransformer(Workloads.transformers(), properties);
+        properties.setProperty("dola.transformer.decisionCache", dir.toString());
+        models = new Model[MODELS];
+        for (int i = 0; i < MODELS; i++) {
+            models[i] = Workloads.model(i, elements);
+        }
+        // Record decisions, as an earlier build would
+        DolaTransformer recorder = new DolaTransformer(Workloads.transformers(), properties);
+        for (Model model : models) {
+            recorder.transform(model);
+        }
+        cached = new DolaTransformer(Workloads.transformers(), properties);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void plan(Blackhole bh) {
+        for (Model model : models) {
+            bh.consume(plain.transform(model));
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        for (Model model : models) {
+            bh.consume(cached.transform(model));
+        }
+    }
+}
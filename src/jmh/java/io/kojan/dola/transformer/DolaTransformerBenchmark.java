@@ -0,0 +1,78 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures applying a whole instruction plan to synthetic models, the way Maven calls {@link
+ * DolaTransformer} for every module.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DolaTransformerBenchmark {
+
+    /** Number of distinct models transformed per benchmark invocation. */
+    private static final int MODELS = 16;
+
+    @Param({"10", "100", "2000"})
+    public int elements;
+
+    @Param({"10", "100", "1000"})
+    public int instructions;
+
+    private DolaTransformer transformer;
+
+    private Model[] models;
+
+    @Setup
+    public void setup() {
+        // Keep the cost of formatting log messages, but do not flood the console
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        transformer =
+                new DolaTransformer(Workloads.transformers(), Workloads.instructions(instructions));
+        models = new Model[MODELS];
+        for (int i = 0; i < MODELS; i++) {
+            models[i] = Workloads.model(i, elements);
+        }
+    }
+
+    @Benchmark
+    public void transform(Blackhole bh) {
+        for (Model model : models) {
+            bh.consume(transformer.transform(model));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures {@link GidAidMatcher} for typical selector shapes against typical coordinates. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GidAidMatcherBenchmark {
+
+    /** Group and artifact IDs, interleaved. */
+    private static final String[] COORDINATES = {
+        "org.apache.maven.plugins", "maven-compiler-plugin",
+        "junit", "junit",
+        "org.slf4j", "slf4j-api",
+        "com.fasterxml.jackson.core", "jackson-databind",
+        "org.apache.maven.plugins", "maven-surefire-plugin",
+        "org.junit.jupiter", "junit-jupiter-api",
+    };
+
+    @Param({
+        "junit:junit",
+        "org.apache.maven.plugins:*",
+        "*:*-plugin",
+        "org.*:*jackson*",
+        "org.apache.maven.*:maven-*-plugin",
+        ":"
+    })
+    public String pattern;
+
+    /** Entries of the shared memo; 0 disables the memo. */
+    @Param({"0", "64"})
+    public int memo;
+
+    private GidAidMatcher matcher;
+
+    @Setup
+    public void setup() {
+        GidAidMatcher.setMemo(memo > 0 ? new MatchMemo(memo, false) : null);
+        matcher = new GidAidMatcher(pattern);
+    }
+
+    @Benchmark
+    public void matches(Blackhole bh) {
+        for (int i = 0; i < COORDINATES.length; i += 2) {
+            bh.consume(matcher.matches(COORDINATES[i], COORDINATES[i + 1]));
+        }
+    }
+}
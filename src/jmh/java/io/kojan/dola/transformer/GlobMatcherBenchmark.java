@@ -0,0 +1,83 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares compiled {@link GlobMatcher} against the regular expression based implementation it
+ * replaced, for each pattern shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobMatcherBenchmark {
+
+    /** Inputs typical for group and artifact IDs found in Maven models. */
+    private static final String[] INPUTS = {
+        "org.apache.maven.plugins",
+        "maven-compiler-plugin",
+        "junit",
+        "org.slf4j",
+        "slf4j-api",
+        "com.fasterxml.jackson.core",
+        "jackson-databind",
+        "maven-surefire-plugin",
+    };
+
+    @Param({"junit", "org.apache.*", "*-plugin", "*jackson*", "maven-*-plugin", "slf4j-?pi"})
+    public String glob;
+
+    private GlobMatcher compiled;
+
+    private Pattern regex;
+
+    @Setup
+    public void setup() {
+        compiled = new GlobMatcher(glob);
+        regex = Pattern.compile(glob.replaceAll("\\*", ".*").replaceAll("\\?", "."));
+    }
+
+    @Benchmark
+    public void compiled(Blackhole bh) {
+        for (String input : INPUTS) {
+            bh.consume(compiled.matches(input));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (String input : INPUTS) {
+            bh.consume(regex.matcher(input).matches());
+        }
+    }
+}
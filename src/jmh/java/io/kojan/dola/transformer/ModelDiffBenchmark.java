@@ -0,0 +1,67 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ModelDiff} of a model against a copy with one dependency removed, as done after
+ * every transformation when diffing is enabled. Subtrees shared by both models are skipped, so the
+ * figures should grow only slowly with the number of elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelDiffBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int elements;
+
+    private Model model;
+
+    private Model newModel;
+
+    @Setup
+    public void setup() {
+        model = Workloads.model(0, elements);
+        List<Dependency> dependencies = new ArrayList<>(model.getDependencies());
+        dependencies.remove(elements / 2);
+        newModel = model.withDependencies(dependencies);
+    }
+
+    @Benchmark
+    public List<ModelDiff.Change> diff() {
+        return ModelDiff.diff(model, newModel);
+    }
+}
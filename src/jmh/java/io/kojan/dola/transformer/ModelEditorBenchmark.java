@@ -0,0 +1,95 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import io.kojan.dola.transformer.op.RemoveSubproject;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a dozen modifying instructions applied to one model, either one after another, each of
+ * them copying the model, or as a plan that gathers their edits in a {@link ModelEditor} and copies
+ * the model once. Compare the {@code gc.alloc.rate.norm} figures of both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelEditorBenchmark {
+
+    @Param({"10", "100"})
+    public int elements;
+
+    private List<Transformation> transformations;
+
+    private TransformationPlan plan;
+
+    private Model model;
+
+    @Setup
+    public void setup() {
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        transformations = new ArrayList<>();
+        transformations.add(new RemoveParent().produceTransformation("org.example:parent"));
+        for (int i = 0; i < 4; i++) {
+            transformations.add(
+                    new RemoveDependency().produceTransformation("org.dep" + i + ":artifact-" + i));
+            transformations.add(
+                    new RemoveSubproject().produceTransformation("artifact-" + (i + 4)));
+            transformations.add(
+                    new RemovePlugin()
+                            .produceTransformation("org.plugin" + i + ":maven-artifact-" + i));
+        }
+        transformations.add(new AddDependency().produceTransformation("org.added:added:1.0"));
+        plan = new TransformationPlan(transformations);
+        model = Workloads.model(0, elements);
+    }
+
+    @Benchmark
+    public Model sequential() {
+        Model result = model;
+        for (Transformation transformation : transformations) {
+            result = transformation.transform(result);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Model editor() {
+        return plan.transform(model);
+    }
+}
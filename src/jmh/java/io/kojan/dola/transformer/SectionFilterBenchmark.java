@@ -0,0 +1,81 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SectionFilterBenchmark {
+
+    /** Number of managed dependencies. */
+    @Param({"500", "3000"})
+    public int size;
+
+    /** Number of threads testing elements; 1 tests sequentially. */
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private final GidAidMatcher matcher = new GidAidMatcher("org.*.maven:maven-*-plugin");
+    private SectionFilter filter;
+    private List<Dependency> dependencies;
+
+    @Setup
+    public void setup() {
+        filter = new SectionFilter(1000, parallelism);
+        dependencies = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            dependencies.add(
+                    Dependency.newBuilder()
+                            .groupId("org.group" + i % 50 + ".maven")
+                            .artifactId("artifact-" + i + "-plugin")
+                            .build());
+        }
+    }
+
+    @Benchmark
+    public int test() {
+        boolean[] hits =
+                filter.testAll(
+                        dependencies, d -> matcher.matches(d.getGroupId(), d.getArtifactId()));
+        int removed = 0;
+        for (int i = 0; i < dependencies.size(); i++) {
+            Dependency d = dependencies.get(i);
+            if (hits != null ? hits[i] : matcher.matches(d.getGroupId(), d.getArtifactId())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,124 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of instructions from properties and files, loading them from the plan cache, and
+ * compilation of the resulting plan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransformationParserBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int instructions;
+
+    private Map<String, Transformer> transformers;
+
+    private Properties properties;
+
+    private Path dir;
+
+    private Properties fileProperties;
+
+    private Properties cachedProperties;
+
+    @Setup
+    public void setup() throws IOException {
+        transformers = Workloads.transformers();
+        Properties insns = Workloads.instructions(instructions);
+        properties = new Properties();
+        properties.putAll(insns);
+        // Unrelated properties that are present in every Maven JVM
+        properties.putAll(System.getProperties());
+
+        dir = Files.createTempDirectory("dola-bench");
+        Path file = dir.resolve("insns.txt");
+        List<String> lines = new ArrayList<>();
+        for (String key : new TreeSet<>(insns.stringPropertyNames())) {
+            lines.add(key + "=" + insns.getProperty(key));
+        }
+        Files.write(file, lines);
+        fileProperties = new Properties();
+        fileProperties.putAll(System.getProperties());
+        fileProperties.setProperty("dola.transformer.insnFile", file.toString());
+        cachedProperties = new Properties();
+        cachedProperties.putAll(System.getProperties());
+        cachedProperties.setProperty("dola.transformer.insnFile", file.toString());
+        cachedProperties.setProperty(
+                "dola.transformer.planCache", dir.resolve("plan.cache").toString());
+        // Populate the plan cache
+        TransformationParser.parse(transformers, cachedProperties);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Transformation> parse() {
+        return TransformationParser.parseFromProperties(transformers, properties);
+    }
+
+    @Benchmark
+    public List<Transformation> parseFile() {
+        return TransformationParser.parse(transformers, fileProperties);
+    }
+
+    @Benchmark
+    public List<Transformation> loadCachedPlan() {
+        return TransformationParser.parse(transformers, cachedProperties);
+    }
+
+    @Benchmark
+    public TransformationPlan parseAndCompile() {
+        return new TransformationPlan(
+                TransformationParser.parseFromProperties(transformers, properties));
+    }
+}
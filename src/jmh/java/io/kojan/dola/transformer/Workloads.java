@@ -0,0 +1,118 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import io.kojan.dola.transformer.op.RemoveSubproject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+
+/** Synthetic instruction sets and models shared by benchmarks. */
+final class Workloads {
+
+    private Workloads() {}
+
+    /** All built-in transformers, keyed by opcode. */
+    static Map<String, Transformer> transformers() {
+        return Map.of(
+                "addDependency", new AddDependency(),
+                "removeDependency", new RemoveDependency(),
+                "removeParent", new RemoveParent(),
+                "removePlugin", new RemovePlugin(),
+                "removeSubproject", new RemoveSubproject());
+    }
+
+    /**
+     * Generates instruction properties with a realistic mix of opcodes, argument shapes and
+     * selectors. Roughly one in ten instructions targets coordinates present in models generated by
+     * {@link #model(int, int)}.
+     */
+    static Properties instructions(int count) {
+        Properties properties = new Properties();
+        for (int i = 0; i < count; i++) {
+            String key = String.format("dola.transformer.insn.%06d.", i);
+            String sel =
+                    switch (i % 4) {
+                        case 0 -> "";
+                        case 1 -> "@org.example.m" + (i % 50) + ":*";
+                        case 2 -> "@(org.example.*:module-" + (i % 7) + ",com.other:lib)";
+                        default -> "@*:module-" + (i % 13);
+                    };
+            String aid = i % 10 == 0 ? "artifact-" + (i % 100) : "absent-" + i;
+            switch (i % 5) {
+                case 0, 1 ->
+                        properties.setProperty(
+                                key + "removeDependency", "org.dep" + (i % 20) + ":" + aid + sel);
+                case 2 ->
+                        properties.setProperty(
+                                key + "removePlugin", "org.plugin" + (i % 20) + ":*-" + aid + sel);
+                case 3 -> properties.setProperty(key + "removeSubproject", aid + "*" + sel);
+                default ->
+                        properties.setProperty(
+                                key + "addDependency", "org.added:" + aid + ":1.0" + sel);
+            }
+        }
+        return properties;
+    }
+
+    /** Generates a model with the given number of dependencies and plugins. */
+    static Model model(int index, int elements) {
+        List<Dependency> dependencies = new ArrayList<>(elements);
+        List<Plugin> plugins = new ArrayList<>(elements);
+        List<String> subprojects = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            dependencies.add(
+                    Dependency.newBuilder()
+                            .groupId("org.dep" + (i % 20))
+                            .artifactId("artifact-" + i)
+                            .version("1." + i)
+                            .build());
+            plugins.add(
+                    Plugin.newBuilder()
+                            .groupId("org.plugin" + (i % 20))
+                            .artifactId("maven-artifact-" + i)
+                            .version("2." + i)
+                            .build());
+            if (i < 20) {
+                subprojects.add("artifact-" + i);
+            }
+        }
+        return Model.newBuilder()
+                .parent(
+                        Parent.newBuilder()
+                                .groupId("org.example")
+                                .artifactId("parent")
+                                .version("1")
+                                .build())
+                .groupId("org.example.m" + (index % 50))
+                .artifactId("module-" + index)
+                .version("1.0")
+                .dependencies(dependencies)
+                .subprojects(subprojects)
+                .build(Build.newBuilder().plugins(plugins).build())
+                .build();
+    }
+}
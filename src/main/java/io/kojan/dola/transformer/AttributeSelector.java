@@ -0,0 +1,196 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@link ModelSelector} with conditions on model attributes other than coordinates.
+ *
+ * <p>The selector compiles into a conjunction of terms, each possibly negated, ordered by estimated
+ * cost, so that cheap string comparisons run before map lookups and path matching, and evaluation
+ * stops at the first term that does not hold. The first coordinates term that is not negated is not
+ * evaluated here, but is used as coordinates of the selector. A selector without such a term has no
+ * coordinates, and selects models with inherited coordinates as well.
+ */
+final class AttributeSelector implements ModelSelector {
+
+    /** Estimated cost of evaluating a packaging term. */
+    static final int PACKAGING_COST = 1;
+
+    /** Estimated cost of evaluating a coordinates term. */
+    static final int COORDINATES_COST = 2;
+
+    /** Estimated cost of evaluating a property term. */
+    static final int PROPERTY_COST = 3;
+
+    /** Estimated cost of evaluating a path term. */
+    static final int PATH_COST = 4;
+
+    /** A compiled term of the conjunction. */
+    private record Term(String text, int cost, Predicate<Model> predicate) {}
+
+    private final String pattern;
+
+    /** Coordinates, or {@code null} if the selector does not restrict them. */
+    private final GidAidMatcher coordinates;
+
+    /** Terms other than coordinates, in order of increasing cost. */
+    private final Term[] terms;
+
+    private final List<String> conditions;
+
+    /**
+     * Parses a selector. Selectors that consist of a single {@code gid:aid} term are returned as
+     * shared {@link GidAidMatcher}s, see {@link GidAidMatcher#of(String)}.
+     *
+     * @param pattern the selector, see {@link ModelSelector} for syntax
+     * @param paths trie to add globs of path terms to
+     * @return the parsed selector
+     * @throws IllegalArgumentException if the selector is malformed
+     */
+    static ModelSelector parse(String pattern, PathTrie paths) {
+        if (pattern.indexOf('&') < 0 && pattern.indexOf('=') < 0 && !pattern.startsWith("!")) {
+            return GidAidMatcher.of(pattern);
+        }
+        return new AttributeSelector(pattern, paths);
+    }
+
+    /**
+     * Parses a selector.
+     *
+     * @param pattern the selector, see {@link ModelSelector} for syntax
+     * @param paths trie to add globs of path terms to
+     * @throws IllegalArgumentException if the selector is malformed
+     */
+    AttributeSelector(String pattern, PathTrie paths) {
+        this.pattern = pattern;
+        GidAidMatcher coords = null;
+        List<Term> list = new ArrayList<>();
+        for (String text : pattern.split("&", -1)) {
+            text = text.strip();
+            boolean negated = text.startsWith("!");
+            String positive = negated ? text.substring(1).strip() : text;
+            int eq = positive.indexOf('=');
+            if (eq < 0 && !negated && coords == null) {
+                coords = GidAidMatcher.of(positive);
+                continue;
+            }
+            Term term = term(positive, eq, paths);
+            list.add(
+                    negated ? new Term("!" + term.text, term.cost, term.predicate.negate()) : term);
+        }
+        list.sort(Comparator.comparingInt(Term::cost));
+        this.coordinates = coords;
+        this.terms = list.toArray(Term[]::new);
+        this.conditions = list.stream().map(Term::text).toList();
+    }
+
+    private static Term term(String text, int eq, PathTrie paths) {
+        if (eq < 0) {
+            GidAidMatcher matcher = GidAidMatcher.of(text);
+            return new Term(text, COORDINATES_COST, matcher::matches);
+        }
+        String attribute = text.substring(0, eq).strip();
+        String value = text.substring(eq + 1).strip();
+        switch (attribute) {
+            case "packaging" -> {
+                GlobMatcher glob = GlobMatcher.of(value);
+                return new Term(
+                        "packaging=" + value,
+                        PACKAGING_COST,
+                        model ->
+                                glob.matches(
+                                        model.getPackaging() != null
+                                                ? model.getPackaging()
+                                                : "jar"));
+            }
+            case "path" -> {
+                int id = paths.add(value);
+                return new Term(
+                        "path=" + value, PATH_COST, model -> paths.matches(model.getPomFile(), id));
+            }
+            case "property" -> {
+                int at = value.indexOf('=');
+                if (at < 0) {
+                    return new Term(
+                            "property=" + value,
+                            PROPERTY_COST,
+                            model -> model.getProperties().containsKey(value));
+                }
+                String name = value.substring(0, at);
+                GlobMatcher glob = GlobMatcher.of(value.substring(at + 1));
+                return new Term(
+                        "property=" + value,
+                        PROPERTY_COST,
+                        model -> glob.matches(model.getProperties().get(name)));
+            }
+            default ->
+                    throw new IllegalArgumentException(
+                            "unknown selector attribute " + attribute + " in " + text);
+        }
+    }
+
+    /**
+     * Returns the estimated cost of testing conditions of this selector.
+     *
+     * @return the cost, in units of {@link #PACKAGING_COST}
+     */
+    int getCost() {
+        int cost = 0;
+        for (Term term : terms) {
+            cost += term.cost;
+        }
+        return cost;
+    }
+
+    @Override
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public GidAidMatcher getCoordinates() {
+        return coordinates;
+    }
+
+    @Override
+    public List<String> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public boolean matches(Model model) {
+        if (coordinates != null && !coordinates.matches(model)) {
+            return false;
+        }
+        for (Term term : terms) {
+            if (!term.predicate.test(model)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
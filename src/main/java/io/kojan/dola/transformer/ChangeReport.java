@@ -0,0 +1,184 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Summary of changes made to models during the session, grouped by transformation and by change,
+ * written at the end of the session instead of logging every change as it is made.
+ *
+ * <p>Changes are the messages that transformations log at info level. By convention, the last
+ * placeholder of such a message names the model, preceded by a preposition, as in {@code "Removed
+ * dependency {} from {}"}. The report strips that part, so that the same change made to many
+ * models, or to the same model in several phases, is listed once together with the number of
+ * distinct models it was made to.
+ *
+ * <p>The report collecting changes made on the calling thread is set by {@link #enter()}. Recording
+ * is thread-safe and does not block other threads.
+ */
+final class ChangeReport {
+
+    private static final ThreadLocal<ChangeReport> current = new ThreadLocal<>();
+
+    /** Group of changes not made by any transformation. */
+    private static final Object OTHER = new Object();
+
+    /** Models changed, by change, by metrics of the transformation that made the change. */
+    private final Map<Object, Map<String, Set<String>>> changes = new ConcurrentHashMap<>();
+
+    private final List<TransformationPlan> plans;
+    private final Path file;
+    private final boolean verbose;
+
+    /**
+     * Creates a report.
+     *
+     * @param plans plans whose transformations name the groups of changes
+     * @param file path of the file to write the report to
+     * @param verbose whether changes are also logged as they are made
+     */
+    ChangeReport(List<TransformationPlan> plans, Path file, boolean verbose) {
+        this.plans = List.copyOf(plans);
+        this.file = file;
+        this.verbose = verbose;
+    }
+
+    /**
+     * Returns the report collecting changes made on the calling thread.
+     *
+     * @return current report, or {@code null} if changes are not being collected
+     */
+    static ChangeReport current() {
+        return current.get();
+    }
+
+    /**
+     * Makes this report current for the calling thread.
+     *
+     * @return report that was current before, to be passed to {@link #exit}
+     */
+    ChangeReport enter() {
+        ChangeReport previous = current.get();
+        current.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the report that was current before {@link #enter()}.
+     *
+     * @param previous the value returned by {@link #enter()}
+     */
+    static void exit(ChangeReport previous) {
+        current.set(previous);
+    }
+
+    /**
+     * Tells whether changes should still be logged individually as they are made.
+     *
+     * @return {@code true} if changes are logged in addition to being reported
+     */
+    boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Records a change, attributing it to the transformation applying on the calling thread.
+     *
+     * @param pattern message pattern, with the model in the last placeholder
+     * @param args message arguments
+     */
+    void record(String pattern, Object... args) {
+        String change;
+        String model = "";
+        int at = pattern.length() - 2;
+        int cut = pattern.endsWith("{}") ? pattern.lastIndexOf(' ', at - 2) : -1;
+        if (cut > 0 && args.length > 0) {
+            change = Log.format(pattern.substring(0, cut), args);
+            model = String.valueOf(args[args.length - 1]);
+        } else {
+            change = Log.format(pattern, args);
+        }
+        Object group = TransformationMetrics.current();
+        changes.computeIfAbsent(group != null ? group : OTHER, g -> new ConcurrentHashMap<>())
+                .computeIfAbsent(change, c -> ConcurrentHashMap.newKeySet())
+                .add(model);
+    }
+
+    /**
+     * Formats the report as text. Groups are listed in plan order, and changes within each group in
+     * alphabetical order.
+     *
+     * @return the report, with a trailing line terminator, or an empty string if nothing changed
+     */
+    String format() {
+        Map<Object, String> names = new LinkedHashMap<>();
+        for (TransformationPlan plan : plans) {
+            List<Transformation> transformations = plan.getTransformations();
+            for (int i = 0; i < transformations.size(); i++) {
+                names.putIfAbsent(plan.getMetrics(i), transformations.get(i).toString());
+            }
+        }
+        List<Object> groups = new ArrayList<>(names.keySet());
+        for (Object group : changes.keySet()) {
+            if (!names.containsKey(group)) {
+                groups.add(group);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        String nl = System.lineSeparator();
+        for (Object group : groups) {
+            Map<String, Set<String>> groupChanges = changes.get(group);
+            if (groupChanges == null) {
+                continue;
+            }
+            sb.append(names.getOrDefault(group, "Other changes")).append(nl);
+            for (Map.Entry<String, Set<String>> entry : new TreeMap<>(groupChanges).entrySet()) {
+                int models = entry.getValue().size();
+                sb.append("    ").append(entry.getKey());
+                sb.append(" (").append(models).append(models == 1 ? " model)" : " models)");
+                sb.append(nl);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the report to the given stream and to the report file.
+     *
+     * @param out stream to write the report to
+     */
+    void write(PrintStream out) {
+        String report = format();
+        out.print("DOLA: Change report" + System.lineSeparator() + report);
+        try {
+            Files.writeString(file, report);
+        } catch (IOException e) {
+            out.println("DOLA: Unable to write change report to " + file + ": " + e);
+        }
+        out.flush();
+    }
+}
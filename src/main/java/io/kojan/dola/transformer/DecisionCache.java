@@ -0,0 +1,541 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@code DecisionCache} remembers, across builds, which transformations of a plan changed a model
+ * with given content, so that later builds can skip selection and matching for models seen before.
+ *
+ * <p>Models are identified by a 128-bit fingerprint of the parts that transformations look at, as
+ * passed by {@link ModelKey#traverse}, so the cache and {@link ModelKey} always agree on them. For
+ * each model the cache records plan positions of transformations that changed it. A model with a
+ * cached decision is transformed by applying just these transformations, see {@link
+ * TransformationPlan#transform(Model, BitSet, BitSet)}. Most often there are none, and the model is
+ * returned as is.
+ *
+ * <p>Decisions are kept in a directory, in one append-only file per plan fingerprint and pipeline.
+ * Existing records are read when the cache is opened, through a memory mapping if the file is
+ * large. New records are collected in memory and appended in batches, by whichever thread fills a
+ * batch while no other thread is writing, and by {@link #flush()} at the end of the session, so
+ * threads transforming models never wait for file I/O of each other. A batch is appended under an
+ * exclusive file lock with a single write, and each record has a checksum, so parallel Maven
+ * processes can share the directory. Before appending, a process reads records that other processes
+ * appended in the meantime. A torn record left by a killed process fails its checksum and is
+ * truncated by the next writer. Records of models no longer built pile up over time, so when most
+ * records of the file were not needed in a session, {@link #flush()} rewrites the file with the
+ * needed ones only.
+ *
+ * <p>Failures to read or write cache files, including file locks held by another cache of the same
+ * JVM, are logged at debug level and never fail the build; the cache then keeps decisions in memory
+ * only.
+ */
+final class DecisionCache {
+
+    private static final int MAGIC = 0x444f4c44;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int MMAP_THRESHOLD = 64 * 1024;
+
+    /** Number of stale records that makes {@link #flush()} compact the file. */
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    /** Number of pending records that triggers a write. */
+    private static final int BATCH_SIZE = 256;
+
+    /** Serializes file access of all caches in this JVM, as file locks are held per process. */
+    private static final Object FILE_ACCESS = new Object();
+
+    /** Fingerprint of a model. */
+    private record Key(long high, long low) {}
+
+    /** Two-lane 64-bit hash of model content. */
+    private static final class Hasher implements ModelKey.Content {
+        private long h1 = 0xcbf29ce484222325L;
+        private long h2 = 0x9e3779b97f4a7c15L;
+
+        @Override
+        public void add(int value) {
+            h1 = (h1 ^ value) * 0x100000001b3L;
+            h2 = Long.rotateLeft((h2 ^ value) * 0xbf58476d1ce4e5b9L, 31);
+        }
+
+        @Override
+        public void add(Object value) {
+            if (value == null) {
+                add(-1);
+                return;
+            }
+            String str = value.toString();
+            for (int i = 0; i < str.length(); i++) {
+                add(str.charAt(i));
+            }
+            add(-2 - str.length());
+        }
+
+        @Override
+        public void add(Map<String, String> properties) {
+            // Sum of entry hashes does not depend on iteration order
+            long s1 = 0;
+            long s2 = 0;
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                Hasher entry = new Hasher();
+                entry.add(property.getKey());
+                entry.add(property.getValue());
+                s1 += entry.h1;
+                s2 += entry.h2;
+            }
+            add(properties.size());
+            add((int) s1);
+            add((int) (s1 >>> 32));
+            add((int) s2);
+            add((int) (s2 >>> 32));
+        }
+
+        Key key() {
+            long z = h2 ^ (h2 >>> 33);
+            return new Key(h1 ^ (h1 >>> 29), z * 0xff51afd7ed558ccdL);
+        }
+    }
+
+    /** Plan positions of transformations that changed a model. */
+    private static final class Decision {
+        final int[] positions;
+
+        /**
+         * Whether the decision was made or needed in this session; not synchronized, as it only
+         * decides which records survive compaction.
+         */
+        boolean used;
+
+        Decision(int[] positions, boolean used) {
+            this.positions = positions;
+            this.used = used;
+        }
+    }
+
+    private final Path file;
+
+    /** Number of transformations in the plan, which bounds recorded positions. */
+    private final int planSize;
+
+    private final Map<Key, Decision> decisions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Models whose decisions are yet to be appended to the file. */
+    private final Queue<Key> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final ReentrantLock writer = new ReentrantLock();
+
+    /** File offset following the last record read or written; guarded by {@code writer}. */
+    private long offset;
+
+    /** Whether records can be appended to the file; guarded by {@code writer}. */
+    private boolean writable = true;
+
+    /**
+     * Number of records in the file up to {@code offset}, including records superseded by later
+     * ones; guarded by {@code writer}.
+     */
+    private int records;
+
+    private DecisionCache(Path file, int planSize) {
+        this.file = file;
+        this.planSize = planSize;
+    }
+
+    /**
+     * Opens a decision cache of a plan, reading decisions recorded by earlier builds.
+     *
+     * @param directory the cache directory
+     * @param fingerprint fingerprint of the instructions the plan was compiled from
+     * @param name name of the pipeline the plan belongs to, such as a phase name
+     * @param planSize number of transformations in the plan
+     * @return the cache
+     */
+    static DecisionCache open(Path directory, byte[] fingerprint, String name, int planSize) {
+        String prefix = HexFormat.of().formatHex(fingerprint, 0, 16);
+        DecisionCache cache =
+                new DecisionCache(directory.resolve(prefix + "-" + name + ".decisions"), planSize);
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * Computes fingerprint of a plan compiled from the given instructions. Besides the instructions
+     * themselves, it covers available transformers and contents of files named by instruction
+     * arguments, such as version tables.
+     *
+     * @param instructions instructions, in application order
+     * @param transformers available transformers, by name
+     * @return SHA-256 hash of the plan
+     * @throws IOException if a file named by an argument cannot be read
+     */
+    static byte[] fingerprint(
+            List<PlanOptimizer.Instruction> instructions, Map<String, Transformer> transformers)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, "dola-decisions-" + VERSION);
+        for (Map.Entry<String, Transformer> entry : new TreeMap<>(transformers).entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue().getClass().getName());
+        }
+        byte[] buffer = new byte[8192];
+        for (PlanOptimizer.Instruction instruction : instructions) {
+            update(digest, instruction.op);
+            update(digest, instruction.arg);
+            update(digest, String.join(",", instruction.selectors.keySet()));
+            update(digest, Phase.formatList(instruction.phases));
+            Path argFile = argumentFile(instruction.arg);
+            if (argFile != null) {
+                try (InputStream is = Files.newInputStream(argFile)) {
+                    for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+            }
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String str) {
+        digest.update(str.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static Path argumentFile(String arg) {
+        try {
+            Path path = Path.of(arg);
+            return Files.isRegularFile(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes fingerprint of model content that transformations look at, as defined by {@link
+     * ModelKey#traverse}.
+     *
+     * @param model the model
+     * @return the fingerprint
+     */
+    private static Key fingerprint(Model model) {
+        Hasher h = new Hasher();
+        ModelKey.traverse(model, h);
+        return h.key();
+    }
+
+    /**
+     * Transforms a model with a plan, using and recording cached decisions.
+     *
+     * @param plan the plan this cache was opened for
+     * @param model the model to transform
+     * @return the transformed model
+     */
+    Model transform(TransformationPlan plan, Model model) {
+        Key key = fingerprint(model);
+        Decision decision = decisions.get(key);
+        if (decision != null) {
+            hits.increment();
+            if (!decision.used) {
+                decision.used = true;
+            }
+            int[] positions = decision.positions;
+            if (positions.length == 0) {
+                return model;
+            }
+            BitSet only = new BitSet(planSize);
+            for (int position : positions) {
+                only.set(position);
+            }
+            return plan.transform(model, only, null);
+        }
+        misses.increment();
+        BitSet changed = new BitSet(planSize);
+        Model result = plan.transform(model, null, changed);
+        if (decisions.putIfAbsent(key, new Decision(changed.stream().toArray(), true)) == null) {
+            pending.add(key);
+            if (pendingCount.incrementAndGet() >= BATCH_SIZE && writer.tryLock()) {
+                try {
+                    append(false);
+                } finally {
+                    writer.unlock();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends all pending decisions to the cache file, waiting for a write in progress. If most
+     * records of the file were not needed in this session, the file is compacted to the needed
+     * ones.
+     */
+    void flush() {
+        writer.lock();
+        try {
+            append(true);
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    /** Reads all records of the cache file. */
+    private void load() {
+        writer.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            synchronized (FILE_ACCESS) {
+                try (FileLock lock = channel.lock(0, Long.MAX_VALUE, true)) {
+                    offset = read(channel, 0, channel.size(), false);
+                }
+            }
+            Log.debug("loaded {} decisions from {}", decisions.size(), file);
+        } catch (NoSuchFileException e) {
+            Log.debug("decision cache {} does not exist", file);
+        } catch (IOException | OverlappingFileLockException e) {
+            writable = false;
+            Log.debug("unable to read decision cache {}: {}", file, e);
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    /**
+     * Reads records from a region of the cache file, starting with the header if the region starts
+     * at the beginning of the file.
+     *
+     * @param used whether decisions read are marked as needed in this session
+     * @return offset following the last valid record
+     */
+    private long read(FileChannel channel, long from, long to, boolean used) throws IOException {
+        if (to <= from) {
+            return from;
+        }
+        ByteBuffer buf;
+        if (to - from >= MMAP_THRESHOLD) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } else {
+            buf = ByteBuffer.allocate((int) (to - from));
+            while (buf.hasRemaining() && channel.read(buf, from + buf.position()) >= 0) {}
+            buf.flip();
+        }
+        if (from == 0) {
+            records = 0;
+            if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                Log.debug("decision cache {} has unknown format", file);
+                return 0;
+            }
+        }
+        CRC32C crc = new CRC32C();
+        while (buf.remaining() >= 4) {
+            int start = buf.position();
+            int count = buf.getInt();
+            if (count < 0 || count > planSize || buf.remaining() < 16 + 4 * count + 4) {
+                buf.position(start);
+                break;
+            }
+            Key key = new Key(buf.getLong(), buf.getLong());
+            int[] positions = new int[count];
+            boolean valid = true;
+            for (int i = 0; i < count; i++) {
+                positions[i] = buf.getInt();
+                valid &= positions[i] >= 0 && positions[i] < planSize;
+            }
+            int end = buf.position();
+            crc.reset();
+            crc.update(buf.duplicate().position(start).limit(end));
+            if (buf.getInt() != (int) crc.getValue() || !valid) {
+                buf.position(start);
+                break;
+            }
+            Decision decision = decisions.putIfAbsent(key, new Decision(positions, used));
+            if (decision != null && used) {
+                decision.used = true;
+            }
+            records++;
+        }
+        return from + buf.position();
+    }
+
+    /**
+     * Appends pending records to the cache file, after reading records appended by other processes.
+     * Must be called with {@code writer} held.
+     *
+     * @param compact whether to rewrite the file with needed records only, if most are stale
+     */
+    private void append(boolean compact) {
+        List<Key> keys = new ArrayList<>();
+        for (Key key = pending.poll(); key != null; key = pending.poll()) {
+            keys.add(key);
+        }
+        pendingCount.addAndGet(-keys.size());
+        if (!writable || keys.isEmpty() && !compact) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)) {
+                synchronized (FILE_ACCESS) {
+                    try (FileLock lock = channel.lock()) {
+                        long fileSize = channel.size();
+                        if (fileSize < offset) {
+                            // Compacted by another process since we last read it
+                            offset = 0;
+                        }
+                        offset = read(channel, offset, fileSize, true);
+                        if (compact && isStale()) {
+                            Log.debug(
+                                    "compacting decision cache {} with {} records", file, records);
+                            keys.clear();
+                            decisions.forEach(
+                                    (key, decision) -> {
+                                        if (decision.used) {
+                                            keys.add(key);
+                                        }
+                                    });
+                            offset = 0;
+                        }
+                        if (offset == 0) {
+                            channel.truncate(0);
+                            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                            header.putInt(MAGIC).putInt(VERSION).flip();
+                            offset = write(channel, header, 0);
+                            records = 0;
+                        } else if (offset < fileSize) {
+                            Log.debug("truncating invalid records in decision cache {}", file);
+                            channel.truncate(offset);
+                        }
+                        offset = write(channel, encode(keys), offset);
+                        records += keys.size();
+                    }
+                }
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            writable = false;
+            Log.debug("unable to write decision cache {}: {}", file, e);
+        }
+    }
+
+    /**
+     * Tests whether the file has at least {@link #COMPACT_THRESHOLD} records that were not needed
+     * in this session, and they are the majority. Must be called with {@code writer} held.
+     */
+    private boolean isStale() {
+        int used = 0;
+        for (Decision decision : decisions.values()) {
+            if (decision.used) {
+                used++;
+            }
+        }
+        int stale = records - used;
+        return stale >= COMPACT_THRESHOLD && stale > records / 2;
+    }
+
+    /** Encodes records of given decisions, each followed by its checksum. */
+    private ByteBuffer encode(List<Key> keys) {
+        int size = 0;
+        for (Key key : keys) {
+            size += 4 + 16 + 4 * decisions.get(key).positions.length + 4;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        CRC32C crc = new CRC32C();
+        for (Key key : keys) {
+            int[] positions = decisions.get(key).positions;
+            int start = buf.position();
+            buf.putInt(positions.length).putLong(key.high()).putLong(key.low());
+            for (int position : positions) {
+                buf.putInt(position);
+            }
+            crc.reset();
+            crc.update(buf.duplicate().position(start).limit(buf.position()));
+            buf.putInt((int) crc.getValue());
+        }
+        return buf.flip();
+    }
+
+    private static long write(FileChannel channel, ByteBuffer buf, long position)
+            throws IOException {
+        while (buf.hasRemaining()) {
+            position += channel.write(buf, position);
+        }
+        return position;
+    }
+
+    /**
+     * Returns the number of models whose decision was found in the cache.
+     *
+     * @return number of cache hits
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of models whose decision was not cached.
+     *
+     * @return number of cache misses
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionCache[hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+}
@@ -0,0 +1,50 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the model building phases in which transformations produced by a {@link Transformer} are
+ * applied, unless instructions specify phases explicitly. Transformers without this annotation are
+ * applied in all phases.
+ *
+ * <p>Transformers should declare the smallest set of phases that gives correct results, so that
+ * work is not repeated on models that were already transformed in an earlier phase.
+ *
+ * <p>Transformers that edit inherited content, such as dependencies, plugins and their management
+ * sections, are typically applied in {@link Phase#RAW} and {@link Phase#EFFECTIVE}. Changes made to
+ * the raw model are inherited by child projects, while the effective model also covers content that
+ * is inherited, imported or injected, for example by profiles or lifecycle mappings, and projects
+ * that are selected only by coordinates inherited from their parent. Transformers of content that
+ * is consumed while the raw model is being built, such as the parent or subprojects, are applied in
+ * {@link Phase#FILE} and {@link Phase#RAW} instead.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DefaultPhases {
+    /**
+     * Phases in which transformations are applied by default.
+     *
+     * @return non-empty array of phases
+     */
+    Phase[] value();
+}
@@ -0,0 +1,199 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code DispatchIndex} maps model coordinates to positions of transformations whose selectors
+ * match them, without evaluating every selector of every transformation.
+ *
+ * <p>Selectors are indexed by their {@linkplain ModelSelector#getCoordinates() coordinates}, so
+ * selected positions of {@linkplain SelectiveTransformation#isConditional() conditional}
+ * transformations are only candidates, which must be confirmed against the model. Coordinates of
+ * each selector are classified by the shape of their pattern:
+ *
+ * <ul>
+ *   <li>selectors without wildcards are stored in hash maps keyed by group ID and artifact ID
+ *   <li>selectors starting with a literal prefix are stored in a prefix trie
+ *   <li>selectors starting with a wildcard (or with an empty group ID glob) are kept in a fallback
+ *       list and are tested for every model
+ *   <li>selectors without coordinates are candidates for every model, even one with inherited
+ *       coordinates
+ * </ul>
+ *
+ * <p>Transformations that are not {@link SelectiveTransformation}s, or that have no selectors, are
+ * selected unconditionally.
+ */
+public class DispatchIndex {
+
+    /** Trie node keyed by characters of the literal selector prefix. */
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        int[] ids = new int[0];
+    }
+
+    /** Indexed selective transformations by position; {@code null} if selected unconditionally. */
+    private final List<SelectiveTransformation> candidates = new ArrayList<>();
+
+    /** Positions of transformations that are always selected. */
+    private final BitSet unconditional = new BitSet();
+
+    /** Positions of transformations with selectors that do not restrict coordinates. */
+    private final BitSet unrestricted = new BitSet();
+
+    /** Positions of transformations with exact selectors, keyed by group ID and artifact ID. */
+    private final Map<String, Map<String, BitSet>> exact = new HashMap<>();
+
+    /** Root of the trie of literal selector prefixes. */
+    private final Node prefixes = new Node();
+
+    /** Positions of transformations with selectors that cannot be indexed. */
+    private final BitSet fallback = new BitSet();
+
+    /**
+     * Builds a dispatch index for the given list of transformations.
+     *
+     * @param transformations the transformations to index, in application order
+     */
+    public DispatchIndex(List<Transformation> transformations) {
+        for (int id = 0; id < transformations.size(); id++) {
+            Transformation transformation = transformations.get(id);
+            if (transformation instanceof SelectiveTransformation selective
+                    && !selective.getSelectors().isEmpty()) {
+                candidates.add(selective);
+                for (ModelSelector selector : selective.getSelectors()) {
+                    GidAidMatcher coordinates = selector.getCoordinates();
+                    if (coordinates != null) {
+                        add(id, coordinates.getPattern());
+                    } else {
+                        unrestricted.set(id);
+                    }
+                }
+            } else {
+                candidates.add(null);
+                unconditional.set(id);
+            }
+        }
+    }
+
+    private static int wildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void add(int id, String pattern) {
+        int i = pattern.indexOf(':');
+        String gid = pattern.substring(0, i);
+        String aid = pattern.substring(i + 1);
+        int gidWildcard = wildcard(gid);
+        int aidWildcard = wildcard(aid);
+        String prefix;
+        if (gid.isEmpty() || gidWildcard == 0) {
+            fallback.set(id);
+            return;
+        } else if (gidWildcard > 0) {
+            prefix = gid.substring(0, gidWildcard);
+        } else if (aid.isEmpty()) {
+            prefix = gid + ":";
+        } else if (aidWildcard >= 0) {
+            prefix = gid + ":" + aid.substring(0, aidWildcard);
+        } else {
+            exact.computeIfAbsent(gid, k -> new HashMap<>())
+                    .computeIfAbsent(aid, k -> new BitSet())
+                    .set(id);
+            return;
+        }
+        Node node = prefixes;
+        for (int j = 0; j < prefix.length(); j++) {
+            node = node.children.computeIfAbsent(prefix.charAt(j), k -> new Node());
+        }
+        node.ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+        node.ids[node.ids.length - 1] = id;
+    }
+
+    private void verify(BitSet result, int id, String gid, String aid) {
+        if (!result.get(id) && candidates.get(id).selects(gid, aid)) {
+            result.set(id);
+        }
+    }
+
+    /**
+     * Returns positions of all transformations that apply to a model with given coordinates.
+     *
+     * @param gid the model group ID, possibly {@code null}
+     * @param aid the model artifact ID, possibly {@code null}
+     * @return a new bit set with positions of selected transformations, in application order
+     */
+    public BitSet select(String gid, String aid) {
+        BitSet result = new BitSet();
+        select(gid, aid, result);
+        return result;
+    }
+
+    /**
+     * Stores positions of all transformations that apply to a model with given coordinates in the
+     * given bit set, replacing its previous contents.
+     *
+     * <p>Once the bit set has grown to the size of the index, this method does not allocate memory.
+     *
+     * @param gid the model group ID, possibly {@code null}
+     * @param aid the model artifact ID, possibly {@code null}
+     * @param result the bit set to store positions of selected transformations in
+     */
+    public void select(String gid, String aid, BitSet result) {
+        result.clear();
+        result.or(unconditional);
+        result.or(unrestricted);
+        if (gid == null || aid == null) {
+            return;
+        }
+        Map<String, BitSet> byAid = exact.get(gid);
+        BitSet hits = byAid != null ? byAid.get(aid) : null;
+        if (hits != null) {
+            for (int id = hits.nextSetBit(0); id >= 0; id = hits.nextSetBit(id + 1)) {
+                verify(result, id, gid, aid);
+            }
+        }
+        Node node = prefixes;
+        int length = gid.length() + 1 + aid.length();
+        for (int j = 0; j < length && node != null; j++) {
+            char c =
+                    j < gid.length()
+                            ? gid.charAt(j)
+                            : j == gid.length() ? ':' : aid.charAt(j - gid.length() - 1);
+            node = node.children.get(c);
+            if (node != null) {
+                for (int id : node.ids) {
+                    verify(result, id, gid, aid);
+                }
+            }
+        }
+        for (int id = fallback.nextSetBit(0); id >= 0; id = fallback.nextSetBit(id + 1)) {
+            verify(result, id, gid, aid);
+        }
+    }
+}
@@ -15,8 +15,14 @@
  */
 package io.kojan.dola.transformer;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -24,42 +30,211 @@ import org.apache.maven.api.model.Model;
 import org.apache.maven.api.spi.ModelTransformer;
 import org.apache.maven.api.spi.ModelTransformerException;
 
+/**
+ * Maven model transformer applying instructions given in {@code dola.transformer.*} properties.
+ *
+ * <p>A single instance is shared by the whole Maven session and may be called concurrently by
+ * parallel model builder and by parallel ({@code -T}) builds. The instance is thread-safe: the
+ * transformation plans are immutable after construction, per-call state is confined to the calling
+ * thread, and shared state (result cache, metrics and log buffers) is updated without lost updates.
+ * Results do not depend on the number of threads or on the order in which models are transformed.
+ */
 @Named
 @Singleton
 public class DolaTransformer implements ModelTransformer {
 
-    private final List<Transformation> transformations;
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /** A compiled plan together with its result cache and decision cache. */
+    private static final class Pipeline {
+        final TransformationPlan plan;
+        final TransformationCache cache;
+        final DecisionCache decisions;
+        ChangeReport report;
+
+        Pipeline(
+                List<Transformation> transformations,
+                int cacheSize,
+                boolean metrics,
+                Path decisionCache,
+                byte[] fingerprint,
+                String name) {
+            plan = new TransformationPlan(transformations, metrics);
+            cache = cacheSize > 0 ? new TransformationCache(cacheSize) : null;
+            decisions =
+                    decisionCache != null
+                            ? DecisionCache.open(
+                                    decisionCache, fingerprint, name, transformations.size())
+                            : null;
+            if (decisions != null) {
+                Runtime.getRuntime()
+                        .addShutdownHook(new Thread(decisions::flush, "dola-decisions"));
+            }
+        }
+
+        Model apply(Model model) {
+            return decisions != null ? decisions.transform(plan, model) : plan.transform(model);
+        }
+
+        Model transform(Model model) {
+            ChangeReport previous = report != null ? report.enter() : null;
+            try {
+                if (cache == null) {
+                    return apply(model);
+                }
+                return cache.get(model, this::apply);
+            } finally {
+                if (report != null) {
+                    ChangeReport.exit(previous);
+                }
+                Log.flush();
+            }
+        }
+    }
+
+    /** All instructions, regardless of phase. */
+    private final Pipeline all;
+
+    /** Instructions applicable in each phase. */
+    private final Map<Phase, Pipeline> phases = new EnumMap<>(Phase.class);
 
     @Inject
     public DolaTransformer(Map<String, Transformer> transformers) {
-        transformations =
-                TransformationParser.parseFromProperties(transformers, System.getProperties());
+        this(transformers, System.getProperties());
     }
 
-    public Model transform(Model model) {
-        for (Transformation transformation : transformations) {
-            Log.debug("    applying " + transformation);
-            Model newModel = transformation.transform(model);
-            if (newModel != model) {
-                Log.debug("        MODIFIED");
-                model = newModel;
+    DolaTransformer(Map<String, Transformer> transformers, Properties properties) {
+        String decisionDir = properties.getProperty("dola.transformer.decisionCache");
+        Path decisionCache = decisionDir != null ? Path.of(decisionDir) : null;
+        TransformationParser.Parsed parsed =
+                TransformationParser.parse(transformers, properties, decisionCache != null);
+        List<Transformation> transformations = parsed.transformations();
+        byte[] fingerprint = parsed.fingerprint();
+        Log.flush();
+        int cacheSize =
+                "0".equals(properties.getProperty("dola.transformer.cache"))
+                        ? 0
+                        : Integer.parseInt(
+                                properties.getProperty(
+                                        "dola.transformer.cacheSize",
+                                        String.valueOf(DEFAULT_CACHE_SIZE)));
+        boolean metrics = "1".equals(properties.getProperty("dola.transformer.metrics"));
+        all = new Pipeline(transformations, cacheSize, metrics, decisionCache, fingerprint, "all");
+        for (Phase phase : Phase.values()) {
+            List<Transformation> selected =
+                    transformations.stream()
+                            .filter(
+                                    transformation ->
+                                            !(transformation
+                                                            instanceof
+                                                            SelectiveTransformation selective)
+                                                    || selective.getPhases().contains(phase))
+                            .toList();
+            phases.put(
+                    phase,
+                    new Pipeline(
+                            selected,
+                            cacheSize,
+                            metrics,
+                            decisionCache,
+                            fingerprint,
+                            phase.name().toLowerCase(Locale.ROOT)));
+            Log.debug("phase {}: {} instructions", phase, selected.size());
+        }
+        if (metrics) {
+            List<TransformationPlan> plans = new ArrayList<>();
+            Map<String, TransformationCache> caches = new LinkedHashMap<>();
+            plans.add(all.plan);
+            caches.put("all", all.cache);
+            for (Map.Entry<Phase, Pipeline> entry : phases.entrySet()) {
+                plans.add(entry.getValue().plan);
+                caches.put(entry.getKey().toString(), entry.getValue().cache);
+            }
+            MetricsReport report =
+                    new MetricsReport(
+                            plans,
+                            caches,
+                            Path.of(
+                                    properties.getProperty(
+                                            "dola.transformer.metricsFile", "dola-metrics.json")));
+            Runtime.getRuntime()
+                    .addShutdownHook(new Thread(() -> report.write(System.err), "dola-metrics"));
+        }
+        if ("1".equals(properties.getProperty("dola.transformer.report"))) {
+            List<TransformationPlan> plans = new ArrayList<>();
+            plans.add(all.plan);
+            for (Pipeline pipeline : phases.values()) {
+                plans.add(pipeline.plan);
+            }
+            ChangeReport report =
+                    new ChangeReport(
+                            plans,
+                            Path.of(
+                                    properties.getProperty(
+                                            "dola.transformer.reportFile", "dola-changes.txt")),
+                            "1".equals(properties.getProperty("dola.transformer.reportVerbose")));
+            all.report = report;
+            for (Pipeline pipeline : phases.values()) {
+                pipeline.report = report;
             }
+            Runtime.getRuntime()
+                    .addShutdownHook(new Thread(() -> report.write(System.err), "dola-report"));
         }
-        return model;
+    }
+
+    TransformationPlan getPlan() {
+        return all.plan;
+    }
+
+    TransformationCache getCache() {
+        return all.cache;
+    }
+
+    ChangeReport getChangeReport() {
+        return all.report;
+    }
+
+    DecisionCache getDecisionCache(Phase phase) {
+        return phases.get(phase).decisions;
+    }
+
+    TransformationPlan getPlan(Phase phase) {
+        return phases.get(phase).plan;
+    }
+
+    /**
+     * Applies all instructions to a model, regardless of phases they are restricted to.
+     *
+     * @param model the model to transform
+     * @return the transformed model
+     */
+    public Model transform(Model model) {
+        return all.transform(model);
+    }
+
+    /**
+     * Applies instructions applicable in the given phase to a model.
+     *
+     * @param phase model building phase
+     * @param model the model to transform
+     * @return the transformed model
+     */
+    public Model transform(Phase phase, Model model) {
+        return phases.get(phase).transform(model);
     }
 
     public Model transformFileModel(Model model) throws ModelTransformerException {
-        Log.debug("transformFileModel " + model);
-        return transform(model);
+        Log.debug("transformFileModel {}", model);
+        return transform(Phase.FILE, model);
     }
 
     public Model transformRawModel(Model model) throws ModelTransformerException {
-        Log.debug("transformRawModel " + model);
-        return transform(model);
+        Log.debug("transformRawModel {}", model);
+        return transform(Phase.RAW, model);
     }
 
     public Model transformEffectiveModel(Model model) throws ModelTransformerException {
-        Log.debug("transformEffectiveModel " + model);
-        return transform(model);
+        Log.debug("transformEffectiveModel {}", model);
+        return transform(Phase.EFFECTIVE, model);
     }
 }
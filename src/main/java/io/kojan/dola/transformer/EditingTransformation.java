@@ -0,0 +1,36 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+/**
+ * A {@link Transformation} that can record its changes in a {@link ModelEditor} rather than
+ * producing a new model.
+ *
+ * <p>A {@link TransformationPlan} passes a single editor through consecutive editing
+ * transformations, so that the model is rebuilt once for all of them, only when a transformation
+ * that is not an editing one needs the model, or at the end of the plan.
+ */
+public interface EditingTransformation extends Transformation {
+
+    /**
+     * Records this transformation in an editor. The result must be the same as that of {@link
+     * #transform(org.apache.maven.api.model.Model)} applied to the model built from the editor.
+     *
+     * @param editor the editor
+     * @return {@code true} if any edit was recorded
+     */
+    boolean edit(ModelEditor editor);
+}
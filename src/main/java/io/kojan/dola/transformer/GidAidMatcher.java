@@ -15,6 +15,9 @@
  */
 package io.kojan.dola.transformer;
 
+import java.util.List;
+import org.apache.maven.api.model.Model;
+
 /**
  * The {@code GidAidMatcher} class matches a combination of group ID (GID) and artifact ID (AID)
  * against a glob-style pattern of the form {@code "gid:aid"}.
@@ -29,11 +32,36 @@ package io.kojan.dola.transformer;
  * <p>Example usage:
  *
  * <pre>
- *     GidAidMatcher matcher = new GidAidMatcher("com.example:*");
+ *     GidAidMatcher matcher = GidAidMatcher.of("com.example:*");
  *     boolean result = matcher.matches("com.example", "my-artifact");  // returns true
  * </pre>
+ *
+ * <p>Like {@link GlobMatcher}, matchers are immutable and {@link #of(String)} returns a shared
+ * matcher for each distinct pattern, held weakly so that matchers of old plans can be garbage
+ * collected. Group ID and artifact ID globs are shared as well, so all selectors of one group use
+ * the same group ID matcher.
+ *
+ * <p>As a {@link ModelSelector}, a {@code GidAidMatcher} is its own coordinates and has no further
+ * conditions.
+ *
+ * <p>If the {@code dola.transformer.matchMemo} property is set to a positive number, matchers with
+ * a general glob part (one that is not a plain literal, prefix, suffix or infix) remember results
+ * for recently seen coordinate pairs in a {@link MatchMemo} of that many entries shared by all
+ * matchers, so that coordinates recurring in many models are matched with a hash lookup. The memo
+ * is configured from session properties each time instructions are parsed, see {@link
+ * #setMemo(MatchMemo)}. With metrics enabled, its hits and misses are counted, see {@link
+ * #getMemoHits()} and {@link #getMemoMisses()}.
  */
-public class GidAidMatcher {
+public class GidAidMatcher implements ModelSelector {
+
+    /** Shared matchers, by pattern. */
+    private static final WeakPool<GidAidMatcher> pool = new WeakPool<>();
+
+    /** Memo shared by all matchers, or {@code null} if results are not remembered. */
+    private static volatile MatchMemo memo;
+
+    /** The original {@code "gid:aid"} pattern string. */
+    private final String pattern;
 
     /** Glob pattern matcher for the group ID. */
     private final GlobMatcher gidRe;
@@ -41,21 +69,131 @@ public class GidAidMatcher {
     /** Glob pattern matcher for the artifact ID. */
     private final GlobMatcher aidRe;
 
+    /** Whether matching is costly enough for results to be remembered in the memo. */
+    private final boolean memoizable;
+
     /**
-     * Constructs a {@code GidAidMatcher} from a colon-separated glob pattern string.
+     * Constructs a {@code GidAidMatcher} from a colon-separated glob pattern string. Unlike {@link
+     * #of(String)}, the matcher and its globs are private to the caller and are not pooled.
      *
      * @param ga the glob pattern in the format {@code "gid:aid"}
      * @throws RuntimeException if the input string does not contain a colon
      */
     public GidAidMatcher(String ga) {
+        this(ga, false);
+    }
+
+    private GidAidMatcher(String ga, boolean shared) {
         int i = ga.indexOf(':');
         if (i < 0) {
             throw new RuntimeException("gid:aid string does not contain colon: " + ga);
         }
+        this.pattern = ga;
         String gid = ga.substring(0, i);
         String aid = ga.substring(i + 1);
-        this.gidRe = new GlobMatcher(gid);
-        this.aidRe = new GlobMatcher(aid);
+        this.gidRe = shared ? GlobMatcher.of(gid) : new GlobMatcher(gid);
+        this.aidRe = shared ? GlobMatcher.of(aid) : new GlobMatcher(aid);
+        this.memoizable = isGeneral(gidRe) || isGeneral(aidRe);
+    }
+
+    /** Tests whether matching a glob costs more than a memo lookup. */
+    private static boolean isGeneral(GlobMatcher glob) {
+        return glob.getShape() == GlobMatcher.Shape.GENERAL;
+    }
+
+    /**
+     * Sets the memo shared by all matchers, replacing the previous one.
+     *
+     * @param memo the memo, or {@code null} to stop remembering results
+     */
+    static void setMemo(MatchMemo memo) {
+        GidAidMatcher.memo = memo;
+    }
+
+    /**
+     * Returns the memo shared by all matchers.
+     *
+     * @return the memo, or {@code null} if results are not remembered
+     */
+    static MatchMemo getMemo() {
+        return memo;
+    }
+
+    /**
+     * Returns the number of matches answered from the memo, if metrics are enabled.
+     *
+     * @return number of memo hits
+     */
+    public static long getMemoHits() {
+        MatchMemo m = memo;
+        return m != null ? m.getHits() : 0;
+    }
+
+    /**
+     * Returns the number of matches of memoized matchers that had to be evaluated, if metrics are
+     * enabled.
+     *
+     * @return number of memo misses
+     */
+    public static long getMemoMisses() {
+        MatchMemo m = memo;
+        return m != null ? m.getMisses() : 0;
+    }
+
+    /**
+     * Tests whether this matcher remembers results in the memo.
+     *
+     * @return {@code true} if results are remembered
+     */
+    boolean isMemoized() {
+        return memoizable && memo != null;
+    }
+
+    /**
+     * Returns a matcher for the given pattern, shared with other callers that ask for the same
+     * pattern while any of them still uses it. Its group ID and artifact ID globs are shared
+     * through {@link GlobMatcher#of(String)}.
+     *
+     * @param ga the glob pattern in the format {@code "gid:aid"}
+     * @return the matcher
+     * @throws RuntimeException if the input string does not contain a colon
+     */
+    public static GidAidMatcher of(String ga) {
+        GidAidMatcher matcher = pool.get(ga);
+        if (matcher == null) {
+            matcher = pool.intern(ga, new GidAidMatcher(ga, true));
+        }
+        return matcher;
+    }
+
+    /**
+     * Returns the {@code "gid:aid"} pattern this matcher was constructed from.
+     *
+     * @return the original pattern string
+     */
+    @Override
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public GidAidMatcher getCoordinates() {
+        return this;
+    }
+
+    @Override
+    public List<String> getConditions() {
+        return List.of();
+    }
+
+    /**
+     * Tests whether both parts of the pattern contain no wildcards, so that the matcher matches
+     * only a single combination of group ID and artifact ID.
+     *
+     * @return {@code true} if both parts of the pattern are literals
+     */
+    public boolean isLiteral() {
+        return gidRe.isLiteral() && aidRe.isLiteral();
     }
 
     /**
@@ -67,6 +205,22 @@ public class GidAidMatcher {
      *     {@code false} otherwise
      */
     public boolean matches(String gid, String aid) {
+        if (memoizable && gid != null && aid != null) {
+            MatchMemo m = memo;
+            if (m != null) {
+                return m.matches(this, gid, aid);
+            }
+        }
+        return evaluate(gid, aid);
+    }
+
+    /** Matches coordinates against the globs, bypassing the memo. */
+    boolean evaluate(String gid, String aid) {
         return gidRe.matches(gid) && aidRe.matches(aid);
     }
+
+    @Override
+    public boolean matches(Model model) {
+        return matches(model.getGroupId(), model.getArtifactId());
+    }
 }
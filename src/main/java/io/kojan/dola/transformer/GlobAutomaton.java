@@ -0,0 +1,305 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code GlobAutomaton} matches a key against many glob patterns at once, reporting all patterns
+ * that match it after a single pass over the key.
+ *
+ * <p>Keys consist of one or more parts, for example group ID and artifact ID. Patterns have the
+ * same number of parts, separated by colons, and each part follows {@link GlobMatcher} syntax:
+ * {@code *} matches zero or more characters, {@code ?} matches exactly one character and an empty
+ * part matches anything. Wildcards never match across part boundaries, so a pattern {@code
+ * "gid:aid"} matches exactly when a {@link GidAidMatcher} with the same pattern would.
+ *
+ * <p>Patterns are compiled into a nondeterministic automaton, which is lazily converted into a
+ * deterministic one. DFA states and their transitions are created on first use and cached, so after
+ * warm-up matching a key costs one table lookup per character. The automaton is safe for use by
+ * multiple threads.
+ */
+public class GlobAutomaton {
+
+    /** Token matching the boundary between key parts. */
+    private static final int SEP = -1;
+
+    /** Token matching any single character. */
+    private static final int ANY_ONE = -2;
+
+    /** Token matching zero or more characters. */
+    private static final int ANY_SEQ = -3;
+
+    /** Token marking end of a pattern. */
+    private static final int END = -4;
+
+    /** Upper bound on number of cached DFA states. */
+    private static final int MAX_STATES = 10000;
+
+    /** Number of transitions cached in a direct-mapped table; remaining ones go to a hash map. */
+    private static final int TABLE_SIZE = 128;
+
+    private static final int[] NONE = new int[0];
+
+    /** A state of the deterministic automaton, identified by a set of NFA positions. */
+    private final class State {
+        final int[] positions;
+        final int[] accepts;
+
+        /** Whether this state is interned; transitions are cached to interned states only. */
+        final boolean interned;
+
+        /**
+         * Cached transitions for characters below {@link #TABLE_SIZE}. Written without
+         * synchronization: a racing reader either sees a fully constructed state (all fields are
+         * final) or {@code null}, in which case the transition is recomputed.
+         */
+        final State[] table = new State[TABLE_SIZE];
+
+        final Map<Integer, State> other = new ConcurrentHashMap<>();
+        State sep;
+
+        State(int[] positions, boolean interned) {
+            this.positions = positions;
+            this.interned = interned;
+            int n = 0;
+            int[] acc = new int[positions.length];
+            for (int pos : positions) {
+                if (tokens[pos] == END) {
+                    acc[n++] = owners[pos];
+                }
+            }
+            this.accepts = n == 0 ? NONE : Arrays.copyOf(acc, n);
+        }
+
+        State next(int symbol) {
+            State next;
+            if (symbol == SEP) {
+                next = sep;
+            } else if (symbol < TABLE_SIZE) {
+                next = table[symbol];
+            } else {
+                next = other.get(symbol);
+            }
+            if (next == null) {
+                next = intern(step(positions, symbol));
+                if (next.interned) {
+                    if (symbol == SEP) {
+                        sep = next;
+                    } else if (symbol < TABLE_SIZE) {
+                        table[symbol] = next;
+                    } else {
+                        other.put(symbol, next);
+                    }
+                }
+            }
+            return next;
+        }
+    }
+
+    /** Set of NFA positions used as a key of interned states. */
+    private record Key(int[] positions) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Arrays.equals(positions, k.positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(positions);
+        }
+    }
+
+    /** Number of parts in keys and patterns. */
+    private final int arity;
+
+    /** Number of patterns. */
+    private final int size;
+
+    /** Token at each NFA position. */
+    private final int[] tokens;
+
+    /** Pattern owning each NFA position. */
+    private final int[] owners;
+
+    /** Interned DFA states. */
+    private final Map<Key, State> states = new ConcurrentHashMap<>();
+
+    /** Start state. */
+    private final State start;
+
+    /** State with no live NFA positions. */
+    private final State dead;
+
+    /**
+     * Compiles the given patterns into an automaton.
+     *
+     * @param patterns the patterns; position of a pattern in the list is its identifier reported by
+     *     {@link #match(String)} and {@link #match(String, String)}
+     * @param arity number of parts in keys and patterns, either {@code 1} or {@code 2}
+     * @throws RuntimeException if a pattern has less than {@code arity} parts
+     */
+    public GlobAutomaton(List<String> patterns, int arity) {
+        this.arity = arity;
+        this.size = patterns.size();
+        List<Integer> tok = new ArrayList<>();
+        List<Integer> own = new ArrayList<>();
+        int[] starts = new int[patterns.size()];
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            starts[id] = tok.size();
+            String rest = pattern;
+            for (int part = 0; part < arity; part++) {
+                String glob = rest;
+                if (part < arity - 1) {
+                    int i = rest.indexOf(':');
+                    if (i < 0) {
+                        throw new RuntimeException(
+                                "gid:aid string does not contain colon: " + pattern);
+                    }
+                    glob = rest.substring(0, i);
+                    rest = rest.substring(i + 1);
+                }
+                if (part > 0) {
+                    tok.add(SEP);
+                    own.add(id);
+                }
+                if (glob.isEmpty()) {
+                    glob = "*";
+                }
+                for (int i = 0; i < glob.length(); i++) {
+                    char c = glob.charAt(i);
+                    tok.add(c == '*' ? ANY_SEQ : c == '?' ? ANY_ONE : (int) c);
+                    own.add(id);
+                }
+            }
+            tok.add(END);
+            own.add(id);
+        }
+        tokens = tok.stream().mapToInt(Integer::intValue).toArray();
+        owners = own.stream().mapToInt(Integer::intValue).toArray();
+        dead = intern(NONE);
+        start = intern(closure(starts, starts.length));
+    }
+
+    /**
+     * Returns the number of patterns in this automaton.
+     *
+     * @return number of patterns
+     */
+    public int size() {
+        return size;
+    }
+
+    private State intern(int[] positions) {
+        Key key = new Key(positions);
+        State state = states.get(key);
+        if (state == null) {
+            if (states.size() >= MAX_STATES) {
+                return new State(positions, false);
+            }
+            state = states.computeIfAbsent(key, k -> new State(positions, true));
+        }
+        return state;
+    }
+
+    /** Adds positions reachable by letting {@code *} match the empty string; sorts and dedups. */
+    private int[] closure(int[] positions, int n) {
+        int[] result = Arrays.copyOf(positions, n);
+        int m = n;
+        for (int i = 0; i < m; i++) {
+            if (tokens[result[i]] == ANY_SEQ) {
+                if (m == result.length) {
+                    result = Arrays.copyOf(result, m * 2);
+                }
+                result[m++] = result[i] + 1;
+            }
+        }
+        Arrays.sort(result, 0, m);
+        int k = 0;
+        for (int i = 0; i < m; i++) {
+            if (k == 0 || result[k - 1] != result[i]) {
+                result[k++] = result[i];
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private int[] step(int[] positions, int symbol) {
+        int[] next = new int[positions.length];
+        int n = 0;
+        for (int pos : positions) {
+            int token = tokens[pos];
+            if (token == symbol || token == ANY_ONE && symbol != SEP) {
+                next[n++] = pos + 1;
+            } else if (token == ANY_SEQ && symbol != SEP) {
+                next[n++] = pos;
+            }
+        }
+        return n == 0 ? NONE : closure(next, n);
+    }
+
+    private State feed(State state, String part) {
+        for (int i = 0; i < part.length() && state != dead; i++) {
+            state = state.next(part.charAt(i));
+        }
+        return state;
+    }
+
+    /**
+     * Returns identifiers of all patterns matching a single-part key.
+     *
+     * @param key the key; may be {@code null}, which matches no pattern
+     * @return sorted identifiers of matching patterns; the returned array must not be modified
+     * @throws IllegalStateException if the automaton was compiled for multi-part keys
+     */
+    public int[] match(String key) {
+        if (arity != 1) {
+            throw new IllegalStateException("Automaton expects " + arity + " key parts");
+        }
+        if (key == null) {
+            return NONE;
+        }
+        return feed(start, key).accepts;
+    }
+
+    /**
+     * Returns identifiers of all patterns matching a two-part key, such as group ID and artifact
+     * ID.
+     *
+     * @param first the first part of the key; {@code null} matches no pattern
+     * @param second the second part of the key; {@code null} matches no pattern
+     * @return sorted identifiers of matching patterns; the returned array must not be modified
+     * @throws IllegalStateException if the automaton was not compiled for two-part keys
+     */
+    public int[] match(String first, String second) {
+        if (arity != 2) {
+            throw new IllegalStateException("Automaton expects " + arity + " key parts");
+        }
+        if (first == null || second == null) {
+            return NONE;
+        }
+        State state = feed(start, first);
+        if (state != dead) {
+            state = feed(state.next(SEP), second);
+        }
+        return state.accepts;
+    }
+}
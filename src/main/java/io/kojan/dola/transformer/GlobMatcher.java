@@ -15,7 +15,8 @@
  */
 package io.kojan.dola.transformer;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The {@code GlobMatcher} class provides functionality to match strings using simple glob patterns.
@@ -27,55 +28,233 @@ import java.util.regex.Pattern;
  *   <li>{@code ?} matches exactly one character
  * </ul>
  *
+ * <p>All other characters, including regular expression metacharacters such as {@code .}, match
+ * literally.
+ *
+ * <p>Patterns are compiled according to their shape. Patterns without wildcards, patterns with a
+ * single leading and/or trailing {@code *} and patterns consisting of {@code *} only are matched
+ * with plain {@link String} comparisons, without allocating. Remaining patterns are split into
+ * literal segments at {@code *} and matched left to right, each segment at its leftmost position,
+ * which never needs to backtrack.
+ *
+ * <p>Matchers are immutable. {@link #of(String)} returns a shared matcher for each distinct glob,
+ * so that instructions repeating the same glob share one compiled matcher. Shared matchers are held
+ * weakly, so matchers no longer used by any plan can be garbage collected.
+ *
  * <p>Example usage:
  *
  * <pre>
- *     GlobMatcher matcher = new GlobMatcher("he*o");
+ *     GlobMatcher matcher = GlobMatcher.of("he*o");
  *     boolean result = matcher.matches("hello");  // returns true
  * </pre>
  */
 public class GlobMatcher {
 
-    /** The compiled regex pattern generated from the glob string. */
-    private final Pattern pattern;
+    /** Shape of a compiled glob pattern. */
+    enum Shape {
+        /** Empty glob or {@code *} only; matches any string. */
+        ANY,
+        /** No wildcards; matches the literal only. */
+        EXACT,
+        /** {@code literal*} */
+        PREFIX,
+        /** {@code *literal} */
+        SUFFIX,
+        /** {@code *literal*} */
+        CONTAINS,
+        /** Any other combination of literals and wildcards. */
+        GENERAL
+    }
+
+    /** Shared matchers, by glob. */
+    private static final WeakPool<GlobMatcher> pool = new WeakPool<>();
+
+    /** The original glob pattern. */
+    private final String glob;
+
+    /** Shape of the pattern, selecting the matching strategy. */
+    private final Shape shape;
+
+    /** The literal part of the pattern, for all shapes except {@code ANY} and {@code GENERAL}. */
+    private final String literal;
+
+    /** Non-empty segments between {@code *} wildcards, for {@code GENERAL} shape. */
+    private final String[] segments;
+
+    /** Whether the pattern starts with {@code *}, for {@code GENERAL} shape. */
+    private final boolean leadingStar;
+
+    /** Whether the pattern ends with {@code *}, for {@code GENERAL} shape. */
+    private final boolean trailingStar;
 
     /**
-     * Converts a glob pattern to a corresponding regular expression {@link Pattern}.
-     *
-     * <p>The conversion rules are:
-     *
-     * <ul>
-     *   <li>{@code *} is converted to {@code .*}
-     *   <li>{@code ?} is converted to {@code .?}
-     * </ul>
+     * Constructs a {@code GlobMatcher} using the specified glob pattern.
      *
-     * @param glob the glob pattern to convert
-     * @return the compiled {@link Pattern}, or {@code null} if the glob is empty
+     * @param glob the glob pattern to use for matching
      */
-    protected static Pattern glob2re(String glob) {
-        if (glob.isEmpty()) {
-            return null;
+    public GlobMatcher(String glob) {
+        this.glob = glob;
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= glob.length(); i++) {
+            if (i == glob.length() || glob.charAt(i) == '*') {
+                if (i > start) {
+                    parts.add(glob.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        leadingStar = glob.startsWith("*");
+        trailingStar = glob.endsWith("*");
+        segments = parts.toArray(new String[0]);
+        boolean anyQuestionMark = glob.indexOf('?') >= 0;
+        if (parts.isEmpty()) {
+            shape = Shape.ANY;
+        } else if (anyQuestionMark || parts.size() > 1) {
+            shape = Shape.GENERAL;
+        } else if (!leadingStar && !trailingStar) {
+            shape = Shape.EXACT;
+        } else if (!leadingStar) {
+            shape = Shape.PREFIX;
+        } else if (!trailingStar) {
+            shape = Shape.SUFFIX;
+        } else {
+            shape = Shape.CONTAINS;
         }
-        return Pattern.compile(glob.replaceAll("\\*", ".*").replaceAll("\\?", "."));
+        literal = shape == Shape.ANY || shape == Shape.GENERAL ? null : parts.get(0);
     }
 
     /**
-     * Constructs a {@code GlobMatcher} using the specified glob pattern.
+     * Returns a matcher for the specified glob pattern, shared with other callers that ask for the
+     * same pattern while any of them still uses it.
      *
      * @param glob the glob pattern to use for matching
+     * @return the matcher
      */
-    public GlobMatcher(String glob) {
-        pattern = glob2re(glob);
+    public static GlobMatcher of(String glob) {
+        GlobMatcher matcher = pool.get(glob);
+        if (matcher == null) {
+            matcher = pool.intern(glob, new GlobMatcher(glob));
+        }
+        return matcher;
+    }
+
+    /**
+     * Returns the glob pattern this matcher was constructed from.
+     *
+     * @return the glob pattern
+     */
+    public String getGlob() {
+        return glob;
+    }
+
+    /**
+     * Tests whether the pattern contains no wildcards, so that it matches only the string equal to
+     * the pattern itself.
+     *
+     * @return {@code true} if the pattern is a literal
+     */
+    public boolean isLiteral() {
+        return shape == Shape.EXACT;
+    }
+
+    /**
+     * Returns the shape the pattern was compiled to.
+     *
+     * @return pattern shape
+     */
+    Shape getShape() {
+        return shape;
     }
 
     /**
      * Tests whether the given string matches the glob pattern.
      *
      * @param str the string to test; if {@code null}, the result is {@code false}
-     * @return {@code true} if the pattern is {@code null} (i.e., empty glob) or the string matches
-     *     the pattern; {@code false} otherwise, including if {@code str} is {@code null}
+     * @return {@code true} if the glob is empty or the string matches the pattern; {@code false}
+     *     otherwise, including if {@code str} is {@code null}
      */
     public boolean matches(String str) {
-        return str != null && (pattern == null || pattern.matcher(str).matches());
+        if (str == null) {
+            return false;
+        }
+        switch (shape) {
+            case ANY:
+                return true;
+            case EXACT:
+                return str.equals(literal);
+            case PREFIX:
+                return str.startsWith(literal);
+            case SUFFIX:
+                return str.endsWith(literal);
+            case CONTAINS:
+                return str.contains(literal);
+            default:
+                return matchesGeneral(str);
+        }
+    }
+
+    private boolean matchesGeneral(String str) {
+        int first = 0;
+        int last = segments.length - 1;
+        int pos = 0;
+        int end = str.length();
+        if (!leadingStar) {
+            if (!matchesAt(str, 0, segments[0])) {
+                return false;
+            }
+            if (segments.length == 1 && !trailingStar) {
+                return str.length() == segments[0].length();
+            }
+            pos = segments[0].length();
+            first = 1;
+        }
+        if (!trailingStar) {
+            String segment = segments[last];
+            int at = end - segment.length();
+            if (at < pos || !matchesAt(str, at, segment)) {
+                return false;
+            }
+            end = at;
+            last--;
+        }
+        for (int i = first; i <= last; i++) {
+            String segment = segments[i];
+            int at = find(str, pos, end, segment);
+            if (at < 0) {
+                return false;
+            }
+            pos = at + segment.length();
+        }
+        return true;
+    }
+
+    /** Tests whether segment, where {@code ?} matches any character, occurs in str at offset. */
+    private static boolean matchesAt(String str, int offset, String segment) {
+        if (offset + segment.length() > str.length()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c != '?' && c != str.charAt(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Finds the leftmost occurrence of segment in str between from and to, or returns -1. */
+    private static int find(String str, int from, int to, String segment) {
+        for (int at = from; at + segment.length() <= to; at++) {
+            if (matchesAt(str, at, segment)) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return glob;
     }
 }
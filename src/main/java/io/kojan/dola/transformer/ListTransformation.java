@@ -0,0 +1,83 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.List;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@link Transformation} that only modifies elements of a single {@link ModelSection}.
+ *
+ * <p>Such transformations can be expressed as a function from the list of section elements to a new
+ * list. This allows adjacent transformations of the same section to be fused, so that the list is
+ * extracted from the model once and the model is rebuilt once, after all of them have been applied.
+ * For the same reason, every list transformation is an {@link EditingTransformation}.
+ *
+ * @param <T> type of section elements
+ */
+public interface ListTransformation<T> extends EditingTransformation {
+
+    /**
+     * Returns the section this transformation operates on.
+     *
+     * @return model section
+     */
+    ModelSection<T> getSection();
+
+    /**
+     * Applies this transformation to a list of section elements.
+     *
+     * @param model the model elements belong to, used for logging only
+     * @param elements the elements to transform; must not be modified
+     * @return a new modifiable list of transformed elements, or {@code elements} itself if nothing
+     *     was changed
+     */
+    List<T> transform(Model model, List<T> elements);
+
+    /**
+     * Applies this transformation to a list of section elements of a model view.
+     *
+     * <p>Implementations may look up elements using {@link ModelView#indexOf(ModelSection, List,
+     * String, String)}. The default implementation delegates to {@link #transform(Model, List)}.
+     *
+     * @param view view of the model elements belong to
+     * @param elements the elements to transform; must not be modified, neither by this
+     *     transformation nor later by the caller
+     * @return a new modifiable list of transformed elements, or {@code elements} itself if nothing
+     *     was changed
+     */
+    default List<T> transform(ModelView view, List<T> elements) {
+        return transform(view.getModel(), elements);
+    }
+
+    /**
+     * Records this transformation in an editor, replacing elements of its section.
+     *
+     * @param editor the editor
+     * @return {@code true} if elements were changed
+     */
+    @Override
+    default boolean edit(ModelEditor editor) {
+        ModelSection<T> section = getSection();
+        List<T> elements = editor.get(section);
+        List<T> result = transform(editor.getView(), elements);
+        if (result == elements) {
+            return false;
+        }
+        editor.set(section, result);
+        return true;
+    }
+}
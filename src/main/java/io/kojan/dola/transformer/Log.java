@@ -15,30 +15,167 @@
  */
 package io.kojan.dola.transformer;
 
+import java.util.function.Supplier;
 import org.apache.maven.api.model.Model;
 
+/**
+ * Logging facade used throughout the transformer.
+ *
+ * <p>Messages are given either as suppliers or as patterns with {@code {}} placeholders, which are
+ * substituted with string representations of arguments only if the message is actually logged.
+ * Level checks read a constant, so disabled messages cost next to nothing.
+ *
+ * <p>Debug messages are written if {@code dola.transformer.debug} is set to {@code 1}, or if
+ * messages go to the Maven logger and it has debug level enabled. Complete messages are handed over
+ * to a {@link LogSink}, see {@link LogSink#create} for the available sinks. Messages may be
+ * buffered until {@link #flush()} is called.
+ *
+ * <p>Info messages about changes are collected by the {@link ChangeReport} current for the calling
+ * thread, if any, and are then logged only if the report is verbose.
+ *
+ * <p>If {@code dola.transformer.diff} is set to {@code 1}, every change made to a model is also
+ * logged as a list of structural differences computed by {@link ModelDiff}.
+ */
 public class Log {
 
+    /** Message level. */
+    public enum Level {
+        /** Diagnostic messages, disabled by default. */
+        DEBUG,
+        /** Messages about changes made to models. */
+        INFO
+    }
+
+    private static final LogSink sink = LogSink.create(System.getProperties());
+
     private static final boolean debugEnabled =
-            "1".equals(System.getProperty("dola.transformer.debug"));
+            "1".equals(System.getProperty("dola.transformer.debug")) || sink.isDebugEnabled();
 
-    public static void debug(Object... msg) {
-        if (debugEnabled) {
-            System.err.print("DOLA: ");
-            for (Object s : msg) {
-                System.err.print(s.toString());
+    private static final boolean diffEnabled =
+            "1".equals(System.getProperty("dola.transformer.diff"));
+
+    public static boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    public static boolean isDiffEnabled() {
+        return diffEnabled;
+    }
+
+    /**
+     * Substitutes {@code {}} placeholders in the pattern with the given arguments, in order.
+     * Superfluous placeholders are left in place and superfluous arguments are ignored.
+     *
+     * @param pattern message pattern
+     * @param args arguments
+     * @return the formatted message
+     */
+    static String format(String pattern, Object... args) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * args.length);
+        int from = 0;
+        for (int i = 0; i < args.length; i++) {
+            int at = pattern.indexOf("{}", from);
+            if (at < 0) {
+                break;
             }
-            System.err.println();
+            sb.append(pattern, from, at).append(args[i]);
+            from = at + 2;
+        }
+        return sb.append(pattern, from, pattern.length()).toString();
+    }
+
+    public static void debug(String msg) {
+        if (debugEnabled) {
+            sink.write(Level.DEBUG, msg);
+        }
+    }
+
+    public static void debug(String pattern, Object arg) {
+        if (debugEnabled) {
+            sink.write(Level.DEBUG, format(pattern, arg));
+        }
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (debugEnabled) {
+            sink.write(Level.DEBUG, format(pattern, arg1, arg2));
+        }
+    }
+
+    public static void debug(String pattern, Object... args) {
+        if (debugEnabled) {
+            sink.write(Level.DEBUG, format(pattern, args));
+        }
+    }
+
+    public static void debug(Supplier<String> msg) {
+        if (debugEnabled) {
+            sink.write(Level.DEBUG, msg.get());
         }
     }
 
-    public static void info(Object... msg) {
-        System.err.print("DOLA: -> ");
-        for (Object s : msg) {
-            System.err.print(s.toString());
+    /**
+     * Records an info message in the change report of the calling thread, if there is one.
+     *
+     * @return {@code true} if the message should not be logged
+     */
+    private static boolean reported(String pattern, Object... args) {
+        ChangeReport report = ChangeReport.current();
+        if (report == null) {
+            return false;
         }
-        System.err.println();
+        report.record(pattern, args);
+        return !report.isVerbose();
     }
 
-    public static void diff(Model oldModel, Model newModel) {}
+    public static void info(String msg) {
+        if (!reported(msg)) {
+            sink.write(Level.INFO, msg);
+        }
+    }
+
+    public static void info(String pattern, Object arg) {
+        if (!reported(pattern, arg)) {
+            sink.write(Level.INFO, format(pattern, arg));
+        }
+    }
+
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (!reported(pattern, arg1, arg2)) {
+            sink.write(Level.INFO, format(pattern, arg1, arg2));
+        }
+    }
+
+    public static void info(String pattern, Object... args) {
+        if (!reported(pattern, args)) {
+            sink.write(Level.INFO, format(pattern, args));
+        }
+    }
+
+    public static void info(Supplier<String> msg) {
+        String message = msg.get();
+        if (!reported(message)) {
+            sink.write(Level.INFO, message);
+        }
+    }
+
+    /** Writes out messages buffered by the current thread. */
+    public static void flush() {
+        sink.flush();
+    }
+
+    /**
+     * Logs differences between a model and its transformed version, if enabled. Otherwise this
+     * method does nothing, not even look at the models.
+     *
+     * @param oldModel model before transformation
+     * @param newModel model after transformation
+     */
+    public static void diff(Model oldModel, Model newModel) {
+        if (diffEnabled) {
+            for (ModelDiff.Change change : ModelDiff.diff(oldModel, newModel)) {
+                sink.write(Level.INFO, "  " + change);
+            }
+        }
+    }
 }
@@ -0,0 +1,73 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.Properties;
+
+/**
+ * Destination of log messages written through {@link Log}.
+ *
+ * <p>Sinks receive complete messages, one line each, and are free to buffer them until {@link
+ * #flush()} is called.
+ */
+interface LogSink {
+
+    /**
+     * Tests whether debug messages should be written even if debug logging was not requested
+     * explicitly, for example because the underlying logger has debug level enabled.
+     *
+     * @return {@code true} if debug messages are wanted by the sink
+     */
+    default boolean isDebugEnabled() {
+        return false;
+    }
+
+    /**
+     * Writes a single message.
+     *
+     * @param level message level
+     * @param message the message, without line terminator
+     */
+    void write(Log.Level level, String message);
+
+    /** Writes out messages buffered by the current thread. */
+    void flush();
+
+    /**
+     * Creates the sink selected by the {@code dola.transformer.log} property.
+     *
+     * <p>Supported values are {@code stderr} (buffered standard error), {@code async} (standard
+     * error written by a background thread) and {@code slf4j} (Maven logger). By default messages
+     * are written to standard error. The Maven logger is only used if requested and an SLF4J
+     * provider is available, and standard error otherwise.
+     *
+     * @param properties system properties
+     * @return the sink
+     */
+    static LogSink create(Properties properties) {
+        boolean debug = "1".equals(properties.getProperty("dola.transformer.debug"));
+        String mode = properties.getProperty("dola.transformer.log", "stderr");
+        if (mode.equals("slf4j")) {
+            try {
+                Class.forName("org.slf4j.LoggerFactory", false, LogSink.class.getClassLoader());
+                return new Slf4jLogSink(debug);
+            } catch (ClassNotFoundException | LinkageError | IllegalStateException e) {
+                // No SLF4J API or no provider, fall back to standard error
+            }
+        }
+        return new StreamLogSink(() -> System.err, mode.equals("async"));
+    }
+}
@@ -0,0 +1,138 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded memo of {@link GidAidMatcher} results, shared by all matchers.
+ *
+ * <p>The memo is a direct-mapped table of immutable entries, each holding a matcher, a coordinate
+ * pair and the result of matching them. Entries are read and written without locks; an entry evicts
+ * the entry previously stored in its slot. The table has a fixed number of slots, so memory used by
+ * the memo does not grow with the number of matchers or coordinates seen by a long-lived JVM.
+ *
+ * <p>Hits and misses are counted only if requested, so that lookups do not update shared counters
+ * when metrics are off.
+ */
+final class MatchMemo {
+
+    /** Largest number of slots. */
+    private static final int MAX_SIZE = 1 << 20;
+
+    /** A remembered match result. */
+    private record Entry(GidAidMatcher matcher, String gid, String aid, boolean matches) {}
+
+    private final Entry[] table;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Creates a memo.
+     *
+     * @param size number of slots, rounded up to a power of two and capped at 2<sup>20</sup>
+     * @param counted whether to count hits and misses
+     */
+    MatchMemo(int size, boolean counted) {
+        table =
+                new Entry
+                        [Integer.highestOneBit(
+                                Math.min(Math.max(size, 1) - 1, MAX_SIZE - 1) << 1 | 1)];
+        hits = counted ? new LongAdder() : null;
+        misses = counted ? new LongAdder() : null;
+    }
+
+    /**
+     * Creates a memo configured by the {@code dola.transformer.matchMemo} property, counting hits
+     * and misses if {@code dola.transformer.metrics} is enabled.
+     *
+     * @param properties session properties
+     * @return the memo, or {@code null} if it is disabled
+     */
+    static MatchMemo of(Properties properties) {
+        int size = Integer.parseInt(properties.getProperty("dola.transformer.matchMemo", "0"));
+        if (size <= 0) {
+            return null;
+        }
+        return new MatchMemo(size, "1".equals(properties.getProperty("dola.transformer.metrics")));
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return table size
+     */
+    int size() {
+        return table.length;
+    }
+
+    /**
+     * Matches coordinates, using a remembered result if there is one.
+     *
+     * @param matcher the matcher
+     * @param gid the group ID, not {@code null}
+     * @param aid the artifact ID, not {@code null}
+     * @return the match result
+     */
+    boolean matches(GidAidMatcher matcher, String gid, String aid) {
+        int h = 31 * (31 * matcher.getPattern().hashCode() + gid.hashCode()) + aid.hashCode();
+        int slot = (h ^ h >>> 16) & (table.length - 1);
+        Entry entry = table[slot];
+        if (entry != null
+                && entry.matcher == matcher
+                && entry.gid.equals(gid)
+                && entry.aid.equals(aid)) {
+            if (hits != null) {
+                hits.increment();
+            }
+            return entry.matches;
+        }
+        if (misses != null) {
+            misses.increment();
+        }
+        boolean matches = matcher.evaluate(gid, aid);
+        table[slot] = new Entry(matcher, gid, aid, matches);
+        return matches;
+    }
+
+    /**
+     * Tells whether hits and misses are counted.
+     *
+     * @return {@code true} if counted
+     */
+    boolean isCounted() {
+        return hits != null;
+    }
+
+    /**
+     * Returns the number of matches answered from the memo.
+     *
+     * @return number of hits, 0 if not counted
+     */
+    long getHits() {
+        return hits != null ? hits.sum() : 0;
+    }
+
+    /**
+     * Returns the number of matches that had to be evaluated.
+     *
+     * @return number of misses, 0 if not counted
+     */
+    long getMisses() {
+        return misses != null ? misses.sum() : 0;
+    }
+}
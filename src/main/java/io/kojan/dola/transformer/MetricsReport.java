@@ -0,0 +1,188 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of runtime metrics of all transformations in given plans, written at the end of the
+ * session as a table and as a JSON file.
+ *
+ * <p>Transformations are listed in order of decreasing cumulative time.
+ */
+class MetricsReport {
+
+    /** Snapshot of metrics of a single transformation. */
+    record Row(
+            String name, long invocations, long hits, long modified, long elements, long nanos) {}
+
+    private final List<TransformationPlan> plans;
+    private final Map<String, TransformationCache> caches;
+    private final Path file;
+
+    /**
+     * Creates a report.
+     *
+     * @param plans plans to report on; transformations may be shared by several plans
+     * @param caches result caches to report on, by name; {@code null} values are ignored
+     * @param file path of the JSON file to write
+     */
+    MetricsReport(
+            List<TransformationPlan> plans, Map<String, TransformationCache> caches, Path file) {
+        this.plans = List.copyOf(plans);
+        this.caches = caches;
+        this.file = file;
+    }
+
+    /**
+     * Takes a snapshot of current metrics.
+     *
+     * @return rows sorted by decreasing cumulative time
+     */
+    List<Row> rows() {
+        Map<TransformationMetrics, String> names = new LinkedHashMap<>();
+        Map<TransformationMetrics, Long> offered = new HashMap<>();
+        for (TransformationPlan plan : plans) {
+            long models = plan.getModelCount();
+            List<Transformation> transformations = plan.getTransformations();
+            for (int i = 0; i < transformations.size(); i++) {
+                TransformationMetrics m = plan.getMetrics(i);
+                names.putIfAbsent(m, transformations.get(i).toString());
+                offered.merge(m, models, Long::sum);
+            }
+        }
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<TransformationMetrics, String> entry : names.entrySet()) {
+            TransformationMetrics m = entry.getKey();
+            rows.add(
+                    new Row(
+                            entry.getValue(),
+                            offered.get(m) + m.getInvocations(),
+                            m.getHits(),
+                            m.getModified(),
+                            m.getElements(),
+                            m.getNanos()));
+        }
+        rows.sort(Comparator.comparingLong(Row::nanos).reversed());
+        return rows;
+    }
+
+    /**
+     * Formats rows as a human-readable table.
+     *
+     * @param rows the rows
+     * @return the table, with a trailing line terminator
+     */
+    static String formatTable(List<Row> rows) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(
+                String.format(
+                        "%10s %11s %10s %10s %10s  %s%n",
+                        "time [ms]",
+                        "invocations",
+                        "hits",
+                        "modified",
+                        "elements",
+                        "transformation"));
+        for (Row row : rows) {
+            sb.append(
+                    String.format(
+                            "%10.3f %11d %10d %10d %10d  %s%n",
+                            row.nanos() / 1e6,
+                            row.invocations(),
+                            row.hits(),
+                            row.modified(),
+                            row.elements(),
+                            row.name()));
+        }
+        return sb.toString();
+    }
+
+    private static void appendJsonString(StringBuilder sb, String str) {
+        sb.append('"');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Formats rows as a JSON array of objects.
+     *
+     * @param rows the rows
+     * @return JSON text
+     */
+    static String formatJson(List<Row> rows) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            sb.append(i > 0 ? ",\n  " : "\n  ").append("{\"transformation\": ");
+            appendJsonString(sb, row.name());
+            sb.append(", \"invocations\": ").append(row.invocations());
+            sb.append(", \"hits\": ").append(row.hits());
+            sb.append(", \"modified\": ").append(row.modified());
+            sb.append(", \"elements\": ").append(row.elements());
+            sb.append(", \"nanos\": ").append(row.nanos()).append('}');
+        }
+        return sb.append(rows.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    /**
+     * Writes the summary table to the given stream and the JSON file.
+     *
+     * @param out stream to write the table to
+     */
+    void write(PrintStream out) {
+        List<Row> rows = rows();
+        out.print("DOLA: Transformation metrics" + System.lineSeparator() + formatTable(rows));
+        for (Map.Entry<String, TransformationCache> entry : caches.entrySet()) {
+            if (entry.getValue() != null) {
+                out.println("DOLA: " + entry.getKey() + " " + entry.getValue());
+            }
+        }
+        MatchMemo memo = GidAidMatcher.getMemo();
+        if (memo != null && memo.isCounted()) {
+            out.println(
+                    "DOLA: match memo: "
+                            + memo.getHits()
+                            + " hits, "
+                            + memo.getMisses()
+                            + " misses");
+        }
+        try {
+            Files.writeString(file, formatJson(rows));
+        } catch (IOException e) {
+            out.println("DOLA: Unable to write metrics to " + file + ": " + e);
+        }
+        out.flush();
+    }
+}
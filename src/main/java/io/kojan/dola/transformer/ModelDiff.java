@@ -0,0 +1,333 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.Extension;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginExecution;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.ReportSet;
+import org.apache.maven.api.model.RepositoryBase;
+
+/**
+ * A {@code ModelDiff} computes a structural list of differences between two versions of a model.
+ *
+ * <p>Maven models are immutable, and transformations rebuild only objects on the path to what they
+ * change, sharing everything else with the original model. The diff relies on this: objects that
+ * are the same reference on both sides are skipped without looking inside, so the cost of a diff is
+ * proportional to the changed part of the model rather than to its size.
+ *
+ * <p>Properties of model objects are those that have both a getter and a {@code with} method, so
+ * derived values such as dependency management keys and input locations are not compared. Elements
+ * of lists are paired by their key where model elements have one, such as {@code
+ * groupId:artifactId:type[:classifier]} for dependencies, {@code groupId:artifactId} for plugins
+ * and the id for profiles, repositories and executions. Other elements are paired if they are
+ * equal.
+ */
+public final class ModelDiff {
+
+    /** Kind of a change. */
+    public enum Kind {
+        /** A value or element was added. */
+        ADDED('+'),
+        /** A value or element was removed. */
+        REMOVED('-'),
+        /** A value was changed. */
+        CHANGED('~');
+
+        private final char symbol;
+
+        Kind(char symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * A single difference.
+     *
+     * @param kind kind of the change
+     * @param path dotted path of the changed value, with list elements given by key in brackets,
+     *     for example {@code build.plugins[org.example:plugin].version}
+     * @param oldValue value before the change, {@code null} if it was added
+     * @param newValue value after the change, {@code null} if it was removed
+     */
+    public record Change(Kind kind, String path, Object oldValue, Object newValue) {
+
+        @Override
+        public String toString() {
+            return switch (kind) {
+                case ADDED -> kind.symbol + " " + path + ": " + newValue;
+                case REMOVED -> kind.symbol + " " + path + ": " + oldValue;
+                case CHANGED -> kind.symbol + " " + path + ": " + oldValue + " -> " + newValue;
+            };
+        }
+    }
+
+    private static final String MODEL_PACKAGE = Model.class.getPackageName();
+
+    private static final Map<Class<?>, Function<Object, Object>> KEYS =
+            Map.of(
+                    Dependency.class,
+                    e -> ((Dependency) e).getManagementKey(),
+                    Plugin.class,
+                    e -> ((Plugin) e).getKey(),
+                    ReportPlugin.class,
+                    e -> ((ReportPlugin) e).getKey(),
+                    Exclusion.class,
+                    e -> ((Exclusion) e).getGroupId() + ":" + ((Exclusion) e).getArtifactId(),
+                    Extension.class,
+                    e -> ((Extension) e).getGroupId() + ":" + ((Extension) e).getArtifactId(),
+                    Profile.class,
+                    e -> ((Profile) e).getId(),
+                    PluginExecution.class,
+                    e -> ((PluginExecution) e).getId(),
+                    ReportSet.class,
+                    e -> ((ReportSet) e).getId());
+
+    /** Readable properties of model classes, discovered once per class. */
+    private static final ClassValue<Property[]> PROPERTIES =
+            new ClassValue<>() {
+                @Override
+                protected Property[] computeValue(Class<?> type) {
+                    return properties(type);
+                }
+            };
+
+    /** Key functions of model classes, {@code null} if elements are paired by equality. */
+    private static final ClassValue<Function<Object, Object>> KEY_FUNCTIONS =
+            new ClassValue<>() {
+                @Override
+                protected Function<Object, Object> computeValue(Class<?> type) {
+                    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                        Function<Object, Object> key = KEYS.get(c);
+                        if (key != null) {
+                            return key;
+                        }
+                    }
+                    if (RepositoryBase.class.isAssignableFrom(type)) {
+                        return e -> ((RepositoryBase) e).getId();
+                    }
+                    return null;
+                }
+            };
+
+    private record Property(String name, MethodHandle getter) {}
+
+    private ModelDiff() {}
+
+    /**
+     * Computes differences between two versions of a model.
+     *
+     * @param oldModel model before the change
+     * @param newModel model after the change
+     * @return list of changes, empty if the models are equal
+     */
+    public static List<Change> diff(Model oldModel, Model newModel) {
+        List<Change> changes = new ArrayList<>();
+        diffValues("", oldModel, newModel, changes);
+        return changes;
+    }
+
+    private static void diffValues(String path, Object a, Object b, List<Change> changes) {
+        if (a == b) {
+            return;
+        }
+        if (a == null) {
+            if (!isEmpty(b)) {
+                changes.add(new Change(Kind.ADDED, path, null, b));
+            }
+        } else if (b == null) {
+            if (!isEmpty(a)) {
+                changes.add(new Change(Kind.REMOVED, path, a, null));
+            }
+        } else if (a instanceof List<?> la && b instanceof List<?> lb) {
+            diffLists(path, la, lb, changes);
+        } else if (a instanceof Map<?, ?> ma && b instanceof Map<?, ?> mb) {
+            diffMaps(path, ma, mb, changes);
+        } else if (a.getClass() == b.getClass() && isModelObject(a)) {
+            diffObjects(path, a, b, changes);
+        } else if (!a.equals(b)) {
+            changes.add(new Change(Kind.CHANGED, path, a, b));
+        }
+    }
+
+    private static void diffObjects(String path, Object a, Object b, List<Change> changes) {
+        for (Property property : PROPERTIES.get(a.getClass())) {
+            Object va;
+            Object vb;
+            try {
+                va = property.getter.invokeExact(a);
+                vb = property.getter.invokeExact(b);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            diffValues(
+                    path.isEmpty() ? property.name : path + "." + property.name, va, vb, changes);
+        }
+    }
+
+    private static void diffMaps(String path, Map<?, ?> a, Map<?, ?> b, List<Change> changes) {
+        for (Map.Entry<?, ?> entry : a.entrySet()) {
+            Object vb = b.get(entry.getKey());
+            String p = path + "[" + entry.getKey() + "]";
+            if (vb == null && !b.containsKey(entry.getKey())) {
+                changes.add(new Change(Kind.REMOVED, p, entry.getValue(), null));
+            } else {
+                diffValues(p, entry.getValue(), vb, changes);
+            }
+        }
+        for (Map.Entry<?, ?> entry : b.entrySet()) {
+            if (!a.containsKey(entry.getKey())) {
+                changes.add(
+                        new Change(
+                                Kind.ADDED,
+                                path + "[" + entry.getKey() + "]",
+                                null,
+                                entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Pairs elements of two lists. The common prefix and suffix of elements that are the same
+     * references is skipped first, which is all of the list but the edited part in the usual case.
+     * Remaining elements are paired by key, or by equality if they have no key.
+     */
+    private static void diffLists(String path, List<?> a, List<?> b, List<Change> changes) {
+        int from = 0;
+        int toA = a.size();
+        int toB = b.size();
+        while (from < toA && from < toB && a.get(from) == b.get(from)) {
+            from++;
+        }
+        while (toA > from && toB > from && a.get(toA - 1) == b.get(toB - 1)) {
+            toA--;
+            toB--;
+        }
+        if (from == toA && from == toB) {
+            return;
+        }
+        Map<Object, ArrayDeque<Object>> unpaired = new LinkedHashMap<>();
+        for (Object element : a.subList(from, toA)) {
+            unpaired.computeIfAbsent(key(element), k -> new ArrayDeque<>()).add(element);
+        }
+        List<Object> added = new ArrayList<>();
+        for (Object element : b.subList(from, toB)) {
+            Object key = key(element);
+            ArrayDeque<Object> candidates = unpaired.get(key);
+            Object paired = candidates != null ? candidates.poll() : null;
+            if (paired == null) {
+                added.add(element);
+            } else {
+                diffValues(path + "[" + key + "]", paired, element, changes);
+            }
+        }
+        for (Map.Entry<Object, ArrayDeque<Object>> entry : unpaired.entrySet()) {
+            for (Object element : entry.getValue()) {
+                changes.add(
+                        new Change(Kind.REMOVED, path + "[" + entry.getKey() + "]", element, null));
+            }
+        }
+        for (Object element : added) {
+            changes.add(new Change(Kind.ADDED, path + "[" + key(element) + "]", null, element));
+        }
+    }
+
+    private static Object key(Object element) {
+        if (element != null && isModelObject(element)) {
+            Function<Object, Object> key = KEY_FUNCTIONS.get(element.getClass());
+            if (key != null) {
+                return key.apply(element);
+            }
+        }
+        return element;
+    }
+
+    private static boolean isModelObject(Object o) {
+        return o.getClass().getPackageName().equals(MODEL_PACKAGE);
+    }
+
+    private static boolean isEmpty(Object o) {
+        return o instanceof Collection<?> c ? c.isEmpty() : o instanceof Map<?, ?> m && m.isEmpty();
+    }
+
+    private static Property[] properties(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        // Sorted by name, as method order is unspecified, and without duplicates of bridge methods
+        Map<String, Property> properties = new TreeMap<>();
+        for (Method with : type.getMethods()) {
+            String name = with.getName();
+            if (with.isBridge()
+                    || name.length() <= 4
+                    || !name.startsWith("with")
+                    || with.getParameterCount() != 1
+                    || Modifier.isStatic(with.getModifiers())) {
+                continue;
+            }
+            String suffix = name.substring(4);
+            Method getter = getter(type, "get" + suffix, with.getParameterTypes()[0]);
+            if (getter == null) {
+                getter = getter(type, "is" + suffix, with.getParameterTypes()[0]);
+            }
+            if (getter == null) {
+                continue;
+            }
+            try {
+                MethodHandle handle =
+                        lookup.unreflect(getter)
+                                .asType(MethodType.methodType(Object.class, Object.class));
+                String property = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+                properties.put(property, new Property(property, handle));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return properties.values().toArray(Property[]::new);
+    }
+
+    private static Method getter(Class<?> type, String name, Class<?> valueType) {
+        try {
+            Method getter = type.getMethod(name);
+            Class<?> returnType = getter.getReturnType();
+            if (valueType.isAssignableFrom(returnType)
+                    || returnType.isPrimitive() && valueType.isPrimitive()) {
+                return getter;
+            }
+        } catch (NoSuchMethodException e) {
+            // Not a readable property
+        }
+        return null;
+    }
+}
@@ -0,0 +1,290 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.List;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+
+/**
+ * A {@code ModelEditor} is an editing session over the model of a {@link ModelView}. It gathers
+ * edits of several model fields and {@link ModelSection}s and applies all of them in a single
+ * rebuild of the model.
+ *
+ * <p>Every {@code with*} call on an immutable {@link Model} copies the model, so a sequence of
+ * edits made directly on the model copies it once per edit. An editor keeps pending values instead,
+ * and getters return them, so that later edits see the result of earlier ones. {@link #build()}
+ * then produces the final model with one builder pass and updates the view with it. A single
+ * pending edit is applied with the corresponding {@code with*} method, which copies the model once
+ * as well.
+ *
+ * <p>Index lookups with {@link #indexOf(ModelSection, String, String)} are served by the view,
+ * against pending section lists, so indexes of unchanged lists survive across edits and builds.
+ *
+ * <p>Instances are not thread-safe. Pending edits are discarded when the view is reset to another
+ * model with {@link #reset(Model)}.
+ */
+public final class ModelEditor {
+
+    private static final int PARENT = 1;
+    private static final int GROUP_ID = 2;
+    private static final int VERSION = 4;
+
+    private final ModelView view;
+
+    /** Bits of model fields with pending values. */
+    private int fields;
+
+    private Parent parent;
+    private String groupId;
+    private String version;
+
+    /** Pending section lists, by section ordinal, or {@code null} if unchanged. */
+    private final List<?>[] sections = new List<?>[ModelSection.COUNT];
+
+    /** Number of sections with pending lists. */
+    private int sectionCount;
+
+    /**
+     * Creates an editor of the model of the given view.
+     *
+     * @param view the view
+     */
+    public ModelEditor(ModelView view) {
+        this.view = view;
+    }
+
+    /**
+     * Creates an editor of the given model, with a view of its own.
+     *
+     * @param model the model
+     */
+    public ModelEditor(Model model) {
+        this(new ModelView(model));
+    }
+
+    /**
+     * Returns the view whose model is edited.
+     *
+     * @return the view
+     */
+    public ModelView getView() {
+        return view;
+    }
+
+    /**
+     * Returns the model edits are applied to, which does not reflect pending edits.
+     *
+     * @return the base model
+     */
+    public Model getBase() {
+        return view.getModel();
+    }
+
+    /**
+     * Tests whether there are any pending edits.
+     *
+     * @return {@code true} if {@link #build()} would produce a new model
+     */
+    public boolean isModified() {
+        return fields != 0 || sectionCount != 0;
+    }
+
+    /**
+     * Returns the parent, including a pending edit.
+     *
+     * @return the parent, or {@code null} if there is none
+     */
+    public Parent getParent() {
+        return (fields & PARENT) != 0 ? parent : getBase().getParent();
+    }
+
+    /**
+     * Sets the parent.
+     *
+     * @param parent the new parent, or {@code null} to remove it
+     */
+    public void setParent(Parent parent) {
+        this.parent = parent;
+        fields |= PARENT;
+    }
+
+    /**
+     * Returns the groupId, including a pending edit.
+     *
+     * @return the groupId, or {@code null} if it is inherited
+     */
+    public String getGroupId() {
+        return (fields & GROUP_ID) != 0 ? groupId : getBase().getGroupId();
+    }
+
+    /**
+     * Sets the groupId.
+     *
+     * @param groupId the new groupId
+     */
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+        fields |= GROUP_ID;
+    }
+
+    /**
+     * Returns the version, including a pending edit.
+     *
+     * @return the version, or {@code null} if it is inherited
+     */
+    public String getVersion() {
+        return (fields & VERSION) != 0 ? version : getBase().getVersion();
+    }
+
+    /**
+     * Sets the version.
+     *
+     * @param version the new version
+     */
+    public void setVersion(String version) {
+        this.version = version;
+        fields |= VERSION;
+    }
+
+    /**
+     * Returns elements of a section, including a pending edit.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @return list of elements; must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(ModelSection<T> section) {
+        List<T> elements = (List<T>) sections[section.getOrdinal()];
+        return elements != null ? elements : view.get(section);
+    }
+
+    /**
+     * Replaces elements of a section.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @param elements new list of elements; must not be modified afterwards
+     */
+    public <T> void set(ModelSection<T> section, List<T> elements) {
+        int s = section.getOrdinal();
+        if (sections[s] == null) {
+            sectionCount++;
+        }
+        sections[s] = elements;
+    }
+
+    /**
+     * Returns position of the first element of a section with the given key, including a pending
+     * edit of the section.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @param first the first part of the key
+     * @param second the second part of the key, or {@code null} for single-part keys
+     * @return position of the element, or {@code -1} if there is no such element
+     * @see ModelView#indexOf(ModelSection, List, String, String)
+     */
+    public <T> int indexOf(ModelSection<T> section, String first, String second) {
+        return view.indexOf(section, get(section), first, second);
+    }
+
+    /**
+     * Applies pending edits in a single rebuild of the model, updates the view with the result and
+     * starts a new session on top of it.
+     *
+     * @return the edited model, or the base model itself if there were no pending edits
+     */
+    public Model build() {
+        Model model = getBase();
+        if (!isModified()) {
+            return model;
+        }
+        Model newModel;
+        if (fields == 0 && sectionCount == 1) {
+            newModel = withSection(model);
+        } else if (sectionCount == 0 && Integer.bitCount(fields) == 1) {
+            newModel =
+                    switch (fields) {
+                        case PARENT -> model.withParent(parent);
+                        case GROUP_ID -> model.withGroupId(groupId);
+                        default -> model.withVersion(version);
+                    };
+        } else {
+            Model.Builder builder = Model.newBuilder(model, true);
+            if ((fields & PARENT) != 0) {
+                builder.parent(parent);
+            }
+            if ((fields & GROUP_ID) != 0) {
+                builder.groupId(groupId);
+            }
+            if ((fields & VERSION) != 0) {
+                builder.version(version);
+            }
+            for (int i = 0; i < ModelSection.COUNT; i++) {
+                if (sections[i] != null) {
+                    set(builder, model, ModelSection.get(i));
+                }
+            }
+            newModel = builder.build();
+        }
+        clear();
+        view.setModel(newModel);
+        return newModel;
+    }
+
+    private Model withSection(Model model) {
+        for (int i = 0; i < ModelSection.COUNT; i++) {
+            if (sections[i] != null) {
+                return with(model, ModelSection.get(i));
+            }
+        }
+        return model;
+    }
+
+    private <T> Model with(Model model, ModelSection<T> section) {
+        return section.with(model, get(section));
+    }
+
+    private <T> void set(Model.Builder builder, Model model, ModelSection<T> section) {
+        section.set(builder, model, get(section));
+    }
+
+    /**
+     * Replaces the model of the view with an unrelated one, discarding pending edits and all view
+     * indexes.
+     *
+     * @param model the new model, or {@code null} to release the current one
+     */
+    public void reset(Model model) {
+        clear();
+        view.reset(model);
+    }
+
+    private void clear() {
+        fields = 0;
+        parent = null;
+        groupId = null;
+        version = null;
+        if (sectionCount != 0) {
+            for (int i = 0; i < ModelSection.COUNT; i++) {
+                sections[i] = null;
+            }
+            sectionCount = 0;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.ModelBase;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.Reporting;
+
+/**
+ * A {@code ModelKey} identifies a {@link Model} by content of the parts that transformations look
+ * at, rather than by object identity.
+ *
+ * <p>Maven model classes do not implement {@code equals()} and {@code hashCode()}. This class
+ * compares and hashes model coordinates, parent, packaging, POM file, properties, subprojects, and
+ * coordinates of dependencies and plugins in all places they can appear, including profiles. Two
+ * models with equal keys are indistinguishable to built-in transformations, although they may
+ * differ in other parts, such as project name or plugin configuration.
+ */
+final class ModelKey {
+
+    private final Model model;
+    private final int hash;
+
+    /**
+     * Creates a content key for the given model.
+     *
+     * @param model the model
+     */
+    ModelKey(Model model) {
+        this.model = model;
+        this.hash = hash(model);
+    }
+
+    /**
+     * Receives the parts of model content that transformations look at, in traversal order. This is
+     * the single definition of such content, shared by {@link ModelKey} and {@link DecisionCache}.
+     */
+    interface Content {
+        /**
+         * Adds a content value.
+         *
+         * @param value the value, possibly {@code null}
+         */
+        void add(Object value);
+
+        /**
+         * Adds a number, such as the size of a list whose elements follow.
+         *
+         * @param value the number
+         */
+        void add(int value);
+
+        /**
+         * Adds a map of properties, whose order does not matter.
+         *
+         * @param properties the properties
+         */
+        void add(Map<String, String> properties);
+    }
+
+    /** Computes the hash code of traversed content. */
+    private static final class Hasher implements Content {
+        int h = 1;
+
+        @Override
+        public void add(Object value) {
+            h = 31 * h + Objects.hashCode(value);
+        }
+
+        @Override
+        public void add(int value) {
+            h = 31 * h + value;
+        }
+
+        @Override
+        public void add(Map<String, String> properties) {
+            h = 31 * h + properties.hashCode();
+        }
+    }
+
+    private static int hash(Model m) {
+        Hasher hasher = new Hasher();
+        traverse(m, hasher);
+        return hasher.h;
+    }
+
+    /**
+     * Passes the parts of model content that transformations look at to the given receiver. Missing
+     * sections are passed as empty ones, the same way they are compared by {@link #equals}.
+     *
+     * @param m the model
+     * @param c the receiver
+     */
+    static void traverse(Model m, Content c) {
+        c.add(m.getGroupId());
+        c.add(m.getArtifactId());
+        c.add(m.getVersion());
+        c.add(m.getPackaging());
+        c.add(m.getPomFile());
+        List<String> subprojects = m.getSubprojects();
+        c.add(subprojects.size());
+        for (String subproject : subprojects) {
+            c.add(subproject);
+        }
+        Parent p = m.getParent();
+        if (p != null) {
+            c.add(p.getGroupId());
+            c.add(p.getArtifactId());
+            c.add(p.getVersion());
+        } else {
+            c.add(-1);
+        }
+        traverse(m, m.getBuild(), c);
+        c.add(m.getProfiles().size());
+        for (Profile profile : m.getProfiles()) {
+            c.add(profile.getId());
+            traverse(profile, profile.getBuild(), c);
+        }
+    }
+
+    private static void traverse(ModelBase base, BuildBase build, Content c) {
+        c.add(base.getProperties());
+        traverse(base.getDependencies(), c);
+        traverse(managed(base), c);
+        List<ReportPlugin> reportPlugins = reportPlugins(base);
+        c.add(reportPlugins.size());
+        for (ReportPlugin r : reportPlugins) {
+            c.add(r.getGroupId());
+            c.add(r.getArtifactId());
+            c.add(r.getVersion());
+        }
+        traversePlugins(plugins(build), c);
+        traversePlugins(managedPlugins(build), c);
+    }
+
+    private static void traverse(List<Dependency> dependencies, Content c) {
+        c.add(dependencies.size());
+        for (Dependency d : dependencies) {
+            c.add(d.getGroupId());
+            c.add(d.getArtifactId());
+            c.add(d.getVersion());
+            c.add(d.getType());
+            c.add(d.getClassifier());
+            c.add(d.getScope());
+        }
+    }
+
+    private static void traversePlugins(List<Plugin> plugins, Content c) {
+        c.add(plugins.size());
+        for (Plugin p : plugins) {
+            c.add(p.getGroupId());
+            c.add(p.getArtifactId());
+            c.add(p.getVersion());
+        }
+    }
+
+    private static <T> boolean equal(List<T> a, List<T> b, BiPredicate<T, T> eq) {
+        if (a == b) {
+            return true;
+        }
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!eq.test(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equal(Dependency a, Dependency b) {
+        return a == b
+                || Objects.equals(a.getGroupId(), b.getGroupId())
+                        && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                        && Objects.equals(a.getVersion(), b.getVersion())
+                        && Objects.equals(a.getType(), b.getType())
+                        && Objects.equals(a.getClassifier(), b.getClassifier())
+                        && Objects.equals(a.getScope(), b.getScope());
+    }
+
+    private static boolean equal(Plugin a, Plugin b) {
+        return a == b
+                || Objects.equals(a.getGroupId(), b.getGroupId())
+                        && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                        && Objects.equals(a.getVersion(), b.getVersion());
+    }
+
+    private static boolean equal(ReportPlugin a, ReportPlugin b) {
+        return a == b
+                || Objects.equals(a.getGroupId(), b.getGroupId())
+                        && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                        && Objects.equals(a.getVersion(), b.getVersion());
+    }
+
+    private static boolean equal(Parent a, Parent b) {
+        return a == b
+                || a != null
+                        && b != null
+                        && Objects.equals(a.getGroupId(), b.getGroupId())
+                        && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                        && Objects.equals(a.getVersion(), b.getVersion());
+    }
+
+    private static List<Dependency> managed(ModelBase base) {
+        DependencyManagement dm = base.getDependencyManagement();
+        return dm != null ? dm.getDependencies() : List.of();
+    }
+
+    private static List<ReportPlugin> reportPlugins(ModelBase base) {
+        Reporting reporting = base.getReporting();
+        return reporting != null ? reporting.getPlugins() : List.of();
+    }
+
+    private static List<Plugin> plugins(BuildBase build) {
+        return build != null ? build.getPlugins() : List.of();
+    }
+
+    private static List<Plugin> managedPlugins(BuildBase build) {
+        PluginManagement pm = build != null ? build.getPluginManagement() : null;
+        return pm != null ? pm.getPlugins() : List.of();
+    }
+
+    private static boolean equal(ModelBase a, BuildBase ab, ModelBase b, BuildBase bb) {
+        Map<String, String> ap = a.getProperties();
+        return ap.equals(b.getProperties())
+                && equal(a.getDependencies(), b.getDependencies(), ModelKey::equal)
+                && equal(managed(a), managed(b), ModelKey::equal)
+                && equal(reportPlugins(a), reportPlugins(b), ModelKey::equal)
+                && equal(plugins(ab), plugins(bb), ModelKey::equal)
+                && equal(managedPlugins(ab), managedPlugins(bb), ModelKey::equal);
+    }
+
+    private static boolean equal(Profile a, Profile b) {
+        return a == b
+                || Objects.equals(a.getId(), b.getId()) && equal(a, a.getBuild(), b, b.getBuild());
+    }
+
+    /** Compares the same content as {@link #traverse(Model, Content)} passes. */
+    private static boolean equal(Model a, Model b) {
+        Build ab = a.getBuild();
+        Build bb = b.getBuild();
+        return a == b
+                || Objects.equals(a.getGroupId(), b.getGroupId())
+                        && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                        && Objects.equals(a.getVersion(), b.getVersion())
+                        && Objects.equals(a.getPackaging(), b.getPackaging())
+                        && Objects.equals(a.getPomFile(), b.getPomFile())
+                        && a.getSubprojects().equals(b.getSubprojects())
+                        && equal(a.getParent(), b.getParent())
+                        && equal(a, ab, b, bb)
+                        && equal(a.getProfiles(), b.getProfiles(), ModelKey::equal);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ModelKey k && hash == k.hash && equal(model, k.model);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
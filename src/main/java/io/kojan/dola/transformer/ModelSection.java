@@ -0,0 +1,241 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+
+/**
+ * A {@code ModelSection} describes a list of elements within a {@link Model} that transformations
+ * operate on, such as dependencies or build plugins.
+ *
+ * <p>Each section knows how to extract its list from a model, how to produce a model with the list
+ * replaced, and how to obtain the key of an element that patterns are matched against. Keys have
+ * either one part (subprojects) or two parts (group ID and artifact ID).
+ *
+ * @param <T> type of section elements
+ */
+public final class ModelSection<T> {
+
+    /** Project dependencies. */
+    public static final ModelSection<Dependency> DEPENDENCIES =
+            new ModelSection<>(
+                    0,
+                    "dependency",
+                    Model::getDependencies,
+                    Model::withDependencies,
+                    (builder, model, dependencies) -> builder.dependencies(dependencies),
+                    Dependency::getGroupId,
+                    Dependency::getArtifactId);
+
+    /** Managed dependencies. */
+    public static final ModelSection<Dependency> MANAGED_DEPENDENCIES =
+            new ModelSection<>(
+                    1,
+                    "managed dependency",
+                    model ->
+                            model.getDependencyManagement() != null
+                                    ? model.getDependencyManagement().getDependencies()
+                                    : List.of(),
+                    (model, dependencies) ->
+                            model.withDependencyManagement(
+                                    (model.getDependencyManagement() != null
+                                                    ? model.getDependencyManagement()
+                                                    : DependencyManagement.newInstance())
+                                            .withDependencies(dependencies)),
+                    (builder, model, dependencies) ->
+                            builder.dependencyManagement(
+                                    (model.getDependencyManagement() != null
+                                                    ? model.getDependencyManagement()
+                                                    : DependencyManagement.newInstance())
+                                            .withDependencies(dependencies)),
+                    Dependency::getGroupId,
+                    Dependency::getArtifactId);
+
+    /** Build plugins. */
+    public static final ModelSection<Plugin> PLUGINS =
+            new ModelSection<>(
+                    2,
+                    "plugin",
+                    model -> model.getBuild() != null ? model.getBuild().getPlugins() : List.of(),
+                    (model, plugins) -> model.withBuild(model.getBuild().withPlugins(plugins)),
+                    (builder, model, plugins) ->
+                            builder.build(model.getBuild().withPlugins(plugins)),
+                    Plugin::getGroupId,
+                    Plugin::getArtifactId);
+
+    /** Subprojects (modules). */
+    public static final ModelSection<String> SUBPROJECTS =
+            new ModelSection<>(
+                    3,
+                    "subproject",
+                    Model::getSubprojects,
+                    Model::withSubprojects,
+                    (builder, model, subprojects) -> builder.subprojects(subprojects),
+                    s -> s,
+                    null);
+
+    /** Number of sections defined. */
+    static final int COUNT = 4;
+
+    /** All sections, by ordinal. */
+    private static final List<ModelSection<?>> SECTIONS =
+            List.of(DEPENDENCIES, MANAGED_DEPENDENCIES, PLUGINS, SUBPROJECTS);
+
+    /** Sets section elements on a model builder. */
+    @FunctionalInterface
+    private interface Setter<T> {
+        void set(Model.Builder builder, Model model, List<T> elements);
+    }
+
+    private final int ordinal;
+
+    private final String name;
+    private final Function<Model, List<T>> getter;
+    private final BiFunction<Model, List<T>, Model> wither;
+    private final Setter<T> setter;
+    private final Function<T, String> firstKey;
+    private final Function<T, String> secondKey;
+
+    private ModelSection(
+            int ordinal,
+            String name,
+            Function<Model, List<T>> getter,
+            BiFunction<Model, List<T>, Model> wither,
+            Setter<T> setter,
+            Function<T, String> firstKey,
+            Function<T, String> secondKey) {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.getter = getter;
+        this.wither = wither;
+        this.setter = setter;
+        this.firstKey = firstKey;
+        this.secondKey = secondKey;
+    }
+
+    /**
+     * Returns a human-readable name of a single element of this section, used in log messages.
+     *
+     * @return element name, for example {@code "dependency"}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a number identifying this section, from {@code 0} to {@link #COUNT} (exclusive).
+     *
+     * @return section ordinal
+     */
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Returns the first part of the key of an element.
+     *
+     * @param element the element
+     * @return the first key part, such as group ID
+     */
+    public String firstKey(T element) {
+        return firstKey.apply(element);
+    }
+
+    /**
+     * Returns the second part of the key of an element.
+     *
+     * @param element the element
+     * @return the second key part, such as artifact ID, or {@code null} for single-part keys
+     */
+    public String secondKey(T element) {
+        return secondKey != null ? secondKey.apply(element) : null;
+    }
+
+    /**
+     * Returns number of parts in element keys.
+     *
+     * @return {@code 1} or {@code 2}
+     */
+    public int getArity() {
+        return secondKey == null ? 1 : 2;
+    }
+
+    /**
+     * Returns elements of this section in the given model.
+     *
+     * @param model the model
+     * @return list of elements, possibly empty, never {@code null}
+     */
+    public List<T> get(Model model) {
+        return getter.apply(model);
+    }
+
+    /**
+     * Returns a model with elements of this section replaced.
+     *
+     * @param model the model
+     * @param elements new list of elements
+     * @return the updated model
+     */
+    public Model with(Model model, List<T> elements) {
+        return wither.apply(model, elements);
+    }
+
+    /**
+     * Sets elements of this section on a builder of a new model.
+     *
+     * @param builder builder of the new model
+     * @param model the model the builder is based on
+     * @param elements new list of elements
+     */
+    void set(Model.Builder builder, Model model, List<T> elements) {
+        setter.set(builder, model, elements);
+    }
+
+    /**
+     * Returns the section with the given ordinal.
+     *
+     * @param ordinal section ordinal, from {@code 0} to {@link #COUNT} (exclusive)
+     * @return the section
+     */
+    static ModelSection<?> get(int ordinal) {
+        return SECTIONS.get(ordinal);
+    }
+
+    /**
+     * Returns identifiers of patterns in the given automaton that match key of an element.
+     *
+     * @param automaton the automaton, compiled with arity of this section
+     * @param element the element
+     * @return identifiers of matching patterns
+     */
+    public int[] match(GlobAutomaton automaton, T element) {
+        return secondKey == null
+                ? automaton.match(firstKey.apply(element))
+                : automaton.match(firstKey.apply(element), secondKey.apply(element));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,89 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.List;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@code ModelSelector} decides whether an instruction applies to a given {@link Model}.
+ *
+ * <p>A selector may have coordinates, a {@link GidAidMatcher} that matches every model selected by
+ * the selector. Coordinates are used to find candidate transformations for a model in a {@link
+ * DispatchIndex}. A selector may also have conditions on other attributes of the model, which are
+ * tested only for candidates. A selector without coordinates, such as {@code packaging=pom}, is a
+ * candidate for every model, including file and raw models whose group ID is inherited.
+ *
+ * <p>Selectors are written as one or more terms separated by {@code &}, all of which must hold:
+ *
+ * <ul>
+ *   <li>{@code gid:aid} &ndash; model coordinates match the glob, see {@link GidAidMatcher}
+ *   <li>{@code packaging=glob} &ndash; model packaging matches the glob
+ *   <li>{@code path=glob} &ndash; directory of the POM file matches the glob, see {@link PathTrie}
+ *   <li>{@code property=name} &ndash; model defines the property
+ *   <li>{@code property=name=glob} &ndash; model defines the property with a matching value
+ * </ul>
+ *
+ * <p>Any term can be negated by prefixing it with {@code !}. For example, {@code
+ * org.example:*&!packaging=pom} selects all modules of group {@code org.example} that are not
+ * aggregators.
+ */
+public interface ModelSelector {
+
+    /**
+     * Parses a selector. Selectors that consist of a single {@code gid:aid} term are returned as
+     * shared {@link GidAidMatcher}s, see {@link GidAidMatcher#of(String)}. Relative globs of path
+     * terms are matched from the top-level project directory given by system properties.
+     *
+     * @param pattern the selector
+     * @return the parsed selector
+     * @throws IllegalArgumentException if the selector is malformed
+     */
+    static ModelSelector parse(String pattern) {
+        return AttributeSelector.parse(pattern, PathTrie.of(System.getProperties()));
+    }
+
+    /**
+     * Returns the selector as it was written.
+     *
+     * @return the selector string
+     */
+    String getPattern();
+
+    /**
+     * Returns the coordinates of this selector. Models that do not match them are not selected.
+     *
+     * @return the coordinates, or {@code null} if the selector does not restrict them
+     */
+    GidAidMatcher getCoordinates();
+
+    /**
+     * Returns the conditions that models matching the coordinates must also satisfy. A selector
+     * with a superset of conditions of another one, and narrower coordinates, selects a subset of
+     * models.
+     *
+     * @return terms of the conditions, normalized, or an empty list if there are none
+     */
+    List<String> getConditions();
+
+    /**
+     * Tests whether the selector selects the given model.
+     *
+     * @param model the model
+     * @return {@code true} if the model matches the coordinates and satisfies all conditions
+     */
+    boolean matches(Model model);
+}
@@ -0,0 +1,192 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@code ModelView} is a {@link Model} being transformed, together with lazily built indexes of
+ * its {@link ModelSection}s, which allow looking up elements by key in constant time.
+ *
+ * <p>An index is built for a section list the second time the same list is looked up, so a single
+ * lookup costs one scan of the list and allocates nothing, while repeated lookups by several
+ * transformations pay for building the index only once. Indexes are tied to section lists by
+ * reference: after the model is replaced with {@link #setModel(Model)}, indexes of sections whose
+ * lists were not changed remain valid and are kept.
+ *
+ * <p>Instances are not thread-safe. A view may be reused for different models, see {@link
+ * #reset(Model)}.
+ */
+public final class ModelView {
+
+    /** Number of lookups of the same list after which an index is built. */
+    private static final int INDEX_THRESHOLD = 2;
+
+    /** Lists shorter than this are always scanned. */
+    private static final int MIN_INDEXED_SIZE = 8;
+
+    private Model model;
+
+    /** Section lists that lookup counts and indexes refer to, by section ordinal. */
+    private final List<?>[] lists = new List<?>[ModelSection.COUNT];
+
+    /** Numbers of lookups of section lists, by section ordinal. */
+    private final int[] lookups = new int[ModelSection.COUNT];
+
+    /** Position of the first element by first and second key part, by section ordinal. */
+    private final Map<?, ?>[] indexes = new Map<?, ?>[ModelSection.COUNT];
+
+    /**
+     * Creates a view of the given model.
+     *
+     * @param model the model
+     */
+    public ModelView(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns the current model.
+     *
+     * @return the model
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Replaces the current model with a transformed one. Indexes of sections that are the same in
+     * both models are retained.
+     *
+     * @param model the new model
+     */
+    public void setModel(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * Replaces the current model with an unrelated one, discarding all indexes.
+     *
+     * @param model the new model, or {@code null} to release the current one
+     */
+    public void reset(Model model) {
+        this.model = model;
+        for (int i = 0; i < ModelSection.COUNT; i++) {
+            lists[i] = null;
+            lookups[i] = 0;
+            indexes[i] = null;
+        }
+    }
+
+    /**
+     * Returns elements of a section of the current model.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @return list of elements
+     */
+    public <T> List<T> get(ModelSection<T> section) {
+        return section.get(model);
+    }
+
+    /**
+     * Returns position of the first element of a section with the given key.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @param first the first part of the key, such as group ID
+     * @param second the second part of the key, such as artifact ID, or {@code null} for sections
+     *     with single-part keys
+     * @return position of the element, or {@code -1} if there is no such element
+     */
+    public <T> int indexOf(ModelSection<T> section, String first, String second) {
+        return indexOf(section, section.get(model), first, second);
+    }
+
+    /**
+     * Returns position of the first element with the given key in a list of section elements.
+     *
+     * <p>The list is usually the section list of the current model, as returned by {@link
+     * #get(ModelSection)}, but it may be any list of elements of the section that is never going to
+     * be modified. Lookup counts and indexes are kept for the most recently used list of each
+     * section.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @param elements unmodifiable list of section elements
+     * @param first the first part of the key, such as group ID
+     * @param second the second part of the key, such as artifact ID, or {@code null} for sections
+     *     with single-part keys
+     * @return position of the element, or {@code -1} if there is no such element
+     */
+    @SuppressWarnings("unchecked")
+    public <T> int indexOf(ModelSection<T> section, List<T> elements, String first, String second) {
+        int s = section.getOrdinal();
+        if (lists[s] != elements) {
+            lists[s] = elements;
+            lookups[s] = 0;
+            indexes[s] = null;
+        }
+        Map<String, Map<String, Integer>> index = (Map<String, Map<String, Integer>>) indexes[s];
+        if (index == null
+                && ++lookups[s] >= INDEX_THRESHOLD
+                && elements.size() >= MIN_INDEXED_SIZE) {
+            index = build(section, elements);
+            indexes[s] = index;
+        }
+        if (index != null) {
+            Map<String, Integer> bySecond = index.get(first);
+            Integer position = bySecond != null ? bySecond.get(second) : null;
+            return position != null ? position : -1;
+        }
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            if (Objects.equals(first, section.firstKey(element))
+                    && Objects.equals(second, section.secondKey(element))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> Map<String, Map<String, Integer>> build(
+            ModelSection<T> section, List<T> elements) {
+        Map<String, Map<String, Integer>> index = new HashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            index.computeIfAbsent(section.firstKey(element), k -> new HashMap<>())
+                    .putIfAbsent(section.secondKey(element), i);
+        }
+        return index;
+    }
+
+    /**
+     * Tests whether a section contains an element with the given key.
+     *
+     * @param <T> type of section elements
+     * @param section the section
+     * @param first the first part of the key
+     * @param second the second part of the key, or {@code null} for single-part keys
+     * @return {@code true} if there is such an element
+     */
+    public <T> boolean contains(ModelSection<T> section, String first, String second) {
+        return indexOf(section, first, second) >= 0;
+    }
+}
@@ -0,0 +1,296 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.ModelBase;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.Reporting;
+
+/**
+ * A {@code ModelWalker} visits every dependency and plugin container of a model exactly once,
+ * passing each container through a list of {@link Visitor}s.
+ *
+ * <p>Containers are visited in the model itself and in each of its profiles: dependencies,
+ * dependency management, build plugins, plugin management and reporting plugins. All visitors are
+ * applied to a container before the walk moves on to the next one, so a model is traversed once
+ * regardless of the number of visitors. Empty containers are skipped, and once a visitor empties a
+ * container, it is not passed to the remaining visitors.
+ *
+ * <p>Only objects on the path to a changed container are rebuilt. Subtrees that no visitor changed
+ * are returned by the same reference, and a model that no visitor changed is returned as is.
+ */
+public final class ModelWalker {
+
+    /** Kinds of containers visited by the walker. */
+    public enum Container {
+        /** Dependencies. */
+        DEPENDENCIES("dependencies"),
+        /** Managed dependencies. */
+        DEPENDENCY_MANAGEMENT("dependencyManagement"),
+        /** Build plugins. */
+        PLUGINS("build.plugins"),
+        /** Managed build plugins. */
+        PLUGIN_MANAGEMENT("build.pluginManagement"),
+        /** Reporting plugins. */
+        REPORTING("reporting");
+
+        private final String path;
+
+        Container(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Describes location of a container of this kind, for use in log messages.
+         *
+         * @param profile profile the container belongs to, or {@code null} for the model itself
+         * @return POM path of the container
+         */
+        public String describe(Profile profile) {
+            return profile != null ? "profiles/" + profile.getId() + "/" + path : path;
+        }
+    }
+
+    /**
+     * A visitor of model containers. Each method receives the elements of a container and returns
+     * either the same list, if nothing was changed, or a new list that replaces them.
+     */
+    public interface Visitor {
+
+        /**
+         * Visits a container of dependencies.
+         *
+         * @param model the model being walked
+         * @param profile profile the container belongs to, or {@code null} for the model itself
+         * @param container either {@link Container#DEPENDENCIES} or {@link
+         *     Container#DEPENDENCY_MANAGEMENT}
+         * @param dependencies the dependencies; must not be modified
+         * @return new list of dependencies, or {@code dependencies} if nothing was changed
+         */
+        default List<Dependency> visitDependencies(
+                Model model, Profile profile, Container container, List<Dependency> dependencies) {
+            return dependencies;
+        }
+
+        /**
+         * Visits a container of build plugins.
+         *
+         * @param model the model being walked
+         * @param profile profile the container belongs to, or {@code null} for the model itself
+         * @param container either {@link Container#PLUGINS} or {@link Container#PLUGIN_MANAGEMENT}
+         * @param plugins the plugins; must not be modified
+         * @return new list of plugins, or {@code plugins} if nothing was changed
+         */
+        default List<Plugin> visitPlugins(
+                Model model, Profile profile, Container container, List<Plugin> plugins) {
+            return plugins;
+        }
+
+        /**
+         * Visits reporting plugins.
+         *
+         * @param model the model being walked
+         * @param profile profile the container belongs to, or {@code null} for the model itself
+         * @param plugins the plugins; must not be modified
+         * @return new list of plugins, or {@code plugins} if nothing was changed
+         */
+        default List<ReportPlugin> visitReportPlugins(
+                Model model, Profile profile, List<ReportPlugin> plugins) {
+            return plugins;
+        }
+    }
+
+    /** Visitors, in application order. */
+    private final List<? extends Visitor> visitors;
+
+    /**
+     * Creates a walker applying the given visitors.
+     *
+     * @param visitors the visitors, in application order
+     */
+    public ModelWalker(List<? extends Visitor> visitors) {
+        this.visitors = List.copyOf(visitors);
+    }
+
+    /**
+     * Walks a model, applying all visitors.
+     *
+     * @param model the model
+     * @return the transformed model, or {@code model} itself if nothing was changed
+     */
+    public Model walk(Model model) {
+        return walk(model, null, 0);
+    }
+
+    /**
+     * Walks a model, applying only enabled visitors.
+     *
+     * @param model the model
+     * @param enabled bits of enabled visitors, or {@code null} to enable all of them
+     * @param offset bit corresponding to the first visitor
+     * @return the transformed model, or {@code model} itself if nothing was changed
+     */
+    public Model walk(Model model, BitSet enabled, int offset) {
+        Model result = base(model, enabled, offset, model, null);
+        Build build = model.getBuild();
+        Build newBuild = build != null ? (Build) build(model, enabled, offset, build, null) : null;
+        if (newBuild != build) {
+            result = result.withBuild(newBuild);
+        }
+        List<Profile> profiles = model.getProfiles();
+        List<Profile> newProfiles = null;
+        for (int i = 0; i < profiles.size(); i++) {
+            Profile profile = profiles.get(i);
+            Profile newProfile = base(model, enabled, offset, profile, profile);
+            BuildBase profileBuild = profile.getBuild();
+            BuildBase newProfileBuild =
+                    profileBuild != null
+                            ? build(model, enabled, offset, profileBuild, profile)
+                            : null;
+            if (newProfileBuild != profileBuild) {
+                newProfile = newProfile.withBuild(newProfileBuild);
+            }
+            if (newProfile != profile) {
+                if (newProfiles == null) {
+                    newProfiles = new ArrayList<>(profiles);
+                }
+                newProfiles.set(i, newProfile);
+            }
+        }
+        if (newProfiles != null) {
+            result = result.withProfiles(newProfiles);
+        }
+        return result;
+    }
+
+    private static boolean isEnabled(BitSet enabled, int offset, int i) {
+        return enabled == null || enabled.get(offset + i);
+    }
+
+    private List<Dependency> dependencies(
+            Model model,
+            BitSet enabled,
+            int offset,
+            Profile profile,
+            Container container,
+            List<Dependency> dependencies) {
+        for (int i = 0; i < visitors.size() && !dependencies.isEmpty(); i++) {
+            if (isEnabled(enabled, offset, i)) {
+                dependencies =
+                        visitors.get(i).visitDependencies(model, profile, container, dependencies);
+            }
+        }
+        return dependencies;
+    }
+
+    private List<Plugin> plugins(
+            Model model,
+            BitSet enabled,
+            int offset,
+            Profile profile,
+            Container container,
+            List<Plugin> plugins) {
+        for (int i = 0; i < visitors.size() && !plugins.isEmpty(); i++) {
+            if (isEnabled(enabled, offset, i)) {
+                plugins = visitors.get(i).visitPlugins(model, profile, container, plugins);
+            }
+        }
+        return plugins;
+    }
+
+    private List<ReportPlugin> reportPlugins(
+            Model model, BitSet enabled, int offset, Profile profile, List<ReportPlugin> plugins) {
+        for (int i = 0; i < visitors.size() && !plugins.isEmpty(); i++) {
+            if (isEnabled(enabled, offset, i)) {
+                plugins = visitors.get(i).visitReportPlugins(model, profile, plugins);
+            }
+        }
+        return plugins;
+    }
+
+    /** Walks containers common to models and profiles; the result has the type of base. */
+    @SuppressWarnings("unchecked")
+    private <B extends ModelBase> B base(
+            Model model, BitSet enabled, int offset, B base, Profile profile) {
+        B result = base;
+        List<Dependency> dependencies = base.getDependencies();
+        List<Dependency> newDependencies =
+                dependencies(model, enabled, offset, profile, Container.DEPENDENCIES, dependencies);
+        if (newDependencies != dependencies) {
+            result = (B) result.withDependencies(newDependencies);
+        }
+        DependencyManagement management = base.getDependencyManagement();
+        if (management != null) {
+            List<Dependency> managed = management.getDependencies();
+            List<Dependency> newManaged =
+                    dependencies(
+                            model,
+                            enabled,
+                            offset,
+                            profile,
+                            Container.DEPENDENCY_MANAGEMENT,
+                            managed);
+            if (newManaged != managed) {
+                result =
+                        (B)
+                                result.withDependencyManagement(
+                                        management.withDependencies(newManaged));
+            }
+        }
+        Reporting reporting = base.getReporting();
+        if (reporting != null) {
+            List<ReportPlugin> plugins = reporting.getPlugins();
+            List<ReportPlugin> newPlugins = reportPlugins(model, enabled, offset, profile, plugins);
+            if (newPlugins != plugins) {
+                result = (B) result.withReporting(reporting.withPlugins(newPlugins));
+            }
+        }
+        return result;
+    }
+
+    /** Walks build containers; the result has the type of build. */
+    private BuildBase build(
+            Model model, BitSet enabled, int offset, BuildBase build, Profile profile) {
+        BuildBase result = build;
+        List<Plugin> plugins = build.getPlugins();
+        List<Plugin> newPlugins =
+                plugins(model, enabled, offset, profile, Container.PLUGINS, plugins);
+        if (newPlugins != plugins) {
+            result = result.withPlugins(newPlugins);
+        }
+        PluginManagement management = build.getPluginManagement();
+        if (management != null) {
+            List<Plugin> managed = management.getPlugins();
+            List<Plugin> newManaged =
+                    plugins(model, enabled, offset, profile, Container.PLUGIN_MANAGEMENT, managed);
+            if (newManaged != managed) {
+                result = result.withPluginManagement(management.withPlugins(newManaged));
+            }
+        }
+        return result;
+    }
+}
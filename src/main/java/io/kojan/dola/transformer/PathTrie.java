@@ -0,0 +1,253 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A {@code PathTrie} matches directories of POM files against the directory globs of all {@code
+ * path=} selectors at once.
+ *
+ * <p>Globs are split into {@code /}-separated components, each of which may contain {@code *} and
+ * {@code ?} wildcards, see {@link GlobMatcher}, while a {@code **} component matches any number of
+ * directories, including none. Globs starting with {@code /} are matched against the absolute
+ * directory, others against the directory relative to the base directory of the trie. Directories
+ * outside of the base directory never match relative globs.
+ *
+ * <p>Each parsed plan has its own trie, shared by all its path selectors, so common leading
+ * components are matched once. The trie is walked once per POM file and thread, and the set of
+ * matching globs is remembered for the POM file last looked up, so that any number of path
+ * selectors tested against a model cost a single walk. Adding a glob publishes a new trie that
+ * shares all nodes off the path of the glob with the previous one, so lookups never block.
+ */
+final class PathTrie {
+
+    /** Trie node, keyed by path components. */
+    private static final class Node {
+        /** Children reached through a literal component. */
+        final Map<String, Node> literals = new HashMap<>();
+
+        /** Children reached through a component with wildcards, with their matchers. */
+        final List<GlobMatcher> globs = new ArrayList<>();
+
+        final List<Node> globNodes = new ArrayList<>();
+
+        /** Child reached through {@code **}, or {@code null}. */
+        Node any;
+
+        /** Whether this node was reached through {@code **}, so it matches further components. */
+        boolean loop;
+
+        /** Identifiers of globs ending at this node. */
+        final BitSet ends;
+
+        Node() {
+            ends = new BitSet();
+        }
+
+        /** Creates a copy of a node, sharing its children. */
+        Node(Node other) {
+            literals.putAll(other.literals);
+            globs.addAll(other.globs);
+            globNodes.addAll(other.globNodes);
+            any = other.any;
+            loop = other.loop;
+            ends = (BitSet) other.ends.clone();
+        }
+    }
+
+    /** Immutable roots of a published trie. */
+    private record Roots(Node relative, Node absolute) {}
+
+    /** Last lookup on a thread. */
+    private record Memo(Roots roots, Path pomFile, BitSet matches) {}
+
+    private final Path base;
+
+    /** Identifiers of added globs, by glob. */
+    private final Map<String, Integer> ids = new LinkedHashMap<>();
+
+    private volatile Roots roots = new Roots(new Node(), new Node());
+
+    private final ThreadLocal<Memo> memo = new ThreadLocal<>();
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param base directory that relative globs are matched from
+     */
+    PathTrie(Path base) {
+        this.base = base.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Creates an empty trie matching relative globs from the top-level project directory of a
+     * session, given by the {@code maven.multiModuleProjectDirectory} property, or the current
+     * working directory if it is not set.
+     *
+     * @param properties session properties
+     * @return the trie
+     */
+    static PathTrie of(Properties properties) {
+        String dir = properties.getProperty("maven.multiModuleProjectDirectory");
+        if (dir == null) {
+            dir = properties.getProperty("user.dir", System.getProperty("user.dir"));
+        }
+        return new PathTrie(Path.of(dir));
+    }
+
+    /**
+     * Adds a directory glob to the trie, unless it was already added.
+     *
+     * @param glob the glob
+     * @return identifier of the glob, to be passed to {@link #matches}
+     */
+    synchronized int add(String glob) {
+        Integer id = ids.get(glob);
+        if (id != null) {
+            return id;
+        }
+        id = ids.size();
+        ids.put(glob, id);
+        List<String> components = new ArrayList<>();
+        for (String component : glob.split("/")) {
+            if (!component.isEmpty() && !component.equals(".")) {
+                components.add(component);
+            }
+        }
+        Roots current = roots;
+        roots =
+                glob.startsWith("/")
+                        ? new Roots(current.relative, insert(current.absolute, components, 0, id))
+                        : new Roots(insert(current.relative, components, 0, id), current.absolute);
+        return id;
+    }
+
+    /**
+     * Returns a copy of a node with the remaining components of a glob inserted below it. Only
+     * nodes on the path of the glob are copied.
+     */
+    private static Node insert(Node node, List<String> components, int index, int id) {
+        Node copy = node != null ? new Node(node) : new Node();
+        if (index == components.size()) {
+            copy.ends.set(id);
+            return copy;
+        }
+        String component = components.get(index);
+        if (component.equals("**")) {
+            copy.any = insert(copy.any, components, index + 1, id);
+            copy.any.loop = true;
+        } else if (component.indexOf('*') < 0 && component.indexOf('?') < 0) {
+            copy.literals.put(
+                    component, insert(copy.literals.get(component), components, index + 1, id));
+        } else {
+            int i = 0;
+            while (i < copy.globs.size() && !copy.globs.get(i).getGlob().equals(component)) {
+                i++;
+            }
+            if (i == copy.globs.size()) {
+                copy.globs.add(GlobMatcher.of(component));
+                copy.globNodes.add(insert(null, components, index + 1, id));
+            } else {
+                copy.globNodes.set(i, insert(copy.globNodes.get(i), components, index + 1, id));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Tests whether the directory of a POM file matches a glob.
+     *
+     * @param pomFile the POM file, may be {@code null}
+     * @param id identifier of the glob returned by {@link #add}
+     * @return {@code true} if the directory matches; {@code false} if it does not or if the POM
+     *     file is {@code null}
+     */
+    boolean matches(Path pomFile, int id) {
+        if (pomFile == null) {
+            return false;
+        }
+        Roots current = roots;
+        Memo last = memo.get();
+        if (last == null || last.roots != current || last.pomFile != pomFile) {
+            last = new Memo(current, pomFile, lookup(current, pomFile));
+            memo.set(last);
+        }
+        return last.matches.get(id);
+    }
+
+    private BitSet lookup(Roots roots, Path pomFile) {
+        BitSet result = new BitSet();
+        Path dir = pomFile.toAbsolutePath().normalize().getParent();
+        if (dir == null) {
+            return result;
+        }
+        walk(roots.absolute, dir, result);
+        if (dir.startsWith(base)) {
+            walk(roots.relative, base.relativize(dir), result);
+        }
+        return result;
+    }
+
+    private static void walk(Node root, Path dir, BitSet result) {
+        List<Node> active = new ArrayList<>();
+        closure(root, active);
+        for (Path name : dir) {
+            String component = name.toString();
+            if (component.isEmpty()) {
+                continue;
+            }
+            List<Node> next = new ArrayList<>();
+            for (Node node : active) {
+                if (node.loop) {
+                    closure(node, next);
+                }
+                Node child = node.literals.get(component);
+                if (child != null) {
+                    closure(child, next);
+                }
+                for (int i = 0; i < node.globs.size(); i++) {
+                    if (node.globs.get(i).matches(component)) {
+                        closure(node.globNodes.get(i), next);
+                    }
+                }
+            }
+            if (next.isEmpty()) {
+                return;
+            }
+            active = next;
+        }
+        for (Node node : active) {
+            result.or(node.ends);
+        }
+    }
+
+    /** Adds a node and nodes reachable from it through {@code **} matching no directories. */
+    private static void closure(Node node, List<Node> nodes) {
+        for (; node != null; node = node.any) {
+            if (!nodes.contains(node)) {
+                nodes.add(node);
+            }
+        }
+    }
+}
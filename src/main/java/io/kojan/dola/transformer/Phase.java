@@ -0,0 +1,74 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Phases of Maven model building in which a transformation can be applied.
+ *
+ * <p>Each phase corresponds to one method of Maven {@code ModelTransformer}. Results of earlier
+ * phases flow into later ones: the raw model is built from the transformed file model, and
+ * effective models are built from transformed raw models of the project and its parents.
+ */
+public enum Phase {
+    /** Model read from the POM file, used to discover subprojects and parents. */
+    FILE,
+    /** Model that is inherited by child projects. */
+    RAW,
+    /** Model after inheritance, interpolation and injection, used to build the project. */
+    EFFECTIVE;
+
+    /**
+     * Parses a list of phases separated by {@code +}, such as {@code raw+effective}. Phase names
+     * are case-insensitive, and {@code all} stands for all phases.
+     *
+     * @param list the list of phases
+     * @return set of phases, or {@code null} if the string is not a list of phases
+     */
+    public static Set<Phase> parseList(String list) {
+        Set<Phase> phases = EnumSet.noneOf(Phase.class);
+        for (String name : list.split("\\+", -1)) {
+            String upper = name.toUpperCase(Locale.ROOT);
+            if (upper.equals("ALL")) {
+                phases.addAll(EnumSet.allOf(Phase.class));
+            } else if (upper.equals("FILE") || upper.equals("RAW") || upper.equals("EFFECTIVE")) {
+                phases.add(valueOf(upper));
+            } else {
+                return null;
+            }
+        }
+        return phases;
+    }
+
+    /**
+     * Formats a set of phases in the syntax accepted by {@link #parseList(String)}.
+     *
+     * @param phases set of phases
+     * @return list of phases separated by {@code +}, in phase order
+     */
+    public static String formatList(Set<Phase> phases) {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (phases.contains(phase)) {
+                sb.append(sb.length() > 0 ? "+" : "").append(phase.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,266 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A {@code PlanCache} stores parsed and optimized instructions in a binary file, so that later
+ * builds with the same instructions can skip parsing and optimization.
+ *
+ * <p>The file is keyed by a SHA-256 hash of everything the parse result depends on: contents of
+ * instruction files, instruction properties, optimizer settings and available transformers. A file
+ * with a different hash is stale and is overwritten. Transformations themselves wrap injected
+ * components and Maven model objects, so they are produced again from cached arguments; matchers
+ * and the dispatch index are rebuilt from cached selectors in linear time.
+ *
+ * <p>Small files are read with a single read call, larger ones are memory-mapped.
+ */
+final class PlanCache {
+
+    private static final int MAGIC = 0x444f4c41;
+    private static final int VERSION = 1;
+    private static final int MMAP_THRESHOLD = 64 * 1024;
+
+    private PlanCache() {}
+
+    /**
+     * Computes the key of a plan parsed from the given inputs.
+     *
+     * @param transformers available transformers, by name
+     * @param files instruction files
+     * @param properties properties holding instructions and settings
+     * @param keys instruction property keys, in application order
+     * @return SHA-256 hash of the inputs
+     * @throws IOException if an instruction file cannot be read
+     */
+    static byte[] hash(
+            Map<String, Transformer> transformers,
+            List<Path> files,
+            Properties properties,
+            List<String> keys)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, "dola-plan-" + VERSION);
+        update(digest, properties.getProperty("dola.transformer.optimize", ""));
+        for (Map.Entry<String, Transformer> entry : new TreeMap<>(transformers).entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue().getClass().getName());
+        }
+        byte[] buffer = new byte[8192];
+        for (Path file : files) {
+            update(digest, file.toString());
+            try (InputStream is = Files.newInputStream(file)) {
+                for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            digest.update((byte) 0);
+        }
+        for (String key : keys) {
+            update(digest, key);
+            update(digest, properties.getProperty(key));
+        }
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String str) {
+        digest.update(str.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Loads instructions from a cache file.
+     *
+     * @param file the cache file
+     * @param hash expected key of the plan
+     * @param transformers available transformers, by name
+     * @param paths trie to add globs of path selectors to
+     * @return instructions in application order, or {@code null} if the file does not exist, is
+     *     stale or cannot be read
+     */
+    static List<PlanOptimizer.Instruction> load(
+            Path file, byte[] hash, Map<String, Transformer> transformers, PathTrie paths) {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MMAP_THRESHOLD) {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {}
+                buf.flip();
+            }
+        } catch (NoSuchFileException e) {
+            Log.debug("plan cache {} does not exist", file);
+            return null;
+        } catch (IOException e) {
+            Log.debug("unable to read plan cache {}: {}", file, e);
+            return null;
+        }
+        try {
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                Log.debug("plan cache {} has unknown format", file);
+                return null;
+            }
+            byte[] stored = new byte[hash.length];
+            buf.get(stored);
+            if (!MessageDigest.isEqual(stored, hash)) {
+                Log.debug("plan cache {} is stale", file);
+                return null;
+            }
+            int count = buf.getInt();
+            List<PlanOptimizer.Instruction> instructions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String op = getString(buf);
+                String arg = getString(buf);
+                Map<String, ModelSelector> selectors = new LinkedHashMap<>();
+                for (int n = buf.getInt(); n > 0; n--) {
+                    String sel = getString(buf);
+                    selectors.put(sel, AttributeSelector.parse(sel, paths));
+                }
+                Set<Phase> phases = EnumSet.noneOf(Phase.class);
+                int mask = buf.get();
+                for (Phase phase : Phase.values()) {
+                    if ((mask & 1 << phase.ordinal()) != 0) {
+                        phases.add(phase);
+                    }
+                }
+                Transformer transformer = transformers.get(op);
+                if (transformer == null) {
+                    Log.debug("plan cache {} refers to unknown transformer {}", file, op);
+                    return null;
+                }
+                instructions.add(
+                        new PlanOptimizer.Instruction(
+                                op,
+                                arg,
+                                selectors,
+                                phases,
+                                transformer.produceTransformation(arg)));
+            }
+            Log.debug("loaded {} instructions from plan cache {}", count, file);
+            return instructions;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            Log.debug("plan cache {} is corrupt: {}", file, e);
+            return null;
+        }
+    }
+
+    private static String getString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0 || length > buf.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stores instructions in a cache file, replacing it atomically and creating its directory if
+     * needed. Failures are logged and otherwise ignored, as the cache is only an optimization.
+     *
+     * @param file the cache file
+     * @param hash key of the plan
+     * @param instructions instructions in application order
+     */
+    static void store(Path file, byte[] hash, List<PlanOptimizer.Instruction> instructions) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.write(hash);
+            dos.writeInt(instructions.size());
+            for (PlanOptimizer.Instruction instruction : instructions) {
+                putString(dos, instruction.op);
+                putString(dos, instruction.arg);
+                dos.writeInt(instruction.selectors.size());
+                for (String sel : instruction.selectors.keySet()) {
+                    putString(dos, sel);
+                }
+                int mask = 0;
+                for (Phase phase : instruction.phases) {
+                    mask |= 1 << phase.ordinal();
+                }
+                dos.writeByte(mask);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.write(tmp, bos.toByteArray());
+            try {
+                Files.move(
+                        tmp,
+                        file,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Log.debug("stored {} instructions in plan cache {}", instructions.size(), file);
+        } catch (IOException e) {
+            Log.info("Unable to write plan cache {}: {}", file, e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    private static void putString(DataOutputStream dos, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        dos.writeInt(bytes.length);
+        dos.write(bytes);
+    }
+}
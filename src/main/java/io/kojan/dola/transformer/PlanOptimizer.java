@@ -0,0 +1,479 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@code PlanOptimizer} simplifies a list of parsed instructions before they are compiled into a
+ * {@link TransformationPlan}, without changing the result of applying them to any model in any
+ * phase.
+ *
+ * <p>The optimizer only reasons about {@link SectionRemoval}s and {@link SectionAddition}s, whose
+ * effect is fully described by their section, pattern or element, selectors and phases. Other
+ * transformations may change model coordinates, and with them selection of later instructions, so
+ * instructions are never moved or eliminated across them. Any other {@link ListTransformation} may
+ * add or remove any element of its section, so instructions of that section are never moved or
+ * eliminated across it either. Within these boundaries, the optimizer:
+ *
+ * <ul>
+ *   <li>drops selectors covered by another selector of the same instruction,
+ *   <li>drops removals and additions that cannot have any effect, because an earlier instruction
+ *       with the same or broader pattern, selectors and phases already did the same work; this
+ *       includes exact duplicates,
+ *   <li>drops additions whose element is removed by a later removal in every model and phase the
+ *       addition applies to,
+ *   <li>merges instructions that differ only in selectors into one,
+ *   <li>groups instructions of the same section together and moves removals next to earlier
+ *       removals of the same section, so that {@link SectionStage} evaluates them with a single
+ *       automaton in one pass over the section.
+ * </ul>
+ *
+ * <p>Patterns are compared conservatively: a pattern covers another one only if each of its parts
+ * is equal to the other part, is {@code *}, or matches the other part which is a literal. Each
+ * instruction is compared with a bounded number of preceding instructions of the same section, so
+ * that optimization time grows linearly with the number of instructions.
+ */
+final class PlanOptimizer {
+
+    /** A parsed instruction, not yet wrapped in a {@link SelectiveTransformation}. */
+    static final class Instruction {
+        final String op;
+        final String arg;
+        final Map<String, ModelSelector> selectors;
+        final Set<Phase> phases;
+        final Transformation transformation;
+
+        /**
+         * Creates an instruction.
+         *
+         * @param op name of the transformer
+         * @param arg argument the transformation was produced from
+         * @param selectors modifiable map of selectors, by pattern; empty to select all models
+         * @param phases phases in which the instruction is applied
+         * @param transformation the transformation produced by the transformer
+         */
+        Instruction(
+                String op,
+                String arg,
+                Map<String, ModelSelector> selectors,
+                Set<Phase> phases,
+                Transformation transformation) {
+            this.op = op;
+            this.arg = arg;
+            this.selectors = selectors;
+            this.phases = phases;
+            this.transformation = transformation;
+        }
+
+        SelectiveTransformation toTransformation() {
+            return new SelectiveTransformation(
+                    selectors.values(), transformation, toString(), phases);
+        }
+
+        @Override
+        public String toString() {
+            return "op="
+                    + op
+                    + ", arg="
+                    + arg
+                    + ", sel="
+                    + String.join(",", selectors.keySet())
+                    + ", phases="
+                    + Phase.formatList(phases);
+        }
+    }
+
+    /**
+     * Maximum number of preceding instructions of the same section an instruction is compared with.
+     */
+    private static final int WINDOW = 64;
+
+    /** Everything that defines an instruction except its selectors. */
+    private record Identity(String op, String arg, Set<Phase> phases) {}
+
+    /** An instruction with properties used by the analysis computed upfront. */
+    private final class Entry {
+        final Instruction instruction;
+
+        /** Section of a list transformation, or {@code null} for other transformations. */
+        final ModelSection<?> section;
+
+        /** Parts of the pattern of a removal, or {@code null}. */
+        final GlobMatcher[] pattern;
+
+        /** Key parts of the element of an addition, or {@code null}. */
+        final String[] keys;
+
+        /**
+         * Whether this is a list transformation that is neither a removal nor an addition, and so
+         * may change any element of its section.
+         */
+        final boolean opaque;
+
+        /** Instructions with equal identity differ at most in selectors. */
+        final Identity identity;
+
+        /** Whether the instruction was cancelled by a later one. */
+        boolean removed;
+
+        Entry(Instruction instruction) {
+            this.instruction = instruction;
+            Transformation transformation = instruction.transformation;
+            section =
+                    transformation instanceof ListTransformation<?> list ? list.getSection() : null;
+            pattern =
+                    transformation instanceof SectionRemoval<?> removal
+                            ? parts(removal.getPattern())
+                            : null;
+            keys = transformation instanceof SectionAddition<?> addition ? keys(addition) : null;
+            opaque = section != null && pattern == null && keys == null;
+            identity = new Identity(instruction.op, instruction.arg, instruction.phases);
+        }
+    }
+
+    /** Compiled pattern parts, by pattern. */
+    private final Map<String, GlobMatcher[]> patterns = new HashMap<>();
+
+    /** All entries in application order, including cancelled ones. */
+    private final List<Entry> result = new ArrayList<>();
+
+    /** Entries since the last opaque transformation, by section. */
+    private final Map<ModelSection<?>, List<Entry>> segment = new HashMap<>();
+
+    /** Last entry since the last opaque transformation, by identity. */
+    private final Map<Identity, Entry> identities = new HashMap<>();
+
+    private int selectors;
+    private int duplicate;
+    private int dead;
+    private int cancelled;
+    private int merged;
+    private int reordered;
+
+    private PlanOptimizer() {}
+
+    /**
+     * Optimizes a list of instructions.
+     *
+     * @param instructions instructions in application order; their selectors may be modified
+     * @return a new list of instructions with the same effect, in application order
+     */
+    static List<Instruction> optimize(List<Instruction> instructions) {
+        PlanOptimizer optimizer = new PlanOptimizer();
+        for (Instruction instruction : instructions) {
+            optimizer.add(instruction);
+        }
+        List<Instruction> optimized = optimizer.reorder();
+        Log.debug(
+                "optimized {} instructions to {}: {} duplicate, {} dead, {} cancelled, {} merged,"
+                        + " {} selectors dropped, {} reordered",
+                instructions.size(),
+                optimized.size(),
+                optimizer.duplicate,
+                optimizer.dead,
+                optimizer.cancelled,
+                optimizer.merged,
+                optimizer.selectors,
+                optimizer.reordered);
+        return optimized;
+    }
+
+    private void add(Instruction instruction) {
+        simplifySelectors(instruction);
+        Entry entry = new Entry(instruction);
+        if (entry.section == null) {
+            segment.clear();
+            identities.clear();
+            result.add(entry);
+        } else if (!eliminate(entry)) {
+            result.add(entry);
+            segment.computeIfAbsent(entry.section, section -> new ArrayList<>()).add(entry);
+            identities.put(entry.identity, entry);
+        }
+    }
+
+    /** Drops selectors covered by other selectors of the same instruction. */
+    private void simplifySelectors(Instruction instruction) {
+        if (instruction.selectors.size() < 2) {
+            return;
+        }
+        Iterator<ModelSelector> it = instruction.selectors.values().iterator();
+        while (it.hasNext()) {
+            ModelSelector pattern = it.next();
+            for (ModelSelector other : instruction.selectors.values()) {
+                if (other != pattern && covers(other, pattern)) {
+                    Log.debug(
+                            "  dropped selector {} covered by {} in {}",
+                            pattern.getPattern(),
+                            other.getPattern(),
+                            instruction);
+                    it.remove();
+                    selectors++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks entry {@code j} against preceding entries of the same section, going backwards to the
+     * nearest opaque transformation. Marks additions cancelled by {@code j} as removed.
+     *
+     * @return {@code true} if {@code j} is redundant and must not be added to the result
+     */
+    private boolean eliminate(Entry j) {
+        List<Entry> same = segment.get(j.section);
+        if (same == null) {
+            return false;
+        }
+        // All entries between i and j commute with j, so j could be moved right after i
+        boolean movable = true;
+        // Some entry between i and j may remove the element added by j
+        boolean keyRemoved = false;
+        // Preceding entry that j could be merged into
+        Entry identical = j.pattern != null || j.keys != null ? identities.get(j.identity) : null;
+        int scanned = 0;
+        for (int k = same.size() - 1; k >= 0 && scanned < WINDOW; k--) {
+            Entry i = same.get(k);
+            if (i.removed) {
+                continue;
+            }
+            if (i.opaque) {
+                break;
+            }
+            scanned++;
+            if (j.pattern != null
+                    && i.keys != null
+                    && matches(j.pattern, i.keys)
+                    && covers(j.instruction.selectors, i.instruction.selectors)
+                    && j.instruction.phases.containsAll(i.instruction.phases)) {
+                Log.debug("  cancelled {} by {}", i.instruction, j.instruction);
+                i.removed = true;
+                cancelled++;
+                continue;
+            }
+            if (j.pattern != null
+                    && i.pattern != null
+                    && movable
+                    && covers(i.pattern, j.pattern)
+                    && covers(i.instruction.selectors, j.instruction.selectors)
+                    && i.instruction.phases.containsAll(j.instruction.phases)) {
+                return redundant(i, j);
+            }
+            if (j.keys != null
+                    && i.keys != null
+                    && !keyRemoved
+                    && Arrays.equals(i.keys, j.keys)
+                    && covers(i.instruction.selectors, j.instruction.selectors)
+                    && i.instruction.phases.containsAll(j.instruction.phases)) {
+                return redundant(i, j);
+            }
+            if (j.keys != null && i.pattern != null && matches(i.pattern, j.keys)) {
+                keyRemoved = true;
+            }
+            if (i == identical && movable) {
+                Log.debug("  merged {} into {}", j.instruction, i.instruction);
+                Map<String, ModelSelector> target = i.instruction.selectors;
+                if (j.instruction.selectors.isEmpty()) {
+                    target.clear();
+                } else if (!target.isEmpty()) {
+                    target.putAll(j.instruction.selectors);
+                    simplifySelectors(i.instruction);
+                }
+                merged++;
+                return true;
+            }
+            movable &= commute(i, j);
+        }
+        return false;
+    }
+
+    private boolean redundant(Entry i, Entry j) {
+        if (i.instruction.toString().equals(j.instruction.toString())) {
+            Log.debug("  eliminated duplicate {}", j.instruction);
+            duplicate++;
+        } else {
+            Log.debug("  eliminated {} made redundant by {}", j.instruction, i.instruction);
+            dead++;
+        }
+        return true;
+    }
+
+    /**
+     * Groups entries between opaque transformations by section, in order of first appearance, and
+     * moves removals next to preceding removals of the same section.
+     *
+     * @return instructions in application order
+     */
+    private List<Instruction> reorder() {
+        List<Instruction> original = new ArrayList<>(result.size());
+        List<Instruction> ordered = new ArrayList<>(result.size());
+        Map<ModelSection<?>, List<Entry>> groups = new LinkedHashMap<>();
+        for (int n = 0; n <= result.size(); n++) {
+            Entry entry = n < result.size() ? result.get(n) : null;
+            if (entry != null && entry.removed) {
+                continue;
+            }
+            if (entry == null || entry.section == null) {
+                for (List<Entry> group : groups.values()) {
+                    for (Entry e : group) {
+                        ordered.add(e.instruction);
+                    }
+                }
+                groups.clear();
+                if (entry != null) {
+                    original.add(entry.instruction);
+                    ordered.add(entry.instruction);
+                }
+                continue;
+            }
+            original.add(entry.instruction);
+            List<Entry> group = groups.computeIfAbsent(entry.section, s -> new ArrayList<>());
+            int target = group.size();
+            if (entry.pattern != null) {
+                int k = group.size() - 1;
+                while (k >= 0
+                        && group.get(k).pattern == null
+                        && target - k <= WINDOW
+                        && commute(group.get(k), entry)) {
+                    k--;
+                }
+                if (k < 0 || group.get(k).pattern != null) {
+                    target = k + 1;
+                }
+            }
+            group.add(target, entry);
+        }
+        for (int n = 0; n < ordered.size(); n++) {
+            if (ordered.get(n) != original.get(n)) {
+                reordered++;
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Tests whether applying two entries of the same section in either order gives the same result.
+     */
+    private static boolean commute(Entry a, Entry b) {
+        if (a.pattern != null && b.pattern != null) {
+            return true;
+        }
+        if (a.pattern != null && b.keys != null) {
+            return !matches(a.pattern, b.keys);
+        }
+        if (a.keys != null && b.pattern != null) {
+            return !matches(b.pattern, a.keys);
+        }
+        return false;
+    }
+
+    /** Tests whether a removal pattern matches key parts of an added element. */
+    private static boolean matches(GlobMatcher[] pattern, String[] keys) {
+        if (pattern.length != keys.length) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!pattern[i].matches(keys[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> String[] keys(SectionAddition<T> addition) {
+        ModelSection<T> section = addition.getSection();
+        T element = addition.getElement();
+        String first = Objects.toString(section.firstKey(element), "");
+        if (section.getArity() == 1) {
+            return new String[] {first};
+        }
+        return new String[] {first, Objects.toString(section.secondKey(element), "")};
+    }
+
+    private GlobMatcher[] parts(String pattern) {
+        GlobMatcher[] parts = patterns.get(pattern);
+        if (parts == null) {
+            String[] strings = pattern.split(":", -1);
+            parts = new GlobMatcher[strings.length];
+            for (int i = 0; i < strings.length; i++) {
+                parts[i] = GlobMatcher.of(strings[i]);
+            }
+            patterns.put(pattern, parts);
+        }
+        return parts;
+    }
+
+    /** Tests whether selectors {@code a} select every model selected by {@code b}. */
+    private boolean covers(Map<String, ModelSelector> a, Map<String, ModelSelector> b) {
+        if (a.isEmpty()) {
+            return true;
+        }
+        if (b.isEmpty()) {
+            // Even *:* does not select models with inherited (null) coordinates
+            return false;
+        }
+        for (ModelSelector sb : b.values()) {
+            boolean covered = false;
+            for (ModelSelector sa : a.values()) {
+                if (covers(sa, sb)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether selector {@code a} selects every model selected by {@code b}, that is whether
+     * {@code a} has no coordinates or they cover those of {@code b}, and {@code b} has all
+     * conditions of {@code a}.
+     */
+    private boolean covers(ModelSelector a, ModelSelector b) {
+        GidAidMatcher ca = a.getCoordinates();
+        GidAidMatcher cb = b.getCoordinates();
+        return (ca == null || cb != null && covers(parts(ca.getPattern()), parts(cb.getPattern())))
+                && b.getConditions().containsAll(a.getConditions());
+    }
+
+    /** Tests whether pattern {@code a} matches everything pattern {@code b} matches. */
+    private static boolean covers(GlobMatcher[] a, GlobMatcher[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            String ga = a[i].getGlob();
+            String gb = b[i].getGlob();
+            if (!ga.equals(gb) && !ga.equals("*") && !(b[i].isLiteral() && a[i].matches(gb))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
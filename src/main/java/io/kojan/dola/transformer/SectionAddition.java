@@ -0,0 +1,35 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+/**
+ * A {@link ListTransformation} that appends a single element to a {@link ModelSection}, unless the
+ * section already contains an element with the same key.
+ *
+ * <p>Additions are idempotent. An addition commutes with a {@link SectionRemoval} whose pattern
+ * does not match the key of the added element.
+ *
+ * @param <T> type of section elements
+ */
+public interface SectionAddition<T> extends ListTransformation<T> {
+
+    /**
+     * Returns the element added by this transformation.
+     *
+     * @return the added element
+     */
+    T getElement();
+}
@@ -0,0 +1,269 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import io.kojan.dola.transformer.ModelWalker.Container;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Profile;
+
+/**
+ * Tests elements of large model sections in parallel.
+ *
+ * <p>Effective models may carry thousands of managed dependencies imported from BOMs. Once a
+ * section has at least {@code dola.transformer.parallelThreshold} elements (2048 by default; 0
+ * disables parallel testing), transformations that filter it test its elements using a fork/join
+ * pool and then process the results sequentially, in list order, on the calling thread. Logging,
+ * metrics and the order of remaining elements are therefore the same as with sequential filtering.
+ *
+ * <p>Elements are tested by a dedicated pool of daemon threads rather than the common pool, which
+ * Maven and its plugins may use themselves. The pool is created on first use and its parallelism is
+ * limited by {@code dola.transformer.parallelism}, half the number of available processors by
+ * default, so that Maven's own build threads are not starved. With parallelism of 1, sections are
+ * always tested sequentially.
+ *
+ * <p>Small sections are tested by the caller. Callers on paths that must not allocate check {@link
+ * #isParallel(List)} before creating a predicate for {@link #test(List, Predicate)}.
+ *
+ * <p>Removal transformations use {@link #removeIf(List, Predicate, String, Model)}, which also logs
+ * removed elements and counts them in {@link TransformationMetrics} of the current transformation.
+ * It does not allocate unless an element is removed or the section is tested in parallel, provided
+ * that the predicate is created once by the transformation rather than on every call.
+ */
+public final class SectionFilter {
+
+    /** Filter configured by system properties. */
+    static final SectionFilter DEFAULT =
+            new SectionFilter(
+                    Integer.getInteger("dola.transformer.parallelThreshold", 2048),
+                    Integer.getInteger(
+                            "dola.transformer.parallelism",
+                            Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+
+    /** Smallest number of elements tested by a single task. */
+    private static final int MIN_CHUNK = 256;
+
+    /** Processes a contiguous range of indexes, splitting it while it is large. */
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient IntConsumer action;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        Chunk(IntConsumer action, int from, int to, int chunk) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunk(action, from, mid, chunk), new Chunk(action, mid, to, chunk));
+            }
+        }
+    }
+
+    private final int threshold;
+    private final int parallelism;
+    private volatile ForkJoinPool pool;
+
+    /**
+     * Creates a filter.
+     *
+     * @param threshold minimal number of elements tested in parallel; 0 to always test sequentially
+     * @param parallelism number of threads testing elements
+     */
+    SectionFilter(int threshold, int parallelism) {
+        this.threshold = threshold;
+        this.parallelism = parallelism;
+    }
+
+    private ForkJoinPool pool() {
+        ForkJoinPool result = pool;
+        if (result == null) {
+            synchronized (this) {
+                result = pool;
+                if (result == null) {
+                    pool =
+                            result =
+                                    new ForkJoinPool(
+                                            parallelism,
+                                            p -> {
+                                                ForkJoinWorkerThread thread =
+                                                        new ForkJoinWorkerThread(p) {};
+                                                thread.setName(
+                                                        "dola-filter-" + thread.getPoolIndex());
+                                                return thread;
+                                            },
+                                            null,
+                                            false);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tests whether a list is large enough to be processed in parallel.
+     *
+     * @param size number of elements
+     * @return {@code true} if elements are processed in parallel
+     */
+    boolean parallel(int size) {
+        return threshold > 0 && size >= threshold && parallelism > 1;
+    }
+
+    private void forEach(int size, IntConsumer action) {
+        int chunk = Math.max(MIN_CHUNK, size / (parallelism * 4));
+        pool().invoke(new Chunk(action, 0, size, chunk));
+    }
+
+    /**
+     * Applies a function to all elements of a large list in parallel.
+     *
+     * @param elements the elements
+     * @param function the function, safe for use by multiple threads
+     * @return function results, by element index, or {@code null} if the list is too small to be
+     *     processed in parallel, in which case the caller is expected to apply the function itself
+     */
+    <T> int[] evaluate(List<T> elements, ToIntFunction<? super T> function) {
+        int size = elements.size();
+        if (!parallel(size)) {
+            return null;
+        }
+        int[] results = new int[size];
+        forEach(size, i -> results[i] = function.applyAsInt(elements.get(i)));
+        return results;
+    }
+
+    /**
+     * Tests all elements of a large list in parallel.
+     *
+     * @param elements the elements
+     * @param predicate the predicate, safe for use by multiple threads
+     * @return test results, by element index, or {@code null} if the list is too small to be
+     *     processed in parallel, in which case the caller is expected to test elements itself
+     */
+    <T> boolean[] testAll(List<T> elements, Predicate<? super T> predicate) {
+        int size = elements.size();
+        if (!parallel(size)) {
+            return null;
+        }
+        boolean[] results = new boolean[size];
+        forEach(size, i -> results[i] = predicate.test(elements.get(i)));
+        return results;
+    }
+
+    /**
+     * Tests whether elements of a section are tested in parallel by {@link #test(List, Predicate)}.
+     *
+     * @param elements section elements
+     * @return {@code true} if the section is large enough to be tested in parallel
+     */
+    public static boolean isParallel(List<?> elements) {
+        return DEFAULT.parallel(elements.size());
+    }
+
+    /**
+     * Tests all elements of a section in parallel, if the section is large enough.
+     *
+     * @param <T> type of elements
+     * @param elements section elements
+     * @param predicate the predicate, safe for use by multiple threads
+     * @return test results, by element index, or {@code null} if the section is too small to be
+     *     tested in parallel, in which case the caller is expected to test elements itself
+     */
+    public static <T> boolean[] test(List<T> elements, Predicate<? super T> predicate) {
+        return DEFAULT.testAll(elements, predicate);
+    }
+
+    /**
+     * Removes elements of a model section that match a predicate.
+     *
+     * @param <T> type of elements
+     * @param elements section elements; not modified
+     * @param predicate selects elements to remove, safe for use by multiple threads
+     * @param name name of the element type, used in log messages
+     * @param model the model elements belong to, used in log messages
+     * @return a new modifiable list of remaining elements, or {@code elements} itself if nothing
+     *     matched
+     */
+    public static <T> List<T> removeIf(
+            List<T> elements, Predicate<? super T> predicate, String name, Model model) {
+        return removeIf(elements, predicate, name, model, null, null);
+    }
+
+    /**
+     * Removes elements of a model container that match a predicate.
+     *
+     * @param <T> type of elements
+     * @param elements container elements; not modified
+     * @param predicate selects elements to remove, safe for use by multiple threads
+     * @param name name of the element type, used in log messages
+     * @param model the model elements belong to, used in log messages
+     * @param profile the profile elements belong to, or {@code null}
+     * @param container the container elements belong to, used in log messages
+     * @return a new modifiable list of remaining elements, or {@code elements} itself if nothing
+     *     matched
+     */
+    public static <T> List<T> removeIf(
+            List<T> elements,
+            Predicate<? super T> predicate,
+            String name,
+            Model model,
+            Profile profile,
+            Container container) {
+        boolean[] hits = test(elements, predicate);
+        List<T> result = null;
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            if (hits != null ? hits[i] : predicate.test(element)) {
+                if (result == null) {
+                    result = new ArrayList<>(elements.subList(0, i));
+                }
+                if (container != null) {
+                    Log.info(
+                            "Removed {} {} from {} of {}",
+                            name,
+                            element,
+                            container.describe(profile),
+                            model);
+                } else {
+                    Log.info("Removed {} {} from {}", name, element, model);
+                }
+                TransformationMetrics.elementsChanged(1);
+            } else if (result != null) {
+                result.add(element);
+            }
+        }
+        return result != null ? result : elements;
+    }
+}
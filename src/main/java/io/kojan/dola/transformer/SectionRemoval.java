@@ -0,0 +1,36 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+/**
+ * A {@link ListTransformation} that removes all elements matching a glob pattern from a single
+ * {@link ModelSection}.
+ *
+ * <p>Removals are idempotent and commute with each other, which allows several of them to be
+ * combined and evaluated together in a single pass over the section.
+ *
+ * @param <T> type of section elements
+ */
+public interface SectionRemoval<T> extends ListTransformation<T> {
+
+    /**
+     * Returns the glob pattern selecting elements to remove, with parts separated by colons, as
+     * accepted by {@link GlobAutomaton}.
+     *
+     * @return element pattern
+     */
+    String getPattern();
+}
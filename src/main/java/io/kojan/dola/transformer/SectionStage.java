@@ -0,0 +1,363 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@code SectionStage} fuses a run of adjacent {@link ListTransformation}s of a {@link
+ * TransformationPlan} into a single step.
+ *
+ * <p>Transformations are grouped by the {@link ModelSection} they operate on. For each section, the
+ * element list is taken from a {@link ModelEditor} once, passed through all transformations of the
+ * group in plan order, and set in the editor once at the end. Transformations of different sections
+ * are independent of each other, so grouping them does not change the result.
+ *
+ * <p>Consecutive {@link SectionRemoval}s within a group have their element patterns compiled into a
+ * single {@link GlobAutomaton}, so that they are evaluated together in one pass over the list. An
+ * element is removed if it is hit by any removal selected for the model. Once the stage holds its
+ * own copy of the list, removals filter it in place. Elements of large sections are matched in
+ * parallel by {@link SectionFilter}.
+ */
+class SectionStage {
+
+    /** A step of a section group: either a run of removals or a single list transformation. */
+    private abstract static class Step<T> {
+        final BitSet members = new BitSet();
+
+        /** Returns transformed elements; {@code owned} lists may be modified in place. */
+        abstract List<T> apply(
+                ModelView view,
+                List<T> elements,
+                boolean owned,
+                BitSet selected,
+                TransformationMetrics[] metrics);
+    }
+
+    /** Consecutive removals, evaluated by a single automaton. */
+    private static class RemovalStep<T> extends Step<T> {
+        final ModelSection<T> section;
+        final List<String> patterns = new ArrayList<>();
+        final List<Integer> positions = new ArrayList<>();
+        GlobAutomaton automaton;
+        int[] ids;
+
+        RemovalStep(ModelSection<T> section) {
+            this.section = section;
+        }
+
+        void add(int position, SectionRemoval<T> removal) {
+            patterns.add(removal.getPattern());
+            positions.add(position);
+            members.set(position);
+        }
+
+        void compile() {
+            automaton = new GlobAutomaton(patterns, section.getArity());
+            ids = positions.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        List<T> apply(
+                ModelView view,
+                List<T> elements,
+                boolean owned,
+                BitSet selected,
+                TransformationMetrics[] metrics) {
+            Model model = view.getModel();
+            boolean timed = metrics[ids[0]].isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            List<T> result = owned ? elements : null;
+            int[] removed = null;
+            int kept = 0;
+            int[] hits =
+                    SectionFilter.DEFAULT.parallel(elements.size())
+                            ? SectionFilter.DEFAULT.evaluate(
+                                    elements, element -> hit(element, selected))
+                            : null;
+            for (int i = 0; i < elements.size(); i++) {
+                T element = elements.get(i);
+                int hit = hits != null ? hits[i] : hit(element, selected);
+                if (hit >= 0) {
+                    if (result == null) {
+                        result = new ArrayList<>(elements.subList(0, i));
+                        kept = i;
+                    }
+                    if (removed == null) {
+                        removed = new int[ids.length];
+                    }
+                    removed[hit]++;
+                    // Attribute the change to the removal that matched, not to the whole stage
+                    TransformationMetrics previous = metrics[ids[hit]].enter();
+                    try {
+                        Log.info("Removed {} {} from {}", section.getName(), element, model);
+                    } finally {
+                        TransformationMetrics.exit(previous);
+                    }
+                } else if (result == elements) {
+                    elements.set(kept++, element);
+                } else if (result != null) {
+                    result.add(element);
+                    kept++;
+                }
+            }
+            if (result == elements) {
+                elements.subList(kept, elements.size()).clear();
+            }
+            if (timed) {
+                record(selected, metrics, removed, System.nanoTime() - start);
+            }
+            return result == null ? elements : result;
+        }
+
+        /**
+         * Returns index of the first selected removal matching the element, which is the one that
+         * removes it when removals are applied in sequence, or {@code -1} if there is none.
+         */
+        private int hit(T element, BitSet selected) {
+            int[] matched = section.match(automaton, element);
+            for (int i = 0; i < matched.length; i++) {
+                if (selected.get(ids[matched[i]])) {
+                    return matched[i];
+                }
+            }
+            return -1;
+        }
+
+        /** Records metrics of selected removals, sharing elapsed time equally among them. */
+        private void record(
+                BitSet selected, TransformationMetrics[] metrics, int[] removed, long time) {
+            int count = 0;
+            for (int k = 0; k < ids.length; k++) {
+                if (selected.get(ids[k])) {
+                    count++;
+                }
+            }
+            for (int k = 0; k < ids.length; k++) {
+                if (selected.get(ids[k])) {
+                    TransformationMetrics m = metrics[ids[k]];
+                    int n = removed != null ? removed[k] : 0;
+                    m.elementsChangedBy(n);
+                    m.applied(n > 0, time / count);
+                }
+            }
+        }
+    }
+
+    /** A single list transformation. */
+    private static class TransformationStep<T> extends Step<T> {
+        final int position;
+        final ListTransformation<T> transformation;
+
+        TransformationStep(int position, ListTransformation<T> transformation) {
+            this.position = position;
+            this.transformation = transformation;
+            members.set(position);
+        }
+
+        @Override
+        List<T> apply(
+                ModelView view,
+                List<T> elements,
+                boolean owned,
+                BitSet selected,
+                TransformationMetrics[] metrics) {
+            TransformationMetrics m = metrics[position];
+            boolean timed = m.isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            TransformationMetrics previous = m.enter();
+            try {
+                List<T> result =
+                        owned
+                                ? transformation.transform(view.getModel(), elements)
+                                : transformation.transform(view, elements);
+                if (timed) {
+                    m.applied(result != elements, System.nanoTime() - start);
+                }
+                return result;
+            } finally {
+                TransformationMetrics.exit(previous);
+            }
+        }
+    }
+
+    /** Transformations of a single section, in plan order. */
+    private static class Group<T> {
+        final ModelSection<T> section;
+        final List<Step<T>> steps = new ArrayList<>();
+        final BitSet members = new BitSet();
+
+        Group(ModelSection<T> section) {
+            this.section = section;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(int position, ListTransformation<?> transformation) {
+            members.set(position);
+            if (transformation instanceof SectionRemoval<?> removal) {
+                RemovalStep<T> step;
+                if (!steps.isEmpty()
+                        && steps.get(steps.size() - 1) instanceof RemovalStep<T> last) {
+                    step = last;
+                } else {
+                    step = new RemovalStep<>(section);
+                    steps.add(step);
+                }
+                step.add(position, (SectionRemoval<T>) removal);
+            } else {
+                steps.add(
+                        new TransformationStep<>(position, (ListTransformation<T>) transformation));
+            }
+        }
+
+        void compile() {
+            for (Step<T> step : steps) {
+                if (step instanceof RemovalStep<T> removals) {
+                    removals.compile();
+                }
+            }
+        }
+
+        boolean apply(ModelEditor editor, BitSet selected, TransformationMetrics[] metrics) {
+            if (!members.intersects(selected)) {
+                return false;
+            }
+            ModelView view = editor.getView();
+            List<T> original = editor.get(section);
+            List<T> elements = original;
+            for (int i = 0; i < steps.size(); i++) {
+                Step<T> step = steps.get(i);
+                if (step.members.intersects(selected)) {
+                    elements = step.apply(view, elements, elements != original, selected, metrics);
+                }
+            }
+            if (elements == original) {
+                return false;
+            }
+            editor.set(section, elements);
+            return true;
+        }
+    }
+
+    /** Plan position of the first transformation in this stage. */
+    private final int start;
+
+    /** Plan position following the last transformation in this stage. */
+    private final int end;
+
+    /** Groups of transformations, by section. */
+    private final List<Group<?>> groups;
+
+    /** Metrics of all plan transformations, by position. */
+    private final TransformationMetrics[] metrics;
+
+    /**
+     * Builds a stage for list transformations at plan positions from {@code start} (inclusive) to
+     * {@code end} (exclusive).
+     *
+     * @param transformations all plan transformations, unwrapped from selectors
+     * @param metrics metrics of all plan transformations, by position
+     * @param start position of the first list transformation
+     * @param end position following the last list transformation
+     */
+    SectionStage(
+            List<Transformation> transformations,
+            TransformationMetrics[] metrics,
+            int start,
+            int end) {
+        this.metrics = metrics;
+        this.start = start;
+        this.end = end;
+        Map<ModelSection<?>, Group<?>> bySection = new LinkedHashMap<>();
+        for (int i = start; i < end; i++) {
+            ListTransformation<?> transformation = (ListTransformation<?>) transformations.get(i);
+            bySection
+                    .computeIfAbsent(transformation.getSection(), Group::new)
+                    .add(i, transformation);
+        }
+        groups = List.copyOf(bySection.values());
+        groups.forEach(Group::compile);
+    }
+
+    /**
+     * Returns plan position of the first transformation in this stage.
+     *
+     * @return start position
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns plan position following the last transformation in this stage.
+     *
+     * @return end position
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Applies transformations of this stage that are selected for the model.
+     *
+     * @param model the model to transform
+     * @param selected plan positions of transformations selected for the model
+     * @return the transformed model, or the same instance if nothing was changed
+     */
+    Model transform(Model model, BitSet selected) {
+        ModelEditor editor = new ModelEditor(model);
+        transform(editor, selected, null);
+        Model newModel = editor.build();
+        if (newModel != model) {
+            Log.diff(model, newModel);
+        }
+        return newModel;
+    }
+
+    /**
+     * Records transformations of this stage that are selected for the model in an editor. Each
+     * changed section is set in the editor once.
+     *
+     * @param editor editor of the model to transform
+     * @param selected plan positions of transformations selected for the model
+     * @param changed if not {@code null}, plan positions of selected transformations of changed
+     *     sections are set in it
+     * @return {@code true} if any section was changed
+     */
+    boolean transform(ModelEditor editor, BitSet selected, BitSet changed) {
+        boolean modified = false;
+        for (int i = 0; i < groups.size(); i++) {
+            Group<?> group = groups.get(i);
+            if (group.apply(editor, selected, metrics)) {
+                modified = true;
+                if (changed != null) {
+                    BitSet members = group.members;
+                    for (int j = members.nextSetBit(0); j >= 0; j = members.nextSetBit(j + 1)) {
+                        if (selected.get(j)) {
+                            changed.set(j);
+                        }
+                    }
+                }
+            }
+        }
+        return modified;
+    }
+}
@@ -16,23 +16,34 @@
 package io.kojan.dola.transformer;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.maven.api.model.Model;
 
 /**
  * A {@code SelectiveTransformation} applies a given {@link Transformation} only to {@link Model}
- * instances that match one or more specified {@link GidAidMatcher} selectors.
+ * instances that match one or more specified {@link ModelSelector}s.
  *
- * <p>If no selectors match the model's groupId and artifactId, the original model is returned
- * unchanged. If the list of selectors is empty, the transformation is always applied.
+ * <p>If no selectors match the model, the original model is returned unchanged. If the list of
+ * selectors is empty, the transformation is always applied. Selectors are tested in order of
+ * increasing cost, those that test coordinates only first.
  *
  * <p>This class is useful for conditionally applying transformations in a Maven model processing
  * pipeline.
  */
 public class SelectiveTransformation implements Transformation {
 
-    /** List of GID:AID matchers used to decide whether to apply the transformation. */
-    private final List<GidAidMatcher> selectors;
+    /** List of selectors used to decide whether to apply the transformation. */
+    private final List<ModelSelector> selectors;
+
+    /** The same selectors, in order of increasing cost of testing them. */
+    private final ModelSelector[] ordered;
+
+    /** Whether any selector has conditions beyond coordinates. */
+    private final boolean conditional;
 
     /** The actual transformation to delegate to if selection criteria are met. */
     private final Transformation transformation;
@@ -40,19 +51,137 @@ public class SelectiveTransformation implements Transformation {
     /** A human-readable description used in {@link #toString()}. */
     private final String desc;
 
+    /** Model building phases in which the transformation is applied. */
+    private final Set<Phase> phases;
+
+    /** Runtime counters of this transformation. */
+    private final TransformationMetrics metrics = new TransformationMetrics();
+
     /**
      * Constructs a {@code SelectiveTransformation}.
      *
-     * @param selectors a list of {@link GidAidMatcher} selectors to determine if the transformation
-     *     should apply
+     * @param selectors a list of {@link ModelSelector}s to determine if the transformation should
+     *     apply
+     * @param transformation the transformation to apply if a selector matches
+     * @param desc a textual description of this transformation, used in {@link #toString()}
+     */
+    public SelectiveTransformation(
+            Collection<? extends ModelSelector> selectors,
+            Transformation transformation,
+            String desc) {
+        this(selectors, transformation, desc, EnumSet.allOf(Phase.class));
+    }
+
+    /**
+     * Constructs a {@code SelectiveTransformation} applied only in some model building phases.
+     *
+     * @param selectors a list of {@link ModelSelector}s to determine if the transformation should
+     *     apply
      * @param transformation the transformation to apply if a selector matches
      * @param desc a textual description of this transformation, used in {@link #toString()}
+     * @param phases phases in which the transformation is applied
      */
     public SelectiveTransformation(
-            Collection<GidAidMatcher> selectors, Transformation transformation, String desc) {
+            Collection<? extends ModelSelector> selectors,
+            Transformation transformation,
+            String desc,
+            Set<Phase> phases) {
         this.selectors = List.copyOf(selectors);
+        this.ordered =
+                this.selectors.stream()
+                        .sorted(Comparator.comparingInt(SelectiveTransformation::cost))
+                        .toArray(ModelSelector[]::new);
+        this.conditional =
+                this.selectors.stream().anyMatch(selector -> !selector.getConditions().isEmpty());
         this.transformation = transformation;
         this.desc = desc;
+        this.phases = Collections.unmodifiableSet(EnumSet.copyOf(phases));
+    }
+
+    /**
+     * Returns model building phases in which the transformation is applied.
+     *
+     * @return an unmodifiable set of phases
+     */
+    public Set<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Returns the selectors that decide whether the transformation applies.
+     *
+     * @return an unmodifiable list of selectors; empty if the transformation always applies
+     */
+    public List<ModelSelector> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Tests whether any selector has conditions beyond coordinates, so that {@link #selects(String,
+     * String)} is not conclusive.
+     *
+     * @return {@code true} if models must be tested with {@link #selects(Model)}
+     */
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    private static int cost(ModelSelector selector) {
+        return selector instanceof AttributeSelector attributes
+                ? AttributeSelector.COORDINATES_COST + attributes.getCost()
+                : AttributeSelector.COORDINATES_COST;
+    }
+
+    /**
+     * Returns the transformation that is applied when selection criteria are met.
+     *
+     * @return the delegate transformation
+     */
+    public Transformation getTransformation() {
+        return transformation;
+    }
+
+    /**
+     * Returns runtime counters of this transformation.
+     *
+     * @return the metrics
+     */
+    public TransformationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Tests whether the given coordinates match coordinates of any selector. Unless the
+     * transformation is {@linkplain #isConditional() conditional}, this is the same as testing
+     * whether the model is selected.
+     *
+     * @param gid the model group ID
+     * @param aid the model artifact ID
+     * @return {@code true} if selectors are empty or coordinates of any of them match
+     */
+    public boolean selects(String gid, String aid) {
+        for (int i = 0; i < ordered.length; i++) {
+            GidAidMatcher coordinates = ordered[i].getCoordinates();
+            if (coordinates == null || coordinates.matches(gid, aid)) {
+                return true;
+            }
+        }
+        return selectors.isEmpty();
+    }
+
+    /**
+     * Tests whether the given model is selected by this transformation.
+     *
+     * @param model the model
+     * @return {@code true} if selectors are empty or any of them matches
+     */
+    public boolean selects(Model model) {
+        for (int i = 0; i < ordered.length; i++) {
+            if (ordered[i].matches(model)) {
+                return true;
+            }
+        }
+        return selectors.isEmpty();
     }
 
     /**
@@ -65,15 +194,23 @@ public class SelectiveTransformation implements Transformation {
      */
     @Override
     public Model transform(Model model) {
-        for (GidAidMatcher selector : selectors) {
-            if (selector.matches(model.getGroupId(), model.getArtifactId())) {
-                return transformation.transform(model);
+        metrics.invoked();
+        return selects(model) ? apply(model) : model;
+    }
+
+    private Model apply(Model model) {
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        TransformationMetrics previous = metrics.enter();
+        try {
+            Model newModel = transformation.transform(model);
+            if (timed) {
+                metrics.applied(newModel != model, System.nanoTime() - start);
             }
+            return newModel;
+        } finally {
+            TransformationMetrics.exit(previous);
         }
-        if (selectors.isEmpty()) {
-            return transformation.transform(model);
-        }
-        return model;
     }
 
     @Override
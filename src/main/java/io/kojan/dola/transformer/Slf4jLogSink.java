@@ -0,0 +1,66 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.NOPLoggerFactory;
+
+/**
+ * A {@link LogSink} that forwards messages to SLF4J, which Maven uses for its own logging.
+ *
+ * <p>Messages are passed on immediately, as the logger does its own buffering and serialization.
+ * They carry the same prefixes as messages written to standard error.
+ */
+class Slf4jLogSink implements LogSink {
+
+    private final Logger logger;
+    private final boolean debugAsInfo;
+
+    /**
+     * Creates a sink logging to SLF4J.
+     *
+     * @param debugAsInfo whether debug messages should be logged at info level, so that they are
+     *     visible without enabling Maven debug output
+     * @throws IllegalStateException if no SLF4J provider is available
+     */
+    Slf4jLogSink(boolean debugAsInfo) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (factory instanceof NOPLoggerFactory) {
+            throw new IllegalStateException("No SLF4J provider available");
+        }
+        this.logger = factory.getLogger(Log.class.getPackageName());
+        this.debugAsInfo = debugAsInfo;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    @Override
+    public void write(Log.Level level, String message) {
+        if (level == Log.Level.INFO || debugAsInfo) {
+            logger.info((level == Log.Level.INFO ? "DOLA: -> " : "DOLA: ") + message);
+        } else {
+            logger.debug("DOLA: " + message);
+        }
+    }
+
+    @Override
+    public void flush() {}
+}
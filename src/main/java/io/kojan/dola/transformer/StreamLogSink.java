@@ -0,0 +1,172 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.io.PrintStream;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A {@link LogSink} writing to a {@link PrintStream}, typically standard error.
+ *
+ * <p>Each thread collects its messages in its own buffer, which is written out as a single block on
+ * {@link #flush()}, or when it grows large. Messages logged while transforming one model are
+ * therefore printed together, without being interleaved with messages of models transformed
+ * concurrently by other threads, and the stream lock is taken once per block rather than once per
+ * fragment of every message.
+ *
+ * <p>In asynchronous mode blocks are handed over to a background thread, so that logging threads
+ * never wait for the stream. Buffered and queued messages are written out on JVM shutdown.
+ *
+ * <p>A thread's buffer is dropped when the thread flushes it, so that only threads with messages
+ * pending hold a buffer.
+ */
+class StreamLogSink implements LogSink {
+
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    /** Queued after the last block to stop the writer thread; compared by identity. */
+    private static final String END = new String();
+
+    private final Supplier<PrintStream> out;
+    private final BlockingQueue<String> queue;
+    private final Thread writer;
+    private final Set<StringBuilder> buffers = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<StringBuilder> buffer = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a stream sink.
+     *
+     * @param out supplier of the stream to write to, consulted on every write
+     * @param async whether blocks should be written by a background thread
+     */
+    StreamLogSink(Supplier<PrintStream> out, boolean async) {
+        this.out = out;
+        if (async) {
+            queue = new LinkedBlockingQueue<>();
+            writer = new Thread(this::drain, "dola-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            queue = null;
+            writer = null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "dola-log-flush"));
+    }
+
+    @Override
+    public void write(Log.Level level, String message) {
+        StringBuilder sb = buffer.get();
+        if (sb == null) {
+            sb = new StringBuilder();
+            buffers.add(sb);
+            buffer.set(sb);
+        }
+        synchronized (sb) {
+            sb.append(level == Log.Level.INFO ? "DOLA: -> " : "DOLA: ")
+                    .append(message)
+                    .append(System.lineSeparator());
+            if (sb.length() >= FLUSH_THRESHOLD) {
+                flush(sb);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        StringBuilder sb = buffer.get();
+        if (sb != null) {
+            synchronized (sb) {
+                flush(sb);
+            }
+            buffer.remove();
+            buffers.remove(sb);
+        }
+    }
+
+    private void flush(StringBuilder sb) {
+        if (sb.length() > 0) {
+            String block = sb.toString();
+            sb.setLength(0);
+            if (queue != null && !closed) {
+                queue.add(block);
+            } else {
+                print(block);
+            }
+        }
+    }
+
+    private synchronized void print(String block) {
+        PrintStream stream = out.get();
+        stream.print(block);
+        stream.flush();
+    }
+
+    private void drain() {
+        try {
+            for (String block = queue.take(); block != END; block = queue.take()) {
+                print(block);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes out messages buffered by all threads and waits until queued messages are printed.
+     * Blocks flushed afterwards are printed directly.
+     */
+    void close() {
+        for (StringBuilder sb : buffers) {
+            synchronized (sb) {
+                flush(sb);
+            }
+        }
+        if (queue != null) {
+            synchronized (queue) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            queue.add(END);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Blocks queued concurrently with closing may follow the end marker
+            for (String block = queue.poll(); block != null; block = queue.poll()) {
+                if (block != END) {
+                    print(block);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of threads holding a buffer with unflushed messages.
+     *
+     * @return number of buffers
+     */
+    int bufferCount() {
+        return buffers.size();
+    }
+}
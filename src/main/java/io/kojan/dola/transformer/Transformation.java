@@ -44,4 +44,17 @@ public interface Transformation {
      * @return the transformed {@link Model}; may be the original instance if no changes are made
      */
     Model transform(Model model);
+
+    /**
+     * Applies a transformation to the model of the given view.
+     *
+     * <p>Implementations may use indexes of the view to look up model elements. The view itself is
+     * not updated. The default implementation delegates to {@link #transform(Model)}.
+     *
+     * @param view view of the model to transform
+     * @return the transformed {@link Model}; may be the original instance if no changes are made
+     */
+    default Model transform(ModelView view) {
+        return transform(view.getModel());
+    }
 }
@@ -0,0 +1,185 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A bounded, thread-safe cache of transformation results.
+ *
+ * <p>Maven invokes the transformer several times for each project: on the file model, on the raw
+ * model and on the effective model, and often hands over the very same model instance more than
+ * once. Transformations are pure functions of their input and models are immutable, so the result
+ * computed for a model instance can be returned again whenever that instance is seen.
+ *
+ * <p>As a fallback, models that are not identical but have equal {@link ModelKey content keys} are
+ * recognized when the earlier result was the input model itself, that is when transformation was a
+ * no-op. Such models are indistinguishable to transformations, so they are no-ops as well. Results
+ * of transformations that changed the model are only ever reused for the same model instance.
+ *
+ * <p>The cache is divided into lock-striped segments, each holding a fixed number of entries with
+ * least-recently-used eviction.
+ */
+public class TransformationCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private static final class Segment extends LinkedHashMap<Object, Model> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Model> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private record Identity(Model model) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity i && i.model == model;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(model);
+        }
+    }
+
+    /**
+     * Creates a cache holding up to approximately given number of entries.
+     *
+     * @param capacity maximal number of cached entries
+     */
+    public TransformationCache(int capacity) {
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    private Segment segment(Object key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static Model get(Segment segment, Object key) {
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    private static void put(Segment segment, Object key, Model value) {
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    /**
+     * Looks up cached result of transforming given model.
+     *
+     * @param model the input model
+     * @return the cached result, or {@code null} if there is none
+     */
+    public Model get(Model model) {
+        return get(model, null);
+    }
+
+    /**
+     * Records result of transforming given model.
+     *
+     * @param model the input model
+     * @param result the transformed model
+     */
+    public void put(Model model, Model result) {
+        Identity identity = new Identity(model);
+        put(segment(identity), identity, result);
+        if (result == model) {
+            ModelKey key = new ModelKey(model);
+            put(segment(key), key, model);
+        }
+    }
+
+    /**
+     * Looks up cached result of transforming given model, applying and recording given
+     * transformation on a miss. The content key of the model is computed at most once.
+     *
+     * @param model the input model
+     * @param transformation the transformation to apply on a miss, or {@code null} to only look up
+     * @return the cached or transformed model, or {@code null} if there is no cached result and no
+     *     transformation was given
+     */
+    public Model get(Model model, UnaryOperator<Model> transformation) {
+        Identity identity = new Identity(model);
+        Model result = get(segment(identity), identity);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        ModelKey key = new ModelKey(model);
+        if (get(segment(key), key) != null) {
+            put(segment(identity), identity, model);
+            hits.increment();
+            return model;
+        }
+        misses.increment();
+        if (transformation == null) {
+            return null;
+        }
+        result = transformation.apply(model);
+        put(segment(identity), identity, result);
+        if (result == model) {
+            put(segment(key), key, model);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached result.
+     *
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached result.
+     *
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TransformationCache[hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+}
@@ -0,0 +1,178 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters of a single transformation.
+ *
+ * <p>Counters are {@link LongAdder}s, which are updated without contention when models are
+ * transformed by many threads at once.
+ *
+ * <p>Transformations report elements they have added or removed by calling {@link
+ * #elementsChanged(int)}, which is attributed to the transformation currently being applied by the
+ * calling thread.
+ *
+ * <p>Metrics may be {@linkplain #disable() disabled}, in which case counters are not updated and
+ * callers skip measuring time.
+ */
+public final class TransformationMetrics {
+
+    private static final ThreadLocal<TransformationMetrics> current = new ThreadLocal<>();
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /** Whether counters are updated. */
+    private boolean enabled = true;
+
+    /**
+     * Records that the transformation applying on the calling thread, if any, has added or removed
+     * given number of elements.
+     *
+     * @param count number of elements added or removed
+     */
+    public static void elementsChanged(int count) {
+        TransformationMetrics metrics = current.get();
+        if (metrics != null && metrics.enabled) {
+            metrics.elements.add(count);
+        }
+    }
+
+    /**
+     * Returns metrics of the transformation applying on the calling thread.
+     *
+     * @return current metrics, or {@code null} if no transformation is applying
+     */
+    static TransformationMetrics current() {
+        return current.get();
+    }
+
+    /**
+     * Makes these metrics current for the calling thread, so that calls to {@link
+     * #elementsChanged(int)} are attributed to them.
+     *
+     * @return metrics that were current before, to be passed to {@link #exit}
+     */
+    TransformationMetrics enter() {
+        TransformationMetrics previous = current.get();
+        current.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores metrics that were current before {@link #enter()}.
+     *
+     * @param previous the value returned by {@link #enter()}
+     */
+    static void exit(TransformationMetrics previous) {
+        current.set(previous);
+    }
+
+    /** Stops updating counters. Metrics that were already recorded are kept. */
+    void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Tests whether counters are updated. Callers measure time spent in the transformation only if
+     * they are.
+     *
+     * @return {@code true} unless metrics were {@linkplain #disable() disabled}
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void invoked() {
+        if (enabled) {
+            invocations.increment();
+        }
+    }
+
+    /**
+     * Records a single application of the transformation to a model.
+     *
+     * @param changed whether the model was modified
+     * @param time time spent, in nanoseconds
+     */
+    void applied(boolean changed, long time) {
+        if (!enabled) {
+            return;
+        }
+        hits.increment();
+        if (changed) {
+            modified.increment();
+        }
+        nanos.add(time);
+    }
+
+    void elementsChangedBy(int count) {
+        if (enabled) {
+            elements.add(count);
+        }
+    }
+
+    /**
+     * Returns the number of models the transformation was explicitly invoked on. Models offered to
+     * the transformation by a {@link TransformationPlan} are counted by the plan.
+     *
+     * @return number of invocations
+     */
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * Returns the number of models selected by the transformation selectors.
+     *
+     * @return number of selector hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of models modified by the transformation.
+     *
+     * @return number of modified models
+     */
+    public long getModified() {
+        return modified.sum();
+    }
+
+    /**
+     * Returns the number of elements added or removed by the transformation.
+     *
+     * @return number of changed elements
+     */
+    public long getElements() {
+        return elements.sum();
+    }
+
+    /**
+     * Returns the cumulative time spent in the transformation.
+     *
+     * @return time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos.sum();
+    }
+}
@@ -15,60 +15,247 @@
  */
 package io.kojan.dola.transformer;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 public class TransformationParser {
+    private static final String PREFIX = "dola.transformer.insn.";
+
     public static List<Transformation> parseFromProperties(
             Map<String, Transformer> transformers, Properties properties) {
-        List<Transformation> transformations = new ArrayList<>();
-        List<String> keys =
-                properties.keySet().stream()
-                        .map(Object::toString)
-                        .filter(key -> key.toString().startsWith("dola.transformer.insn."))
-                        .sorted()
-                        .toList();
-        for (String key : keys) {
-            String op = key.substring(key.lastIndexOf('.') + 1);
-            String val = properties.getProperty(key);
-            String arg = val;
-            int j = val.lastIndexOf('@');
-            String sel = null;
-            Map<String, GidAidMatcher> selectors = new LinkedHashMap<>();
-            if (j >= 0) {
-                arg = val.substring(0, j);
-                sel = val.substring(j + 1);
-                if (sel.startsWith("(") && sel.endsWith(")")) {
-                    sel = sel.substring(1, sel.length() - 1);
+        GidAidMatcher.setMemo(MatchMemo.of(properties));
+        List<PlanOptimizer.Instruction> instructions = new ArrayList<>();
+        PathTrie paths = PathTrie.of(properties);
+        for (String key : instructionKeys(properties)) {
+            addInstruction(
+                    instructions,
+                    transformers,
+                    paths,
+                    key.substring(PREFIX.length()),
+                    properties.getProperty(key));
+        }
+        return compile(optimize(instructions, properties));
+    }
+
+    /**
+     * Parses instructions from files listed in the {@code dola.transformer.insnFile} property,
+     * followed by instructions given as {@code dola.transformer.insn.*} properties.
+     *
+     * <p>Instruction files are read line by line. Each line holds one instruction in the form
+     * {@code [id.]opcode[.phases]=arg[@selectors]}, optionally prefixed with {@code
+     * dola.transformer.insn.}. Blank lines and lines starting with {@code #} are ignored.
+     * Instructions from files are applied in the order they appear in.
+     *
+     * <p>If the {@code dola.transformer.planCache} property names a file, the optimized
+     * instructions are stored in it as a {@link PlanCache}. There is no cache by default, so that
+     * nothing is written next to instruction files, which often live in source trees.
+     *
+     * <p>The {@code dola.transformer.matchMemo} property sets the size of the memo of selector
+     * match results, see {@link GidAidMatcher}, which is replaced by an empty one.
+     *
+     * @param transformers available transformers, by name
+     * @param properties properties holding instructions and settings
+     * @return transformations in application order
+     * @throws UncheckedIOException if an instruction file cannot be read
+     * @throws IllegalArgumentException if an instruction file contains a malformed line
+     */
+    public static List<Transformation> parse(
+            Map<String, Transformer> transformers, Properties properties) {
+        return parse(transformers, properties, false).transformations();
+    }
+
+    /**
+     * Transformations parsed from properties, together with a fingerprint of the plan.
+     *
+     * @param transformations transformations in application order
+     * @param fingerprint fingerprint of the plan, see {@link DecisionCache#fingerprint}, or {@code
+     *     null} if it was not requested
+     */
+    record Parsed(List<Transformation> transformations, byte[] fingerprint) {}
+
+    /**
+     * Parses instructions like {@link #parse(Map, Properties)}, optionally computing a fingerprint
+     * of the resulting plan.
+     *
+     * @param transformers available transformers, by name
+     * @param properties properties holding instructions and settings
+     * @param fingerprint whether to compute fingerprint of the plan
+     * @return transformations in application order, with the fingerprint
+     */
+    static Parsed parse(
+            Map<String, Transformer> transformers, Properties properties, boolean fingerprint) {
+        GidAidMatcher.setMemo(MatchMemo.of(properties));
+        List<Path> files = new ArrayList<>();
+        String insnFile = properties.getProperty("dola.transformer.insnFile", "");
+        for (String file : insnFile.split(",")) {
+            if (!file.isBlank()) {
+                files.add(Path.of(file.strip()));
+            }
+        }
+        String planCache = properties.getProperty("dola.transformer.planCache", "");
+        Path cacheFile =
+                planCache.isBlank() || "0".equals(planCache) ? null : Path.of(planCache.strip());
+        List<String> keys = instructionKeys(properties);
+        PathTrie paths = PathTrie.of(properties);
+        try {
+            byte[] hash = null;
+            if (cacheFile != null) {
+                hash = PlanCache.hash(transformers, files, properties, keys);
+                List<PlanOptimizer.Instruction> cached =
+                        PlanCache.load(cacheFile, hash, transformers, paths);
+                if (cached != null) {
+                    return parsed(cached, transformers, fingerprint);
+                }
+            }
+            List<PlanOptimizer.Instruction> instructions = new ArrayList<>();
+            for (Path file : files) {
+                readFile(instructions, transformers, paths, file);
+            }
+            for (String key : keys) {
+                addInstruction(
+                        instructions,
+                        transformers,
+                        paths,
+                        key.substring(PREFIX.length()),
+                        properties.getProperty(key));
+            }
+            instructions = optimize(instructions, properties);
+            if (cacheFile != null) {
+                PlanCache.store(cacheFile, hash, instructions);
+            }
+            return parsed(instructions, transformers, fingerprint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Parsed parsed(
+            List<PlanOptimizer.Instruction> instructions,
+            Map<String, Transformer> transformers,
+            boolean fingerprint)
+            throws IOException {
+        return new Parsed(
+                compile(instructions),
+                fingerprint ? DecisionCache.fingerprint(instructions, transformers) : null);
+    }
+
+    private static List<String> instructionKeys(Properties properties) {
+        return properties.keySet().stream()
+                .map(Object::toString)
+                .filter(key -> key.toString().startsWith(PREFIX))
+                .sorted()
+                .toList();
+    }
+
+    private static void readFile(
+            List<PlanOptimizer.Instruction> instructions,
+            Map<String, Transformer> transformers,
+            PathTrie paths,
+            Path file)
+            throws IOException {
+        Log.debug("reading instructions from {}", file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int eq = line.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException(
+                            file + ":" + lineNumber + ": expected [id.]opcode=arg: " + line);
                 }
-                for (int i = sel.indexOf(','); i >= 0; i = sel.indexOf(',')) {
-                    String sel0 = sel.substring(0, i);
-                    selectors.put(sel0, new GidAidMatcher(sel0));
-                    sel = sel.substring(i + 1);
+                String key = line.substring(0, eq).strip();
+                if (key.startsWith(PREFIX)) {
+                    key = key.substring(PREFIX.length());
                 }
-                selectors.put(sel, new GidAidMatcher(sel));
+                addInstruction(
+                        instructions, transformers, paths, key, line.substring(eq + 1).strip());
+            }
+        }
+    }
+
+    private static void addInstruction(
+            List<PlanOptimizer.Instruction> instructions,
+            Map<String, Transformer> transformers,
+            PathTrie paths,
+            String key,
+            String val) {
+        String name = key;
+        Set<Phase> phases = null;
+        int dot = key.lastIndexOf('.');
+        if (dot > 0) {
+            phases = Phase.parseList(key.substring(dot + 1));
+            if (phases != null) {
+                name = key.substring(0, dot);
             }
-            Log.debug("instruction op=" + op + ", arg=" + arg);
-            Transformer transformer = transformers.get(op);
-            if (transformer == null) {
-                Log.debug("no such transformer: " + op);
-                continue;
+        }
+        String op = name.substring(name.lastIndexOf('.') + 1);
+        String arg = val;
+        int j = val.lastIndexOf('@');
+        String sel = null;
+        Map<String, ModelSelector> selectors = new LinkedHashMap<>();
+        if (j >= 0) {
+            arg = val.substring(0, j);
+            sel = val.substring(j + 1);
+            if (sel.startsWith("(") && sel.endsWith(")")) {
+                sel = sel.substring(1, sel.length() - 1);
             }
-            Transformation transformation = transformer.produceTransformation(arg);
-            transformations.add(
-                    new SelectiveTransformation(
-                            selectors.values(),
-                            transformation,
-                            "op="
-                                    + op
-                                    + ", arg="
-                                    + arg
-                                    + ", sel="
-                                    + String.join(",", selectors.keySet())));
+            for (int i = sel.indexOf(','); i >= 0; i = sel.indexOf(',')) {
+                String sel0 = sel.substring(0, i);
+                selectors.put(sel0, AttributeSelector.parse(sel0, paths));
+                sel = sel.substring(i + 1);
+            }
+            selectors.put(sel, AttributeSelector.parse(sel, paths));
+        }
+        Log.debug("instruction op={}, arg={}", op, arg);
+        Transformer transformer = transformers.get(op);
+        if (transformer == null) {
+            Log.debug("no such transformer: {}", op);
+            return;
+        }
+        if (phases == null) {
+            phases = defaultPhases(transformer);
+        }
+        Transformation transformation = transformer.produceTransformation(arg);
+        instructions.add(new PlanOptimizer.Instruction(op, arg, selectors, phases, transformation));
+    }
+
+    private static List<PlanOptimizer.Instruction> optimize(
+            List<PlanOptimizer.Instruction> instructions, Properties properties) {
+        if ("0".equals(properties.getProperty("dola.transformer.optimize"))) {
+            return instructions;
+        }
+        return PlanOptimizer.optimize(instructions);
+    }
+
+    private static List<Transformation> compile(List<PlanOptimizer.Instruction> instructions) {
+        List<Transformation> transformations = new ArrayList<>(instructions.size());
+        for (PlanOptimizer.Instruction instruction : instructions) {
+            transformations.add(instruction.toTransformation());
         }
         return transformations;
     }
+
+    private static Set<Phase> defaultPhases(Transformer transformer) {
+        DefaultPhases annotation = transformer.getClass().getAnnotation(DefaultPhases.class);
+        if (annotation == null || annotation.value().length == 0) {
+            return EnumSet.allOf(Phase.class);
+        }
+        return EnumSet.copyOf(Arrays.asList(annotation.value()));
+    }
 }
@@ -0,0 +1,332 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.api.model.Model;
+
+/**
+ * A {@code TransformationPlan} is a compiled list of transformations, applied in order.
+ *
+ * <p>Instead of asking every {@link SelectiveTransformation} whether it applies to a model, the
+ * plan consults a {@link DispatchIndex} and visits only transformations whose selectors match the
+ * model coordinates. Transformations with selectors that have conditions beyond coordinates are
+ * then tested against the model. If a transformation changes model groupId or artifactId, the
+ * remaining transformations are selected again, so the result is the same as applying every
+ * transformation in sequence. Other attributes that conditions test, such as packaging, properties
+ * or POM file, are never changed by transformations.
+ *
+ * <p>Runs of two or more adjacent {@link ListTransformation}s are fused into a {@link
+ * SectionStage}, which rebuilds each affected section once for the whole run, and evaluates
+ * removals in a single pass over the section. Likewise, runs of two or more adjacent {@link
+ * WalkingTransformation}s are fused into a {@link WalkStage}, which visits every container of the
+ * model once for the whole run.
+ *
+ * <p>{@link EditingTransformation}s and section stages record their changes in a single {@link
+ * ModelEditor}, so that a run of them, however long, rebuilds the model once. Pending edits are
+ * applied before any other transformation, when groupId is changed, and at the end of the plan.
+ *
+ * <p>Applying a plan that leaves the model unchanged does not allocate memory.
+ */
+public class TransformationPlan implements Transformation {
+
+    /** Transformations in application order. */
+    private final List<Transformation> transformations;
+
+    /** Transformations with selectors unwrapped, by position. */
+    private final List<Transformation> delegates;
+
+    /** Index used to select transformations applicable to a given model. */
+    private final DispatchIndex index;
+
+    /** Positions of conditional transformations, whose selection by the index is tentative. */
+    private final BitSet conditional = new BitSet();
+
+    /** Section stage covering each position, or {@code null} if none. */
+    private final SectionStage[] stages;
+
+    /** Walk stage covering each position, or {@code null} if none. */
+    private final WalkStage[] walks;
+
+    /** Metrics of transformations, by position. */
+    private final TransformationMetrics[] metrics;
+
+    /** Whether metrics are collected. */
+    private final boolean counted;
+
+    /** Number of models transformed by this plan. */
+    private final LongAdder models = new LongAdder();
+
+    /** Per-thread model editor and its view, reused across calls to avoid allocation. */
+    private final ThreadLocal<ModelEditor> editors =
+            ThreadLocal.withInitial(() -> new ModelEditor((Model) null));
+
+    /** Per-thread bit set of selected positions, reused across calls to avoid allocation. */
+    private final ThreadLocal<BitSet> selection = ThreadLocal.withInitial(BitSet::new);
+
+    /**
+     * Compiles a plan from the given list of transformations.
+     *
+     * @param transformations the transformations, in application order
+     */
+    public TransformationPlan(List<Transformation> transformations) {
+        this(transformations, true);
+    }
+
+    /**
+     * Compiles a plan from the given list of transformations, optionally without collecting
+     * metrics. When metrics are disabled, metrics of the given transformations are disabled too and
+     * the plan neither counts models nor measures time spent in transformations.
+     *
+     * @param transformations the transformations, in application order
+     * @param counted whether to collect metrics
+     */
+    public TransformationPlan(List<Transformation> transformations, boolean counted) {
+        this.counted = counted;
+        this.transformations = List.copyOf(transformations);
+        this.index = new DispatchIndex(this.transformations);
+        for (int i = 0; i < this.transformations.size(); i++) {
+            if (this.transformations.get(i) instanceof SelectiveTransformation selective
+                    && selective.isConditional()) {
+                conditional.set(i);
+            }
+        }
+        this.delegates =
+                this.transformations.stream()
+                        .map(
+                                transformation ->
+                                        transformation instanceof SelectiveTransformation selective
+                                                ? selective.getTransformation()
+                                                : transformation)
+                        .toList();
+        this.metrics =
+                this.transformations.stream()
+                        .map(
+                                transformation ->
+                                        transformation instanceof SelectiveTransformation selective
+                                                ? selective.getMetrics()
+                                                : new TransformationMetrics())
+                        .toArray(TransformationMetrics[]::new);
+        if (!counted) {
+            for (TransformationMetrics m : this.metrics) {
+                m.disable();
+            }
+        }
+        this.stages = new SectionStage[delegates.size()];
+        for (int start = 0; start < delegates.size(); ) {
+            int end = start;
+            while (end < delegates.size() && delegates.get(end) instanceof ListTransformation) {
+                end++;
+            }
+            if (end - start > 1) {
+                SectionStage stage = new SectionStage(delegates, metrics, start, end);
+                for (int i = start; i < end; i++) {
+                    stages[i] = stage;
+                }
+            }
+            start = Math.max(end, start + 1);
+        }
+        this.walks = new WalkStage[delegates.size()];
+        for (int start = 0; start < delegates.size(); ) {
+            int end = start;
+            while (end < delegates.size() && delegates.get(end) instanceof WalkingTransformation) {
+                end++;
+            }
+            if (end - start > 1) {
+                WalkStage walk = new WalkStage(delegates, metrics, start, end);
+                for (int i = start; i < end; i++) {
+                    walks[i] = walk;
+                }
+            }
+            start = Math.max(end, start + 1);
+        }
+    }
+
+    /**
+     * Returns transformations in this plan.
+     *
+     * @return an unmodifiable list of transformations, in application order
+     */
+    public List<Transformation> getTransformations() {
+        return transformations;
+    }
+
+    /**
+     * Returns runtime metrics of a transformation in this plan.
+     *
+     * @param position position of the transformation
+     * @return the metrics
+     */
+    public TransformationMetrics getMetrics(int position) {
+        return metrics[position];
+    }
+
+    /**
+     * Returns the number of models this plan was applied to. Each of them was offered to every
+     * transformation of the plan.
+     *
+     * @return number of transformed models
+     */
+    public long getModelCount() {
+        return models.sum();
+    }
+
+    @Override
+    public Model transform(Model model) {
+        return transform(model, null, null);
+    }
+
+    /**
+     * Applies the plan, or a part of it, to a model and records which transformations changed it.
+     *
+     * <p>Transformations are pure functions of the model, so applying only those that changed a
+     * model before, or any superset of them, gives the same result as applying the whole plan.
+     * Positions recorded in {@code changed} form such a superset.
+     *
+     * @param model the model to transform
+     * @param only if not {@code null}, positions of the only transformations that may be applied
+     * @param changed if not {@code null}, positions of transformations that changed the model are
+     *     set in it
+     * @return the transformed model
+     */
+    Model transform(Model model, BitSet only, BitSet changed) {
+        if (counted) {
+            models.increment();
+        }
+        String gid = model.getGroupId();
+        String aid = model.getArtifactId();
+        BitSet selected = selection.get();
+        ModelEditor editor = editors.get();
+        ModelView view = editor.getView();
+        editor.reset(model);
+        select(model, selected, only);
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            SectionStage stage = stages[i];
+            if (stage != null) {
+                if (Log.isDebugEnabled()) {
+                    for (int j = i; j >= 0 && j < stage.getEnd(); j = selected.nextSetBit(j + 1)) {
+                        Log.debug("    applying {}", transformations.get(j));
+                    }
+                }
+                if (stage.transform(editor, selected, changed)) {
+                    Log.debug("        MODIFIED");
+                }
+                i = stage.getEnd() - 1;
+                continue;
+            }
+            WalkStage walk = walks[i];
+            if (walk != null) {
+                if (Log.isDebugEnabled()) {
+                    for (int j = i; j >= 0 && j < walk.getEnd(); j = selected.nextSetBit(j + 1)) {
+                        Log.debug("    applying {}", transformations.get(j));
+                    }
+                }
+                model = flush(editor, model);
+                walk.transform(view, selected, changed);
+                Model newModel = view.getModel();
+                if (newModel != model) {
+                    Log.debug("        MODIFIED");
+                    model = newModel;
+                }
+                i = walk.getEnd() - 1;
+                continue;
+            }
+            Log.debug("    applying {}", transformations.get(i));
+            Transformation delegate = delegates.get(i);
+            TransformationMetrics m = metrics[i];
+            if (delegate instanceof EditingTransformation editing) {
+                long start = counted ? System.nanoTime() : 0;
+                TransformationMetrics previous = m.enter();
+                boolean edited;
+                try {
+                    edited = editing.edit(editor);
+                } finally {
+                    TransformationMetrics.exit(previous);
+                }
+                if (counted) {
+                    m.applied(edited, System.nanoTime() - start);
+                }
+                if (edited) {
+                    Log.debug("        MODIFIED");
+                    if (changed != null) {
+                        changed.set(i);
+                    }
+                    if (!Objects.equals(gid, editor.getGroupId())) {
+                        model = flush(editor, model);
+                        gid = model.getGroupId();
+                        select(model, selected, only);
+                    }
+                }
+                continue;
+            }
+            model = flush(editor, model);
+            long start = counted ? System.nanoTime() : 0;
+            TransformationMetrics previous = m.enter();
+            Model newModel;
+            try {
+                newModel = delegate.transform(view);
+            } finally {
+                TransformationMetrics.exit(previous);
+            }
+            if (counted) {
+                m.applied(newModel != model, System.nanoTime() - start);
+            }
+            if (newModel != model) {
+                Log.debug("        MODIFIED");
+                if (changed != null) {
+                    changed.set(i);
+                }
+                model = newModel;
+                view.setModel(model);
+                if (!Objects.equals(gid, model.getGroupId())
+                        || !Objects.equals(aid, model.getArtifactId())) {
+                    gid = model.getGroupId();
+                    aid = model.getArtifactId();
+                    select(model, selected, only);
+                }
+            }
+        }
+        model = flush(editor, model);
+        editor.reset(null);
+        return model;
+    }
+
+    /** Selects positions of transformations applicable to a model, limited to {@code only}. */
+    private void select(Model model, BitSet selected, BitSet only) {
+        index.select(model.getGroupId(), model.getArtifactId(), selected);
+        if (only != null) {
+            selected.and(only);
+        }
+        for (int i = conditional.nextSetBit(0); i >= 0; i = conditional.nextSetBit(i + 1)) {
+            if (selected.get(i)
+                    && !((SelectiveTransformation) transformations.get(i)).selects(model)) {
+                selected.clear(i);
+            }
+        }
+    }
+
+    /** Builds the model with pending edits applied. */
+    private static Model flush(ModelEditor editor, Model model) {
+        Model newModel = editor.build();
+        if (newModel != model) {
+            Log.diff(model, newModel);
+        }
+        return newModel;
+    }
+}
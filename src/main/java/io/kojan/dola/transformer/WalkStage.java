@@ -0,0 +1,204 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+
+/**
+ * A {@code WalkStage} fuses a run of adjacent {@link WalkingTransformation}s of a {@link
+ * TransformationPlan} into a single {@link ModelWalker} pass, so that every container of the model
+ * is visited once for the whole run rather than once per transformation.
+ *
+ * <p>Each transformation is wrapped in a visitor that records its metrics. Time spent in the walk
+ * itself is shared equally among transformations selected for the model.
+ */
+class WalkStage {
+
+    /** Visitor recording metrics of a single transformation. */
+    private final class Member implements ModelWalker.Visitor {
+        final int position;
+        final ModelWalker.Visitor visitor;
+
+        Member(int position, ModelWalker.Visitor visitor) {
+            this.position = position;
+            this.visitor = visitor;
+        }
+
+        private void changed() {
+            changes.get()[position - start] = true;
+        }
+
+        @Override
+        public List<Dependency> visitDependencies(
+                Model model,
+                Profile profile,
+                ModelWalker.Container container,
+                List<Dependency> dependencies) {
+            TransformationMetrics previous = metrics[position].enter();
+            List<Dependency> result;
+            try {
+                result = visitor.visitDependencies(model, profile, container, dependencies);
+            } finally {
+                TransformationMetrics.exit(previous);
+            }
+            if (result != dependencies) {
+                changed();
+            }
+            return result;
+        }
+
+        @Override
+        public List<Plugin> visitPlugins(
+                Model model,
+                Profile profile,
+                ModelWalker.Container container,
+                List<Plugin> plugins) {
+            TransformationMetrics previous = metrics[position].enter();
+            List<Plugin> result;
+            try {
+                result = visitor.visitPlugins(model, profile, container, plugins);
+            } finally {
+                TransformationMetrics.exit(previous);
+            }
+            if (result != plugins) {
+                changed();
+            }
+            return result;
+        }
+
+        @Override
+        public List<ReportPlugin> visitReportPlugins(
+                Model model, Profile profile, List<ReportPlugin> plugins) {
+            TransformationMetrics previous = metrics[position].enter();
+            List<ReportPlugin> result;
+            try {
+                result = visitor.visitReportPlugins(model, profile, plugins);
+            } finally {
+                TransformationMetrics.exit(previous);
+            }
+            if (result != plugins) {
+                changed();
+            }
+            return result;
+        }
+    }
+
+    /** Plan position of the first transformation in this stage. */
+    private final int start;
+
+    /** Plan position following the last transformation in this stage. */
+    private final int end;
+
+    /** Walker applying all transformations of this stage. */
+    private final ModelWalker walker;
+
+    /** Metrics of all plan transformations, by position. */
+    private final TransformationMetrics[] metrics;
+
+    /** Per-thread flags of transformations that changed the current model, by stage position. */
+    private final ThreadLocal<boolean[]> changes;
+
+    /**
+     * Builds a stage for walking transformations at plan positions from {@code start} (inclusive)
+     * to {@code end} (exclusive).
+     *
+     * @param transformations all plan transformations, unwrapped from selectors
+     * @param metrics metrics of all plan transformations, by position
+     * @param start position of the first walking transformation
+     * @param end position following the last walking transformation
+     */
+    WalkStage(
+            List<Transformation> transformations,
+            TransformationMetrics[] metrics,
+            int start,
+            int end) {
+        this.metrics = metrics;
+        this.start = start;
+        this.end = end;
+        List<Member> members = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            members.add(new Member(i, (WalkingTransformation) transformations.get(i)));
+        }
+        this.walker = new ModelWalker(members);
+        this.changes = ThreadLocal.withInitial(() -> new boolean[end - start]);
+    }
+
+    /**
+     * Returns plan position of the first transformation in this stage.
+     *
+     * @return start position
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns plan position following the last transformation in this stage.
+     *
+     * @return end position
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Applies transformations of this stage that are selected for the model of a view, updating the
+     * view with the transformed model.
+     *
+     * @param view view of the model to transform
+     * @param selected plan positions of transformations selected for the model
+     * @param changed if not {@code null}, plan positions of transformations that changed the model
+     *     are set in it
+     */
+    void transform(ModelView view, BitSet selected, BitSet changed) {
+        Model model = view.getModel();
+        boolean timed = metrics[start].isEnabled();
+        long time = timed ? System.nanoTime() : 0;
+        Model newModel = walker.walk(model, selected, start);
+        int count = 0;
+        if (timed) {
+            time = System.nanoTime() - time;
+            for (int i = selected.nextSetBit(start);
+                    i >= 0 && i < end;
+                    i = selected.nextSetBit(i + 1)) {
+                count++;
+            }
+        }
+        boolean[] flags = changes.get();
+        for (int i = selected.nextSetBit(start);
+                i >= 0 && i < end;
+                i = selected.nextSetBit(i + 1)) {
+            if (timed) {
+                metrics[i].applied(flags[i - start], time / count);
+            }
+            if (flags[i - start] && changed != null) {
+                changed.set(i);
+            }
+            flags[i - start] = false;
+        }
+        if (newModel != model) {
+            Log.diff(model, newModel);
+            view.setModel(newModel);
+        }
+    }
+}
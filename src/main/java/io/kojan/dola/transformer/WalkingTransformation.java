@@ -0,0 +1,26 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+/**
+ * A transformation that is applied by a {@link ModelWalker}, visiting dependency and plugin
+ * containers of the model rather than transforming the model as a whole.
+ *
+ * <p>Runs of two or more adjacent walking transformations in a {@link TransformationPlan} are
+ * applied together, in a single walk over the model. Their {@link #transform} methods must give the
+ * same result as walking the model with the transformation as the only visitor.
+ */
+public interface WalkingTransformation extends Transformation, ModelWalker.Visitor {}
@@ -0,0 +1,99 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of shared instances, by string key, that holds instances weakly.
+ *
+ * <p>Instances stay in the pool only as long as something else, such as a plan, uses them, so a
+ * long-lived JVM running many builds does not keep matchers of old plans alive. Entries of
+ * collected instances are removed when new instances are added.
+ *
+ * @param <T> type of instances
+ */
+final class WeakPool<T> {
+
+    private static final class Ref<T> extends WeakReference<T> {
+        final String key;
+
+        Ref(String key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private final Map<String, Ref<T>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the pooled instance for a key.
+     *
+     * @param key the key
+     * @return the instance, or {@code null} if there is none
+     */
+    T get(String key) {
+        Ref<T> ref = map.get(key);
+        return ref != null ? ref.get() : null;
+    }
+
+    /**
+     * Adds an instance to the pool, unless there already is one for the key.
+     *
+     * @param key the key
+     * @param value the instance to add
+     * @return the pooled instance, which is {@code value} if it was added
+     */
+    T intern(String key, T value) {
+        expunge();
+        Ref<T> ref = new Ref<>(key, value, queue);
+        while (true) {
+            Ref<T> previous = map.putIfAbsent(key, ref);
+            if (previous == null) {
+                return value;
+            }
+            T existing = previous.get();
+            if (existing != null) {
+                return existing;
+            }
+            if (map.replace(key, previous, ref)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pooled instances, including ones that are about to be removed.
+     *
+     * @return pool size
+     */
+    int size() {
+        expunge();
+        return map.size();
+    }
+
+    private void expunge() {
+        for (Reference<? extends T> ref = queue.poll(); ref != null; ref = queue.poll()) {
+            Ref<?> stale = (Ref<?>) ref;
+            map.remove(stale.key, stale);
+        }
+    }
+}
@@ -15,8 +15,14 @@
  */
 package io.kojan.dola.transformer.op;
 
+import io.kojan.dola.transformer.DefaultPhases;
 import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.ModelView;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionAddition;
 import io.kojan.dola.transformer.Transformation;
+import io.kojan.dola.transformer.TransformationMetrics;
 import io.kojan.dola.transformer.Transformer;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +31,7 @@ import javax.inject.Singleton;
 import org.apache.maven.api.model.Dependency;
 import org.apache.maven.api.model.Model;
 
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
 @Named("addDependency")
 @Singleton
 public class AddDependency implements Transformer {
@@ -50,27 +57,85 @@ public class AddDependency implements Transformer {
         return builder.build();
     }
 
-    @Override
-    public Transformation produceTransformation(String arg) {
-        Dependency newDependency = parseCoords(arg);
+    private static class Addition implements SectionAddition<Dependency> {
+        private final Dependency newDependency;
 
-        return model -> {
-            List<Dependency> existing = model.getDependencies();
-            for (Dependency d : existing) {
+        Addition(Dependency newDependency) {
+            this.newDependency = newDependency;
+        }
+
+        @Override
+        public ModelSection<Dependency> getSection() {
+            return ModelSection.DEPENDENCIES;
+        }
+
+        @Override
+        public Dependency getElement() {
+            return newDependency;
+        }
+
+        @Override
+        public List<Dependency> transform(Model model, List<Dependency> existing) {
+            for (int i = 0; i < existing.size(); i++) {
+                Dependency d = existing.get(i);
                 if (d.getGroupId().equals(newDependency.getGroupId())
                         && d.getArtifactId().equals(newDependency.getArtifactId())) {
                     // Already present - skip adding
-                    return model;
+                    return existing;
                 }
             }
+            return add(model, existing);
+        }
 
+        private List<Dependency> add(Model model, List<Dependency> existing) {
             List<Dependency> updated = new ArrayList<>(existing);
             updated.add(newDependency);
+            Log.info("Added dependency {} to {}", newDependency, model);
+            TransformationMetrics.elementsChanged(1);
+            return updated;
+        }
+
+        @Override
+        public List<Dependency> transform(ModelView view, List<Dependency> existing) {
+            if (view.indexOf(
+                            ModelSection.DEPENDENCIES,
+                            existing,
+                            newDependency.getGroupId(),
+                            newDependency.getArtifactId())
+                    >= 0) {
+                return existing;
+            }
+            return add(view.getModel(), existing);
+        }
+
+        @Override
+        public Model transform(ModelView view) {
+            Model model = view.getModel();
+            List<Dependency> existing = view.get(ModelSection.DEPENDENCIES);
+            List<Dependency> updated = transform(view, existing);
+            if (updated == existing) {
+                return model;
+            }
             Model newModel = model.withDependencies(updated);
+            Log.diff(model, newModel);
+            return newModel;
+        }
 
-            Log.info("Added dependency " + newDependency + " to " + model);
+        @Override
+        public Model transform(Model model) {
+            List<Dependency> existing = model.getDependencies();
+            List<Dependency> updated = transform(model, existing);
+            if (updated == existing) {
+                return model;
+            }
+            Model newModel = model.withDependencies(updated);
             Log.diff(model, newModel);
             return newModel;
-        };
+        }
+    }
+
+    @Override
+    public Transformation produceTransformation(String arg) {
+        return new Addition(parseCoords(arg));
     }
 }
@@ -0,0 +1,81 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import io.kojan.dola.transformer.DefaultPhases;
+import io.kojan.dola.transformer.GidAidMatcher;
+import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelWalker;
+import io.kojan.dola.transformer.ModelWalker.Container;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionFilter;
+import io.kojan.dola.transformer.Transformation;
+import io.kojan.dola.transformer.Transformer;
+import io.kojan.dola.transformer.WalkingTransformation;
+import java.util.List;
+import java.util.function.Predicate;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
+@Named("purgePlugin")
+@Singleton
+public class PurgePlugin implements Transformer {
+
+    private static class Purge implements WalkingTransformation {
+        private final Predicate<Plugin> pluginPredicate;
+        private final Predicate<ReportPlugin> reportPluginPredicate;
+        private final ModelWalker walker = new ModelWalker(List.of(this));
+
+        Purge(GidAidMatcher matcher) {
+            this.pluginPredicate =
+                    plugin -> matcher.matches(plugin.getGroupId(), plugin.getArtifactId());
+            this.reportPluginPredicate =
+                    plugin -> matcher.matches(plugin.getGroupId(), plugin.getArtifactId());
+        }
+
+        @Override
+        public List<Plugin> visitPlugins(
+                Model model, Profile profile, Container container, List<Plugin> plugins) {
+            return SectionFilter.removeIf(
+                    plugins, pluginPredicate, "plugin", model, profile, container);
+        }
+
+        @Override
+        public List<ReportPlugin> visitReportPlugins(
+                Model model, Profile profile, List<ReportPlugin> plugins) {
+            return SectionFilter.removeIf(
+                    plugins, reportPluginPredicate, "plugin", model, profile, Container.REPORTING);
+        }
+
+        @Override
+        public Model transform(Model model) {
+            Model newModel = walker.walk(model);
+            if (newModel != model) {
+                Log.diff(model, newModel);
+            }
+            return newModel;
+        }
+    }
+
+    public Transformation produceTransformation(String arg) {
+        return new Purge(GidAidMatcher.of(arg));
+    }
+}
@@ -0,0 +1,143 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import io.kojan.dola.transformer.DefaultPhases;
+import io.kojan.dola.transformer.GlobAutomaton;
+import io.kojan.dola.transformer.ListTransformation;
+import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionFilter;
+import io.kojan.dola.transformer.Transformation;
+import io.kojan.dola.transformer.Transformer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+
+/**
+ * Removes all dependencies listed in a file.
+ *
+ * <p>The argument is a path to a file with one {@code groupId:artifactId} entry per line. Blank
+ * lines and lines starting with {@code #} are ignored. Entries without wildcards are kept in a hash
+ * set, so checking a dependency against them costs a constant time regardless of the number of
+ * entries. Entries with wildcards are compiled into a single {@link GlobAutomaton}, which is
+ * consulted only for dependencies not found in the set.
+ */
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
+@Named("removeDependencies")
+@Singleton
+public class RemoveDependencies implements Transformer {
+
+    private static class BulkRemoval implements ListTransformation<Dependency> {
+        /** Exact artifact IDs to remove, by group ID. */
+        private final Map<String, Set<String>> exact;
+
+        /** Patterns with wildcards, or {@code null} if there are none. */
+        private final GlobAutomaton globs;
+
+        private final Predicate<Dependency> predicate = this::matches;
+
+        BulkRemoval(Map<String, Set<String>> exact, List<String> globs) {
+            this.exact = exact;
+            this.globs = globs.isEmpty() ? null : new GlobAutomaton(globs, 2);
+        }
+
+        private boolean matches(Dependency dependency) {
+            String gid = dependency.getGroupId();
+            String aid = dependency.getArtifactId();
+            Set<String> aids = exact.get(gid);
+            if (aids != null && aids.contains(aid)) {
+                return true;
+            }
+            return globs != null && globs.match(gid, aid).length > 0;
+        }
+
+        @Override
+        public ModelSection<Dependency> getSection() {
+            return ModelSection.DEPENDENCIES;
+        }
+
+        @Override
+        public List<Dependency> transform(Model model, List<Dependency> dependencies) {
+            return SectionFilter.removeIf(dependencies, predicate, "dependency", model);
+        }
+
+        @Override
+        public Model transform(Model model) {
+            List<Dependency> dependencies = model.getDependencies();
+            List<Dependency> newDependencies = transform(model, dependencies);
+            if (newDependencies != dependencies) {
+                Model newModel = model.withDependencies(newDependencies);
+                Log.diff(model, newModel);
+                return newModel;
+            }
+            return model;
+        }
+    }
+
+    /** Tests whether a glob matches only itself, without compiling it. */
+    private static boolean isLiteral(String glob) {
+        return !glob.isEmpty() && glob.indexOf('*') < 0 && glob.indexOf('?') < 0;
+    }
+
+    @Override
+    public Transformation produceTransformation(String arg) {
+        Path file = Path.of(arg);
+        Map<String, Set<String>> exact = new HashMap<>();
+        List<String> globs = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException(
+                            file + ":" + lineNumber + ": expected groupId:artifactId: " + line);
+                }
+                String gid = line.substring(0, colon);
+                String aid = line.substring(colon + 1);
+                if (isLiteral(gid) && isLiteral(aid)) {
+                    exact.computeIfAbsent(gid, g -> new HashSet<>()).add(aid);
+                } else {
+                    globs.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Log.debug("loaded {} group IDs and {} patterns from {}", exact.size(), globs.size(), arg);
+        return new BulkRemoval(exact, globs);
+    }
+}
@@ -15,40 +15,92 @@
  */
 package io.kojan.dola.transformer.op;
 
+import io.kojan.dola.transformer.DefaultPhases;
 import io.kojan.dola.transformer.GidAidMatcher;
 import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.ModelView;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionFilter;
+import io.kojan.dola.transformer.SectionRemoval;
 import io.kojan.dola.transformer.Transformation;
 import io.kojan.dola.transformer.Transformer;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.api.model.Dependency;
 import org.apache.maven.api.model.Model;
 
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
 @Named("removeDependency")
 @Singleton
 public class RemoveDependency implements Transformer {
-    public Transformation produceTransformation(String arg) {
-        GidAidMatcher matcher = new GidAidMatcher(arg);
-        return model -> {
+
+    private static class Removal implements SectionRemoval<Dependency> {
+        private final GidAidMatcher matcher;
+        private final Predicate<Dependency> predicate;
+        private final String gid;
+        private final String aid;
+
+        Removal(GidAidMatcher matcher) {
+            this.matcher = matcher;
+            this.predicate =
+                    dependency ->
+                            matcher.matches(dependency.getGroupId(), dependency.getArtifactId());
+            String pattern = matcher.getPattern();
+            int i = pattern.indexOf(':');
+            this.gid = pattern.substring(0, i);
+            this.aid = pattern.substring(i + 1);
+        }
+
+        @Override
+        public ModelSection<Dependency> getSection() {
+            return ModelSection.DEPENDENCIES;
+        }
+
+        @Override
+        public String getPattern() {
+            return matcher.getPattern();
+        }
+
+        @Override
+        public List<Dependency> transform(Model model, List<Dependency> dependencies) {
+            return SectionFilter.removeIf(dependencies, predicate, "dependency", model);
+        }
+
+        /** Tests whether the element to remove is known to be absent, using view indexes. */
+        private boolean absent(ModelView view, List<Dependency> elements) {
+            return matcher.isLiteral()
+                    && view.indexOf(ModelSection.DEPENDENCIES, elements, gid, aid) < 0;
+        }
+
+        @Override
+        public List<Dependency> transform(ModelView view, List<Dependency> elements) {
+            return absent(view, elements) ? elements : transform(view.getModel(), elements);
+        }
+
+        @Override
+        public Model transform(ModelView view) {
+            return absent(view, view.get(ModelSection.DEPENDENCIES))
+                    ? view.getModel()
+                    : transform(view.getModel());
+        }
+
+        @Override
+        public Model transform(Model model) {
             List<Dependency> dependencies = model.getDependencies();
-            List<Dependency> newDependencies = new ArrayList<>(dependencies.size());
-            boolean modified = false;
-            for (Dependency dependency : dependencies) {
-                if (matcher.matches(dependency.getGroupId(), dependency.getArtifactId())) {
-                    modified = true;
-                    Log.info("Removed dependency " + dependency + " from " + model);
-                } else {
-                    newDependencies.add(dependency);
-                }
-            }
-            if (modified) {
+            List<Dependency> newDependencies = transform(model, dependencies);
+            if (newDependencies != dependencies) {
                 Model newModel = model.withDependencies(newDependencies);
                 Log.diff(model, newModel);
                 return newModel;
             }
             return model;
-        };
+        }
+    }
+
+    public Transformation produceTransformation(String arg) {
+        return new Removal(GidAidMatcher.of(arg));
     }
 }
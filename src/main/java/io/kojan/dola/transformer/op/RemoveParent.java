@@ -15,37 +15,73 @@
  */
 package io.kojan.dola.transformer.op;
 
+import io.kojan.dola.transformer.DefaultPhases;
+import io.kojan.dola.transformer.EditingTransformation;
 import io.kojan.dola.transformer.GidAidMatcher;
 import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelEditor;
+import io.kojan.dola.transformer.Phase;
 import io.kojan.dola.transformer.Transformation;
+import io.kojan.dola.transformer.TransformationMetrics;
 import io.kojan.dola.transformer.Transformer;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.model.Parent;
 
+// Parent POMs are resolved while building the raw model, and the raw model is built from the
+// file model, so the parent has to be removed no later than in the raw model.
+@DefaultPhases({Phase.FILE, Phase.RAW})
 @Named("removeParent")
 @Singleton
 public class RemoveParent implements Transformer {
-    public Transformation produceTransformation(String arg) {
-        GidAidMatcher matcher = new GidAidMatcher(arg);
-        return model -> {
-            Parent parent = model.getParent();
-            if (parent != null && matcher.matches(parent.getGroupId(), parent.getArtifactId())) {
-                Model newModel = model.withParent(null);
-                Log.info("Removed parent " + parent + " from " + model);
-                if (model.getGroupId() == null) {
-                    newModel = newModel.withGroupId(parent.getGroupId());
-                    Log.info("Set groupId=" + parent.getGroupId() + " for " + model);
-                }
-                if (model.getVersion() == null) {
-                    newModel = newModel.withVersion(parent.getVersion());
-                    Log.info("Set version=" + parent.getVersion() + " for " + model);
-                }
-                Log.diff(model, newModel);
-                return newModel;
+
+    private static class Removal implements EditingTransformation {
+        private final GidAidMatcher matcher;
+
+        Removal(GidAidMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        private boolean matches(Parent parent) {
+            return parent != null && matcher.matches(parent.getGroupId(), parent.getArtifactId());
+        }
+
+        @Override
+        public boolean edit(ModelEditor editor) {
+            Parent parent = editor.getParent();
+            if (!matches(parent)) {
+                return false;
+            }
+            Model model = editor.getBase();
+            editor.setParent(null);
+            Log.info("Removed parent {} from {}", parent, model);
+            TransformationMetrics.elementsChanged(1);
+            if (editor.getGroupId() == null) {
+                editor.setGroupId(parent.getGroupId());
+                Log.info("Set groupId={} for {}", parent.getGroupId(), model);
             }
-            return model;
-        };
+            if (editor.getVersion() == null) {
+                editor.setVersion(parent.getVersion());
+                Log.info("Set version={} for {}", parent.getVersion(), model);
+            }
+            return true;
+        }
+
+        @Override
+        public Model transform(Model model) {
+            if (!matches(model.getParent())) {
+                return model;
+            }
+            ModelEditor editor = new ModelEditor(model);
+            edit(editor);
+            Model newModel = editor.build();
+            Log.diff(model, newModel);
+            return newModel;
+        }
+    }
+
+    public Transformation produceTransformation(String arg) {
+        return new Removal(GidAidMatcher.of(arg));
     }
 }
@@ -15,44 +15,94 @@
  */
 package io.kojan.dola.transformer.op;
 
+import io.kojan.dola.transformer.DefaultPhases;
 import io.kojan.dola.transformer.GidAidMatcher;
 import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.ModelView;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionFilter;
+import io.kojan.dola.transformer.SectionRemoval;
 import io.kojan.dola.transformer.Transformation;
 import io.kojan.dola.transformer.Transformer;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.api.model.Build;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.model.Plugin;
 
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
 @Named("removePlugin")
 @Singleton
 public class RemovePlugin implements Transformer {
-    public Transformation produceTransformation(String arg) {
-        GidAidMatcher matcher = new GidAidMatcher(arg);
-        return model -> {
+
+    private static class Removal implements SectionRemoval<Plugin> {
+        private final GidAidMatcher matcher;
+        private final Predicate<Plugin> predicate;
+        private final String gid;
+        private final String aid;
+
+        Removal(GidAidMatcher matcher) {
+            this.matcher = matcher;
+            this.predicate = plugin -> matcher.matches(plugin.getGroupId(), plugin.getArtifactId());
+            String pattern = matcher.getPattern();
+            int i = pattern.indexOf(':');
+            this.gid = pattern.substring(0, i);
+            this.aid = pattern.substring(i + 1);
+        }
+
+        @Override
+        public ModelSection<Plugin> getSection() {
+            return ModelSection.PLUGINS;
+        }
+
+        @Override
+        public String getPattern() {
+            return matcher.getPattern();
+        }
+
+        @Override
+        public List<Plugin> transform(Model model, List<Plugin> plugins) {
+            return SectionFilter.removeIf(plugins, predicate, "plugin", model);
+        }
+
+        /** Tests whether the element to remove is known to be absent, using view indexes. */
+        private boolean absent(ModelView view, List<Plugin> elements) {
+            return matcher.isLiteral()
+                    && view.indexOf(ModelSection.PLUGINS, elements, gid, aid) < 0;
+        }
+
+        @Override
+        public List<Plugin> transform(ModelView view, List<Plugin> elements) {
+            return absent(view, elements) ? elements : transform(view.getModel(), elements);
+        }
+
+        @Override
+        public Model transform(ModelView view) {
+            return absent(view, view.get(ModelSection.PLUGINS))
+                    ? view.getModel()
+                    : transform(view.getModel());
+        }
+
+        @Override
+        public Model transform(Model model) {
             Build build = model.getBuild();
             if (build != null) {
                 List<Plugin> plugins = build.getPlugins();
-                List<Plugin> newPlugins = new ArrayList<>(plugins.size());
-                boolean modified = false;
-                for (Plugin plugin : plugins) {
-                    if (matcher.matches(plugin.getGroupId(), plugin.getArtifactId())) {
-                        modified = true;
-                        Log.info("Removed plugin " + plugin + " from " + model);
-                    } else {
-                        newPlugins.add(plugin);
-                    }
-                }
-                if (modified) {
+                List<Plugin> newPlugins = transform(model, plugins);
+                if (newPlugins != plugins) {
                     Model newModel = model.withBuild(build.withPlugins(newPlugins));
                     Log.diff(model, newModel);
                     return newModel;
                 }
             }
             return model;
-        };
+        }
+    }
+
+    public Transformation produceTransformation(String arg) {
+        return new Removal(GidAidMatcher.of(arg));
     }
 }
@@ -15,39 +15,86 @@
  */
 package io.kojan.dola.transformer.op;
 
+import io.kojan.dola.transformer.DefaultPhases;
 import io.kojan.dola.transformer.GlobMatcher;
 import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.ModelView;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.SectionFilter;
+import io.kojan.dola.transformer.SectionRemoval;
 import io.kojan.dola.transformer.Transformation;
 import io.kojan.dola.transformer.Transformer;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.api.model.Model;
 
+// Subprojects are discovered from file models and are not inherited, so they do not need to be
+// removed from effective models.
+@DefaultPhases({Phase.FILE, Phase.RAW})
 @Named("removeSubproject")
 @Singleton
 public class RemoveSubproject implements Transformer {
-    public Transformation produceTransformation(String arg) {
-        GlobMatcher matcher = new GlobMatcher(arg);
-        return model -> {
+
+    private static class Removal implements SectionRemoval<String> {
+        private final GlobMatcher matcher;
+        private final Predicate<String> predicate;
+
+        Removal(GlobMatcher matcher) {
+            this.matcher = matcher;
+            this.predicate = matcher::matches;
+        }
+
+        @Override
+        public ModelSection<String> getSection() {
+            return ModelSection.SUBPROJECTS;
+        }
+
+        @Override
+        public String getPattern() {
+            return matcher.getGlob();
+        }
+
+        @Override
+        public List<String> transform(Model model, List<String> subprojects) {
+            return SectionFilter.removeIf(subprojects, predicate, "subproject", model);
+        }
+
+        /** Tests whether the element to remove is known to be absent, using view indexes. */
+        private boolean absent(ModelView view, List<String> elements) {
+            return matcher.isLiteral()
+                    && view.indexOf(ModelSection.SUBPROJECTS, elements, matcher.getGlob(), null)
+                            < 0;
+        }
+
+        @Override
+        public List<String> transform(ModelView view, List<String> elements) {
+            return absent(view, elements) ? elements : transform(view.getModel(), elements);
+        }
+
+        @Override
+        public Model transform(ModelView view) {
+            return absent(view, view.get(ModelSection.SUBPROJECTS))
+                    ? view.getModel()
+                    : transform(view.getModel());
+        }
+
+        @Override
+        public Model transform(Model model) {
             List<String> subprojects = model.getSubprojects();
-            List<String> newSubprojects = new ArrayList<>(subprojects.size());
-            boolean modified = false;
-            for (String subproject : subprojects) {
-                if (matcher.matches(subproject)) {
-                    modified = true;
-                    Log.info("Removed subproject " + subproject + " from " + model);
-                } else {
-                    newSubprojects.add(subproject);
-                }
-            }
-            if (modified) {
+            List<String> newSubprojects = transform(model, subprojects);
+            if (newSubprojects != subprojects) {
                 Model newModel = model.withSubprojects(newSubprojects);
                 Log.diff(model, newModel);
                 return newModel;
             }
             return model;
-        };
+        }
+    }
+
+    public Transformation produceTransformation(String arg) {
+        return new Removal(GlobMatcher.of(arg));
     }
 }
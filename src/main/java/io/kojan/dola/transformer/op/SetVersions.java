@@ -0,0 +1,157 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import io.kojan.dola.transformer.DefaultPhases;
+import io.kojan.dola.transformer.EditingTransformation;
+import io.kojan.dola.transformer.Log;
+import io.kojan.dola.transformer.ModelEditor;
+import io.kojan.dola.transformer.ModelSection;
+import io.kojan.dola.transformer.Phase;
+import io.kojan.dola.transformer.Transformation;
+import io.kojan.dola.transformer.TransformationMetrics;
+import io.kojan.dola.transformer.Transformer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+
+/**
+ * Sets versions of dependencies and managed dependencies from a table.
+ *
+ * <p>The argument is a path to a file with one {@code groupId:artifactId=version} entry per line.
+ * Blank lines and lines starting with {@code #} are ignored. Every dependency or managed dependency
+ * with an explicit version, including a version range, whose coordinates are listed in the table
+ * gets the version from the table. Dependencies without a version are left to dependency
+ * management. Each section is processed in a single pass with one hash lookup per element,
+ * regardless of the size of the table.
+ */
+@DefaultPhases({Phase.RAW, Phase.EFFECTIVE})
+@Named("setVersions")
+@Singleton
+public class SetVersions implements Transformer {
+
+    private static final List<ModelSection<Dependency>> SECTIONS =
+            List.of(ModelSection.DEPENDENCIES, ModelSection.MANAGED_DEPENDENCIES);
+
+    private static Map<String, Map<String, String>> readTable(Path file) {
+        Map<String, Map<String, String>> table = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                int eq = line.indexOf('=', colon + 1);
+                if (colon <= 0 || eq <= colon + 1 || eq == line.length() - 1) {
+                    throw new IllegalArgumentException(
+                            file
+                                    + ":"
+                                    + lineNumber
+                                    + ": expected groupId:artifactId=version: "
+                                    + line);
+                }
+                table.computeIfAbsent(line.substring(0, colon).strip(), gid -> new HashMap<>())
+                        .put(line.substring(colon + 1, eq).strip(), line.substring(eq + 1).strip());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return table;
+    }
+
+    private static class Alignment implements EditingTransformation {
+        private final Map<String, Map<String, String>> table;
+
+        Alignment(Map<String, Map<String, String>> table) {
+            this.table = table;
+        }
+
+        private List<Dependency> transform(
+                Model model, ModelSection<Dependency> section, List<Dependency> dependencies) {
+            List<Dependency> result = null;
+            for (int i = 0; i < dependencies.size(); i++) {
+                Dependency dependency = dependencies.get(i);
+                String version = dependency.getVersion();
+                if (version != null) {
+                    Map<String, String> versions = table.get(dependency.getGroupId());
+                    String newVersion =
+                            versions != null ? versions.get(dependency.getArtifactId()) : null;
+                    if (newVersion != null && !newVersion.equals(version)) {
+                        if (result == null) {
+                            result = new ArrayList<>(dependencies);
+                        }
+                        result.set(i, dependency.withVersion(newVersion));
+                        Log.info(
+                                "Set version {} of {} {} in {}",
+                                newVersion,
+                                section.getName(),
+                                dependency,
+                                model);
+                        TransformationMetrics.elementsChanged(1);
+                    }
+                }
+            }
+            return result != null ? result : dependencies;
+        }
+
+        @Override
+        public boolean edit(ModelEditor editor) {
+            boolean changed = false;
+            for (ModelSection<Dependency> section : SECTIONS) {
+                List<Dependency> dependencies = editor.get(section);
+                List<Dependency> newDependencies =
+                        transform(editor.getBase(), section, dependencies);
+                if (newDependencies != dependencies) {
+                    editor.set(section, newDependencies);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public Model transform(Model model) {
+            ModelEditor editor = new ModelEditor(model);
+            if (!edit(editor)) {
+                return model;
+            }
+            Model newModel = editor.build();
+            Log.diff(model, newModel);
+            return newModel;
+        }
+    }
+
+    @Override
+    public Transformation produceTransformation(String arg) {
+        Map<String, Map<String, String>> table = readTable(Path.of(arg));
+        Log.debug("loaded {} group IDs from version table {}", table.size(), arg);
+        return new Alignment(table);
+    }
+}
@@ -0,0 +1,160 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChangeReportTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private static Model model(String aid) {
+        return Model.newBuilder()
+                .groupId("org.app")
+                .artifactId(aid)
+                .version("1")
+                .parent(
+                        Parent.newBuilder()
+                                .groupId("org.parent")
+                                .artifactId("parent")
+                                .version("1")
+                                .build())
+                .dependencies(
+                        List.of(
+                                Dependency.newBuilder()
+                                        .groupId("org.foo")
+                                        .artifactId("bar")
+                                        .version("1")
+                                        .build()))
+                .build();
+    }
+
+    @Test
+    public void testChangesGroupedAndDeduplicated(@TempDir Path dir) throws Exception {
+        SelectiveTransformation removeParent =
+                new SelectiveTransformation(
+                        List.of(),
+                        new RemoveParent().produceTransformation("org.parent:parent"),
+                        "removeParent org.parent:parent");
+        SelectiveTransformation removeDependency =
+                new SelectiveTransformation(
+                        List.of(new GidAidMatcher("org.app:one")),
+                        new RemoveDependency().produceTransformation("org.foo:bar"),
+                        "removeDependency org.foo:bar");
+        TransformationPlan raw = new TransformationPlan(List.of(removeParent, removeDependency));
+        TransformationPlan effective = new TransformationPlan(List.of(removeParent));
+        Path file = dir.resolve("changes.txt");
+        ChangeReport report = new ChangeReport(List.of(raw, effective), file, false);
+
+        ChangeReport previous = report.enter();
+        try {
+            assertSame(report, ChangeReport.current());
+            for (String aid : List.of("one", "two", "three")) {
+                raw.transform(model(aid));
+                effective.transform(model(aid));
+            }
+            Log.info("Unrelated change to {}", "org.app:one");
+        } finally {
+            ChangeReport.exit(previous);
+        }
+        assertNull(ChangeReport.current());
+
+        String expected =
+                "Transformation[removeParent org.parent:parent]"
+                        + NL
+                        + "    Removed parent org.parent:parent:pom:1 (3 models)"
+                        + NL
+                        + "Transformation[removeDependency org.foo:bar]"
+                        + NL
+                        + "    Removed dependency "
+                        + model("one").getDependencies().get(0)
+                        + " (1 model)"
+                        + NL
+                        + "Other changes"
+                        + NL
+                        + "    Unrelated change (1 model)"
+                        + NL;
+        assertEquals(expected, report.format());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        report.write(new PrintStream(bos, true, StandardCharsets.UTF_8));
+        assertEquals("DOLA: Change report" + NL + expected, bos.toString(StandardCharsets.UTF_8));
+        assertEquals(expected, Files.readString(file));
+    }
+
+    @Test
+    public void testFusedRemovalsAreAttributedToInstructions(@TempDir Path dir) {
+        SelectiveTransformation removeBar =
+                new SelectiveTransformation(
+                        List.of(),
+                        new RemoveDependency().produceTransformation("org.foo:bar"),
+                        "removeDependency org.foo:bar");
+        SelectiveTransformation removeBaz =
+                new SelectiveTransformation(
+                        List.of(),
+                        new RemoveDependency().produceTransformation("org.foo:baz"),
+                        "removeDependency org.foo:baz");
+        TransformationPlan plan = new TransformationPlan(List.of(removeBar, removeBaz));
+        ChangeReport report = new ChangeReport(List.of(plan), dir.resolve("changes.txt"), false);
+        Model model = model("one");
+        Dependency bar = model.getDependencies().get(0);
+        Dependency baz = bar.withArtifactId("baz");
+        model = model.withDependencies(List.of(baz, bar));
+
+        ChangeReport previous = report.enter();
+        try {
+            assertEquals(List.of(), plan.transform(model).getDependencies());
+        } finally {
+            ChangeReport.exit(previous);
+        }
+
+        assertEquals(
+                "Transformation[removeDependency org.foo:bar]"
+                        + NL
+                        + "    Removed dependency "
+                        + bar
+                        + " (1 model)"
+                        + NL
+                        + "Transformation[removeDependency org.foo:baz]"
+                        + NL
+                        + "    Removed dependency "
+                        + baz
+                        + " (1 model)"
+                        + NL,
+                report.format());
+    }
+
+    @Test
+    public void testNothingChanged(@TempDir Path dir) {
+        ChangeReport report = new ChangeReport(List.of(), dir.resolve("changes.txt"), true);
+        assertTrue(report.isVerbose());
+        assertEquals("", report.format());
+    }
+}
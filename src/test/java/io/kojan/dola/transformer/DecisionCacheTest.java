@@ -0,0 +1,257 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.SetVersions;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DecisionCacheTest {
+
+    private static final byte[] FINGERPRINT = new byte[32];
+
+    @TempDir Path dir;
+
+    private static Model model(String aid, String... dependencies) {
+        return Model.newBuilder()
+                .groupId("org.foo")
+                .artifactId(aid)
+                .dependencies(
+                        Stream.of(dependencies)
+                                .map(
+                                        d ->
+                                                Dependency.newBuilder()
+                                                        .groupId("g")
+                                                        .artifactId(d)
+                                                        .build())
+                                .toList())
+                .build();
+    }
+
+    private static List<String> ids(Model model) {
+        return model.getDependencies().stream().map(Dependency::getArtifactId).toList();
+    }
+
+    private static TransformationPlan plan() {
+        RemoveDependency remove = new RemoveDependency();
+        return new TransformationPlan(
+                List.of(
+                        remove.produceTransformation("g:a"),
+                        new AddDependency().produceTransformation("g:added:1"),
+                        remove.produceTransformation("g:b"),
+                        remove.produceTransformation("g:c")));
+    }
+
+    private DecisionCache open() {
+        return DecisionCache.open(dir, FINGERPRINT, "all", 4);
+    }
+
+    private Path cacheFile() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    @Test
+    public void testDecisionsAreReusedByLaterBuilds() {
+        Model unchanged = model("app", "added", "x");
+        Model changed = model("lib", "a", "x", "c");
+
+        DecisionCache first = open();
+        TransformationPlan plan = plan();
+        assertSame(unchanged, first.transform(plan, unchanged));
+        assertEquals(List.of("x", "added"), ids(first.transform(plan, changed)));
+        assertEquals(2, first.getMisses());
+        first.flush();
+
+        DecisionCache second = open();
+        TransformationPlan replay = plan();
+        Model equal = model("app", "added", "x");
+        assertSame(equal, second.transform(replay, equal));
+        assertEquals(0, replay.getModelCount());
+        assertEquals(List.of("x", "added"), ids(second.transform(replay, changed)));
+        assertEquals(2, second.getHits());
+        assertEquals(0, second.getMisses());
+        // Only removal of g:a, addition and removal of g:c changed the model
+        assertEquals(1, replay.getMetrics(0).getModified());
+        assertEquals(0, replay.getMetrics(2).getInvocations());
+    }
+
+    @Test
+    public void testTornRecordIsTruncated() throws Exception {
+        DecisionCache first = open();
+        first.transform(plan(), model("app", "x"));
+        first.flush();
+        Path file = cacheFile();
+        long size = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 2, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        DecisionCache cache = open();
+        cache.transform(plan(), model("lib", "y"));
+        assertEquals(1, cache.getMisses());
+        cache.flush();
+        assertTrue(Files.size(file) > size);
+
+        DecisionCache later = open();
+        later.transform(plan(), model("app", "x"));
+        later.transform(plan(), model("lib", "y"));
+        assertEquals(2, later.getHits());
+    }
+
+    @Test
+    public void testRecordsOfOtherProcessesArePickedUp() {
+        DecisionCache one = open();
+        DecisionCache two = open();
+        one.transform(plan(), model("app", "x"));
+        one.flush();
+        two.transform(plan(), model("lib", "y"));
+        two.flush();
+        one.transform(plan(), model("other", "z"));
+        one.flush();
+
+        DecisionCache three = open();
+        three.transform(plan(), model("app", "x"));
+        three.transform(plan(), model("lib", "y"));
+        three.transform(plan(), model("other", "z"));
+        assertEquals(3, three.getHits());
+    }
+
+    @Test
+    public void testCorruptFileIsReplaced() throws Exception {
+        DecisionCache first = open();
+        first.transform(plan(), model("app", "x"));
+        first.flush();
+        Path file = cacheFile();
+        Files.write(file, "garbage".getBytes(StandardCharsets.UTF_8));
+
+        DecisionCache cache = open();
+        assertEquals(List.of("x", "added"), ids(cache.transform(plan(), model("app", "x"))));
+        assertEquals(1, cache.getMisses());
+        cache.flush();
+        DecisionCache later = open();
+        assertEquals(List.of("x", "added"), ids(later.transform(plan(), model("app", "x"))));
+        assertEquals(1, later.getHits());
+    }
+
+    @Test
+    public void testDecisionsAreWrittenInBatches() throws Exception {
+        DecisionCache cache = open();
+        for (int i = 0; i < 300; i++) {
+            cache.transform(plan(), model("app" + i, "x"));
+        }
+        long size = Files.size(cacheFile());
+        cache.transform(plan(), model("app", "x"));
+        assertEquals(size, Files.size(cacheFile()));
+        cache.flush();
+        assertTrue(Files.size(cacheFile()) > size);
+        DecisionCache later = open();
+        for (int i = 0; i < 300; i++) {
+            later.transform(plan(), model("app" + i, "x"));
+        }
+        assertEquals(300, later.getHits());
+    }
+
+    @Test
+    public void testStaleRecordsAreCompacted() throws Exception {
+        DecisionCache first = open();
+        for (int i = 0; i < 2000; i++) {
+            first.transform(plan(), model("app" + i, "x"));
+        }
+        first.flush();
+        long size = Files.size(cacheFile());
+
+        DecisionCache one = open();
+        DecisionCache two = open();
+        two.transform(plan(), model("app1", "x"));
+        two.flush();
+        assertTrue(Files.size(cacheFile()) < size / 100);
+        one.transform(plan(), model("lib", "y"));
+        one.flush();
+
+        DecisionCache later = open();
+        later.transform(plan(), model("app1", "x"));
+        later.transform(plan(), model("lib", "y"));
+        assertEquals(2, later.getHits());
+        later.transform(plan(), model("app2", "x"));
+        assertEquals(1, later.getMisses());
+    }
+
+    @Test
+    public void testModelsWithEqualKeysShareDecisions() {
+        Map<String, String> ab = new LinkedHashMap<>();
+        ab.put("a", "1");
+        ab.put("b", "2");
+        Map<String, String> ba = new LinkedHashMap<>();
+        ba.put("b", "2");
+        ba.put("a", "1");
+        Model a = model("app", "x").withProperties(ab);
+        Model b = model("app", "x").withProperties(ba);
+        assertEquals(new ModelKey(a), new ModelKey(b));
+        DecisionCache cache = open();
+        cache.transform(plan(), a);
+        cache.transform(plan(), b);
+        assertEquals(1, cache.getHits());
+        cache.transform(plan(), a.withProperties(Map.of("a", "2", "b", "1")));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testFileLockedInSameProcessIsSkipped() throws Exception {
+        DecisionCache first = open();
+        first.transform(plan(), model("app", "x"));
+        first.flush();
+        try (FileChannel channel = FileChannel.open(cacheFile(), StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            DecisionCache cache = open();
+            assertEquals(List.of("x", "added"), ids(cache.transform(plan(), model("app", "x"))));
+            assertEquals(1, cache.getMisses());
+            cache.flush();
+        }
+    }
+
+    @Test
+    public void testFingerprintCoversArgumentFiles() throws Exception {
+        Path table = dir.resolve("versions.txt");
+        Files.writeString(table, "g:a=1\n");
+        Map<String, Transformer> transformers = Map.of("setVersions", new SetVersions());
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insn.setVersions", table.toString());
+        byte[] before = TransformationParser.parse(transformers, properties, true).fingerprint();
+        assertArrayEquals(
+                before, TransformationParser.parse(transformers, properties, true).fingerprint());
+        Files.writeString(table, "g:a=2\n");
+        byte[] after = TransformationParser.parse(transformers, properties, true).fingerprint();
+        assertFalse(Arrays.equals(before, after));
+    }
+}
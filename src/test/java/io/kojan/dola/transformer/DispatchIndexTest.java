@@ -0,0 +1,91 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DispatchIndexTest {
+
+    private static Transformation selective(String... selectors) {
+        return new SelectiveTransformation(
+                List.of(selectors).stream().map(GidAidMatcher::new).toList(),
+                model -> model,
+                String.join(",", selectors));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    @Test
+    public void testExactSelectors() {
+        DispatchIndex index =
+                new DispatchIndex(
+                        List.of(selective("com.example:foo"), selective("com.example:bar")));
+        assertEquals(bits(0), index.select("com.example", "foo"));
+        assertEquals(bits(1), index.select("com.example", "bar"));
+        assertEquals(bits(), index.select("com.example", "baz"));
+        assertEquals(bits(), index.select("comXexample", "foo"));
+    }
+
+    @Test
+    public void testPrefixSelectors() {
+        DispatchIndex index =
+                new DispatchIndex(
+                        List.of(
+                                selective("org.apache.*:*"),
+                                selective("org.apache.maven:maven-*"),
+                                selective("org.apache.maven:"),
+                                selective("org.apache.maven:*-plugin")));
+        assertEquals(bits(0, 1, 2), index.select("org.apache.maven", "maven-core"));
+        assertEquals(bits(0, 2, 3), index.select("org.apache.maven", "foo-plugin"));
+        assertEquals(bits(0), index.select("org.apache.commons", "commons-io"));
+        assertEquals(bits(), index.select("org.example", "maven-core"));
+    }
+
+    @Test
+    public void testFallbackAndUnconditional() {
+        DispatchIndex index =
+                new DispatchIndex(
+                        List.of(
+                                selective("*:junit"),
+                                selective(":"),
+                                selective(),
+                                model -> model,
+                                selective("?om.example:foo")));
+        assertEquals(bits(0, 1, 2, 3), index.select("junit", "junit"));
+        assertEquals(bits(1, 2, 3, 4), index.select("com.example", "foo"));
+        assertEquals(bits(2, 3), index.select(null, "foo"));
+    }
+
+    @Test
+    public void testMultipleSelectorsOfDifferentShape() {
+        DispatchIndex index =
+                new DispatchIndex(List.of(selective("a:b", "c.*:d", "*:e"), selective("a:b")));
+        assertEquals(bits(0, 1), index.select("a", "b"));
+        assertEquals(bits(0), index.select("c.x", "d"));
+        assertEquals(bits(0), index.select("x", "e"));
+        assertEquals(bits(), index.select("x", "f"));
+    }
+}
@@ -0,0 +1,302 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import io.kojan.dola.transformer.op.RemoveSubproject;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives a single {@link DolaTransformer} from many threads at once, as Maven parallel model
+ * builder does, and checks that results and shared state are the same as in sequential runs.
+ */
+public class DolaTransformerStressTest {
+
+    private static final int MODELS = 2000;
+    private static final int PASSES = 3;
+
+    private static DolaTransformer transformer(boolean cache) {
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.cache", cache ? "1" : "0");
+        properties.setProperty("dola.transformer.metrics", "1");
+        properties.setProperty("dola.transformer.metricsFile", "target/dola-stress-metrics.json");
+        properties.setProperty("dola.transformer.insn.01.removeDependency", "org.drop:*");
+        properties.setProperty(
+                "dola.transformer.insn.02.removeDependency", "*:junk-*@org.app:mod1*");
+        properties.setProperty("dola.transformer.insn.03.removePlugin", "org.plugins:lint");
+        properties.setProperty(
+                "dola.transformer.insn.04.addDependency",
+                "org.added:extra@(org.app:mod2*,org.app:mod3*)");
+        properties.setProperty("dola.transformer.insn.05.removeParent", "org.parent:*@*:mod4*");
+        properties.setProperty("dola.transformer.insn.06.removeSubproject", "tests-*");
+        return new DolaTransformer(
+                Map.of(
+                        "addDependency", new AddDependency(),
+                        "removeDependency", new RemoveDependency(),
+                        "removeParent", new RemoveParent(),
+                        "removePlugin", new RemovePlugin(),
+                        "removeSubproject", new RemoveSubproject()),
+                properties);
+    }
+
+    private static List<Model> models() {
+        List<Model> models = new ArrayList<>();
+        for (int i = 0; i < MODELS; i++) {
+            List<Dependency> dependencies = new ArrayList<>();
+            for (int j = 0; j < 20; j++) {
+                String gid = j % 5 == 0 ? "org.drop" : "org.lib" + j;
+                String aid = j % 3 == 0 ? "junk-" + j : "lib-" + j;
+                dependencies.add(Dependency.newBuilder().groupId(gid).artifactId(aid).build());
+            }
+            List<Plugin> plugins =
+                    List.of(
+                            Plugin.newBuilder().groupId("org.plugins").artifactId("lint").build(),
+                            Plugin.newBuilder().groupId("org.plugins").artifactId("jar").build());
+            Model.Builder builder =
+                    Model.newBuilder()
+                            .groupId("org.app")
+                            .artifactId("mod" + i)
+                            .dependencies(dependencies)
+                            .build(Build.newBuilder().plugins(plugins).build())
+                            .subprojects(List.of("core", "tests-" + i));
+            if (i % 3 == 0) {
+                builder.parent(
+                        Parent.newBuilder()
+                                .groupId("org.parent")
+                                .artifactId("parent")
+                                .version("1")
+                                .build());
+            }
+            models.add(builder.build());
+        }
+        return models;
+    }
+
+    private static String fingerprint(Model model) {
+        return model.getGroupId()
+                + ":"
+                + model.getArtifactId()
+                + ":"
+                + model.getVersion()
+                + " parent="
+                + (model.getParent() != null)
+                + " deps="
+                + model.getDependencies().stream()
+                        .map(d -> d.getGroupId() + ":" + d.getArtifactId())
+                        .collect(Collectors.joining(","))
+                + " plugins="
+                + model.getBuild().getPlugins().stream()
+                        .map(Plugin::getArtifactId)
+                        .collect(Collectors.joining(","))
+                + " subprojects="
+                + model.getSubprojects();
+    }
+
+    private static ExecutorService virtualThreads() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Transforms all models {@code passes} times, split among {@code tasks} tasks. */
+    private static String[] run(
+            DolaTransformer transformer,
+            List<Model> models,
+            ExecutorService executor,
+            int tasks,
+            int passes)
+            throws Exception {
+        String[] results = new String[models.size()];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < tasks; t++) {
+            int task = t;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int pass = 0; pass < passes; pass++) {
+                                    for (int i = task; i < models.size(); i += tasks) {
+                                        // Start each task at a different offset in every pass
+                                        int k = (i + pass * 7919) % models.size();
+                                        String result =
+                                                fingerprint(transformer.transform(models.get(k)));
+                                        synchronized (results) {
+                                            if (results[k] == null) {
+                                                results[k] = result;
+                                            } else {
+                                                assertEquals(results[k], result);
+                                            }
+                                        }
+                                    }
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return results;
+    }
+
+    private static long sum(
+            DolaTransformer transformer,
+            java.util.function.ToLongFunction<TransformationMetrics> getter) {
+        long sum = 0;
+        for (int i = 0; i < transformer.getPlan().getTransformations().size(); i++) {
+            sum += getter.applyAsLong(transformer.getPlan().getMetrics(i));
+        }
+        return sum;
+    }
+
+    @Test
+    public void testDeterministicResultsAndNoLostUpdates() throws Exception {
+        List<Model> models = models();
+        PrintStream err = System.err;
+        DolaTransformer sequential = transformer(false);
+        String[] expected;
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            System.setErr(new PrintStream(PrintStream.nullOutputStream()));
+            expected = run(sequential, models, single, 1, PASSES);
+        } finally {
+            System.setErr(err);
+            single.shutdown();
+        }
+        long expectedHits = sum(sequential, TransformationMetrics::getHits);
+        long expectedModified = sum(sequential, TransformationMetrics::getModified);
+        long expectedElements = sum(sequential, TransformationMetrics::getElements);
+        assertTrue(expectedElements > 0);
+
+        int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        List<ExecutorService> executors = new ArrayList<>();
+        executors.add(Executors.newFixedThreadPool(threads));
+        ExecutorService virtual = virtualThreads();
+        if (virtual != null) {
+            executors.add(virtual);
+        }
+
+        long expectedLogged = 0;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        try {
+            System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            for (ExecutorService executor : executors) {
+                int tasks = executor == virtual ? 64 : threads;
+
+                // Metrics must not lose updates
+                DolaTransformer uncached = transformer(false);
+                assertArrayEquals(expected, run(uncached, models, executor, tasks, PASSES));
+                assertEquals(models.size() * PASSES, uncached.getPlan().getModelCount());
+                assertEquals(expectedHits, sum(uncached, TransformationMetrics::getHits));
+                assertEquals(expectedModified, sum(uncached, TransformationMetrics::getModified));
+                assertEquals(expectedElements, sum(uncached, TransformationMetrics::getElements));
+
+                // Cache must be consistent with the plan and return same results
+                DolaTransformer cached = transformer(true);
+                assertArrayEquals(expected, run(cached, models, executor, tasks, PASSES));
+                TransformationCache cache = cached.getCache();
+                assertEquals(models.size() * PASSES, cache.getHits() + cache.getMisses());
+                assertEquals(cache.getMisses(), cached.getPlan().getModelCount());
+
+                expectedLogged +=
+                        expectedElements + sum(cached, TransformationMetrics::getElements);
+            }
+        } finally {
+            System.setErr(err);
+            for (ExecutorService executor : executors) {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            }
+        }
+
+        // Every change is logged exactly once, in whole lines, unless messages go to Maven logger
+        String[] lines = captured.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        long logged = 0;
+        for (String line : lines) {
+            if (line.startsWith("DOLA: -> Removed ") || line.startsWith("DOLA: -> Added ")) {
+                logged++;
+            } else if (line.startsWith("DOLA: -> Set ")) {
+                continue;
+            } else if (line.contains("DOLA:")) {
+                fail("garbled log line: " + line);
+            }
+        }
+        if (logged > 0) {
+            assertEquals(expectedLogged, logged);
+        }
+    }
+
+    @Test
+    public void testThroughputScaling() throws Exception {
+        List<Model> models = models();
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = 0;
+        double best = 0;
+        PrintStream err = System.err;
+        try {
+            System.setErr(new PrintStream(PrintStream.nullOutputStream()));
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                DolaTransformer transformer = transformer(false);
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                try {
+                    run(transformer, models, executor, threads, 1);
+                    long start = System.nanoTime();
+                    run(transformer, models, executor, threads, PASSES);
+                    double throughput = models.size() * PASSES * 1e9 / (System.nanoTime() - start);
+                    err.printf(
+                            "DolaTransformer throughput: %2d threads %10.0f models/s%n",
+                            threads, throughput);
+                    if (threads == 1) {
+                        single = throughput;
+                    }
+                    best = Math.max(best, throughput);
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        } finally {
+            System.setErr(err);
+        }
+        // Loose bound, so that the test is not sensitive to load of the build machine, but
+        // still catches serialization that makes parallel builds slower than sequential ones
+        assertTrue(best >= 0.5 * single, "parallel throughput collapsed");
+    }
+}
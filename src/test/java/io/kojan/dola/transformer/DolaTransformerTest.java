@@ -0,0 +1,136 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DolaTransformerTest {
+
+    private static DolaTransformer transformer(Properties properties) {
+        properties.setProperty("dola.transformer.cache", "0");
+        return new DolaTransformer(
+                Map.of("removeParent", new RemoveParent(), "removePlugin", new RemovePlugin()),
+                properties);
+    }
+
+    private static Model model() {
+        return Model.newBuilder()
+                .groupId("org.app")
+                .artifactId("app")
+                .version("1")
+                .parent(
+                        Parent.newBuilder()
+                                .groupId("org.parent")
+                                .artifactId("parent")
+                                .version("1")
+                                .build())
+                .build(
+                        Build.newBuilder()
+                                .plugins(
+                                        List.of(
+                                                Plugin.newBuilder()
+                                                        .groupId("org.plugins")
+                                                        .artifactId("lint")
+                                                        .build()))
+                                .build())
+                .build();
+    }
+
+    @Test
+    public void testDefaultPhases() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insn.removeParent", "org.parent:parent");
+        properties.setProperty("dola.transformer.insn.removePlugin", "org.plugins:lint");
+        DolaTransformer transformer = transformer(properties);
+
+        Model file = transformer.transformFileModel(model());
+        assertNull(file.getParent());
+        assertEquals(1, file.getBuild().getPlugins().size());
+
+        Model effective = transformer.transformEffectiveModel(model());
+        assertNotNull(effective.getParent());
+        assertTrue(effective.getBuild().getPlugins().isEmpty());
+
+        Model raw = transformer.transformRawModel(model());
+        assertNull(raw.getParent());
+        assertTrue(raw.getBuild().getPlugins().isEmpty());
+
+        assertEquals(2, transformer.getPlan().getTransformations().size());
+        assertEquals(1, transformer.getPlan(Phase.FILE).getTransformations().size());
+        assertEquals(2, transformer.getPlan(Phase.RAW).getTransformations().size());
+        assertEquals(1, transformer.getPlan(Phase.EFFECTIVE).getTransformations().size());
+    }
+
+    @Test
+    public void testExplicitPhases() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insn.removePlugin.file", "org.plugins:lint");
+        properties.setProperty(
+                "dola.transformer.insn.x.removeParent.effective+raw", "org.parent:parent");
+        DolaTransformer transformer = transformer(properties);
+
+        Model file = transformer.transformFileModel(model());
+        assertNotNull(file.getParent());
+        assertTrue(file.getBuild().getPlugins().isEmpty());
+
+        Model effective = transformer.transformEffectiveModel(model());
+        assertNull(effective.getParent());
+        assertEquals(1, effective.getBuild().getPlugins().size());
+
+        Model all = transformer.transform(model());
+        assertNull(all.getParent());
+        assertTrue(all.getBuild().getPlugins().isEmpty());
+    }
+
+    @Test
+    public void testDecisionCacheIsSharedByLaterBuilds(@TempDir Path dir) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insn.removeParent", "org.parent:parent");
+        properties.setProperty("dola.transformer.insn.removePlugin", "org.plugins:lint");
+        properties.setProperty("dola.transformer.decisionCache", dir.toString());
+
+        DolaTransformer earlier = transformer(properties);
+        Model first = earlier.transformRawModel(model());
+        assertNull(first.getParent());
+        assertTrue(first.getBuild().getPlugins().isEmpty());
+        // Decisions are written at the end of the session
+        earlier.getDecisionCache(Phase.RAW).flush();
+
+        DolaTransformer later = transformer(properties);
+        Model second = later.transformRawModel(model());
+        assertNull(second.getParent());
+        assertEquals("1", second.getVersion());
+        assertTrue(second.getBuild().getPlugins().isEmpty());
+        assertEquals(1, later.getDecisionCache(Phase.RAW).getHits());
+
+        properties.setProperty("dola.transformer.insn.removePlugin", "org.plugins:other");
+        Model changed = transformer(properties).transformRawModel(model());
+        assertEquals(1, changed.getBuild().getPlugins().size());
+    }
+}
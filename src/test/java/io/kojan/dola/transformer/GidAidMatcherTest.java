@@ -17,6 +17,8 @@ package io.kojan.dola.transformer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+import java.util.Properties;
 import org.junit.jupiter.api.Test;
 
 public class GidAidMatcherTest {
@@ -70,4 +72,86 @@ public class GidAidMatcherTest {
         assertTrue(matcher.matches("anything", "anything"));
         assertTrue(matcher.matches("", ""));
     }
+
+    @Test
+    public void testSharedMatchers() {
+        GidAidMatcher matcher = GidAidMatcher.of("com.example:my-*");
+        assertSame(matcher, GidAidMatcher.of("com.example:my-*"));
+        assertSame(matcher, ModelSelector.parse("com.example:my-*"));
+        assertNotSame(matcher, GidAidMatcher.of("com.example:other"));
+        assertTrue(matcher.matches("com.example", "my-artifact"));
+        assertFalse(matcher.matches("com.example", "other"));
+    }
+
+    @Test
+    public void testMemo() {
+        GidAidMatcher matcher = new GidAidMatcher("org.*.maven:*-plugin-*");
+        MatchMemo previous = GidAidMatcher.getMemo();
+        MatchMemo memo = new MatchMemo(4, true);
+        GidAidMatcher.setMemo(memo);
+        try {
+            assertTrue(matcher.isMemoized());
+            for (int i = 0; i < 3; i++) {
+                assertTrue(matcher.matches("org.apache.maven", "maven-plugin-api"));
+                assertFalse(matcher.matches("org.apache.maven", "maven-core"));
+                assertFalse(matcher.matches("org.apache", "maven-plugin-api"));
+            }
+            assertTrue(memo.getHits() > 0);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(
+                        i % 2 == 0,
+                        matcher.matches(
+                                "org.x" + i + ".maven", (i % 2 == 0 ? "a-plugin-" : "a") + i));
+            }
+            assertFalse(matcher.matches(null, "maven-plugin-api"));
+            assertTrue(matcher.matches("org.apache.maven", "maven-plugin-api"));
+            assertFalse(new GidAidMatcher("org.apache.*:*-plugin").isMemoized());
+            assertEquals(memo.getHits(), GidAidMatcher.getMemoHits());
+            assertEquals(4, memo.size());
+        } finally {
+            GidAidMatcher.setMemo(previous);
+        }
+    }
+
+    @Test
+    public void testMemoIsBoundedAndConfiguredPerSession() {
+        MatchMemo previous = GidAidMatcher.getMemo();
+        try {
+            Properties properties = new Properties();
+            assertNull(MatchMemo.of(properties));
+            properties.setProperty("dola.transformer.matchMemo", "100");
+            MatchMemo memo = MatchMemo.of(properties);
+            assertEquals(128, memo.size());
+            assertFalse(memo.isCounted());
+            properties.setProperty("dola.transformer.matchMemo", "100000000");
+            properties.setProperty("dola.transformer.metrics", "1");
+            memo = MatchMemo.of(properties);
+            assertEquals(1 << 20, memo.size());
+            assertTrue(memo.isCounted());
+            TransformationParser.parseFromProperties(Map.of(), properties);
+            assertNotSame(memo, GidAidMatcher.getMemo());
+            assertEquals(1 << 20, GidAidMatcher.getMemo().size());
+            properties.remove("dola.transformer.matchMemo");
+            TransformationParser.parseFromProperties(Map.of(), properties);
+            assertNull(GidAidMatcher.getMemo());
+        } finally {
+            GidAidMatcher.setMemo(previous);
+        }
+    }
+
+    @Test
+    public void testMemoNotCountedWithoutMetrics() {
+        GidAidMatcher matcher = new GidAidMatcher("org.*.maven:*-plugin-*");
+        MatchMemo previous = GidAidMatcher.getMemo();
+        MatchMemo memo = new MatchMemo(16, false);
+        GidAidMatcher.setMemo(memo);
+        try {
+            assertTrue(matcher.matches("org.apache.maven", "maven-plugin-api"));
+            assertTrue(matcher.matches("org.apache.maven", "maven-plugin-api"));
+            assertEquals(0, memo.getHits());
+            assertEquals(0, memo.getMisses());
+        } finally {
+            GidAidMatcher.setMemo(previous);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class GlobAutomatonTest {
+
+    @Test
+    public void testReportsAllMatchingPatterns() {
+        GlobAutomaton automaton =
+                new GlobAutomaton(
+                        List.of(
+                                "junit:junit",
+                                "org.apache.*:*",
+                                "*:*-plugin",
+                                ":",
+                                "org.*:maven-?"),
+                        2);
+        assertEquals(5, automaton.size());
+        assertArrayEquals(new int[] {0, 3}, automaton.match("junit", "junit"));
+        assertArrayEquals(
+                new int[] {1, 2, 3}, automaton.match("org.apache.maven", "compiler-plugin"));
+        assertArrayEquals(new int[] {3, 4}, automaton.match("org.foo", "maven-x"));
+        assertArrayEquals(new int[] {}, automaton.match(null, "junit"));
+    }
+
+    @Test
+    public void testWildcardsDoNotCrossParts() {
+        GlobAutomaton automaton = new GlobAutomaton(List.of("a*c:d", "a?b:c", "a:*"), 2);
+        assertArrayEquals(new int[] {2}, automaton.match("a", "xc:d"));
+        assertArrayEquals(new int[] {1}, automaton.match("a:b", "c"));
+        assertArrayEquals(new int[] {0}, automaton.match("a:c", "d"));
+    }
+
+    @Test
+    public void testSinglePartKeys() {
+        GlobAutomaton automaton = new GlobAutomaton(List.of("modules-*", "core", "*"), 1);
+        assertArrayEquals(new int[] {0, 2}, automaton.match("modules-api"));
+        assertArrayEquals(new int[] {1, 2}, automaton.match("core"));
+        assertThrows(IllegalStateException.class, () -> automaton.match("a", "b"));
+    }
+
+    @Test
+    public void testMissingColonThrows() {
+        assertThrows(RuntimeException.class, () -> new GlobAutomaton(List.of("junit"), 2));
+    }
+
+    @Test
+    public void testAgreesWithGidAidMatcher() {
+        Random random = new Random(7);
+        String alphabet = "ab.*?";
+        List<String> patterns = new ArrayList<>();
+        List<GidAidMatcher> matchers = new ArrayList<>();
+        for (int n = 0; n < 50; n++) {
+            String pattern = random(random, alphabet) + ":" + random(random, alphabet);
+            patterns.add(pattern);
+            matchers.add(new GidAidMatcher(pattern));
+        }
+        GlobAutomaton automaton = new GlobAutomaton(patterns, 2);
+        for (int n = 0; n < 5000; n++) {
+            String gid = random(random, "ab.");
+            String aid = random(random, "ab.:");
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < matchers.size(); id++) {
+                if (matchers.get(id).matches(gid, aid)) {
+                    expected.add(id);
+                }
+            }
+            int[] actual = automaton.match(gid, aid);
+            assertArrayEquals(
+                    expected.stream().mapToInt(Integer::intValue).toArray(),
+                    actual,
+                    gid + ":" + aid);
+        }
+    }
+
+    private static String random(Random random, String alphabet) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = random.nextInt(5); i > 0; i--) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
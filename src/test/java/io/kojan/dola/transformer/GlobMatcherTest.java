@@ -17,6 +17,8 @@ package io.kojan.dola.transformer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Random;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 
 public class GlobMatcherTest {
@@ -60,4 +62,99 @@ public class GlobMatcherTest {
         assertTrue(matcher.matches("test"));
         assertTrue(matcher.matches(""));
     }
+
+    @Test
+    public void testRegexMetacharactersMatchLiterally() {
+        GlobMatcher matcher = new GlobMatcher("org.apache.maven");
+        assertTrue(matcher.matches("org.apache.maven"));
+        assertFalse(matcher.matches("orgXapacheXmaven"));
+        assertTrue(new GlobMatcher("a+b[c]$^(d)|{e}\\").matches("a+b[c]$^(d)|{e}\\"));
+        assertFalse(new GlobMatcher("a+b").matches("aab"));
+    }
+
+    @Test
+    public void testShapes() {
+        assertEquals(GlobMatcher.Shape.ANY, new GlobMatcher("").getShape());
+        assertEquals(GlobMatcher.Shape.ANY, new GlobMatcher("**").getShape());
+        assertEquals(GlobMatcher.Shape.EXACT, new GlobMatcher("junit").getShape());
+        assertEquals(GlobMatcher.Shape.PREFIX, new GlobMatcher("org.apache.*").getShape());
+        assertEquals(GlobMatcher.Shape.SUFFIX, new GlobMatcher("*-plugin").getShape());
+        assertEquals(GlobMatcher.Shape.CONTAINS, new GlobMatcher("*maven*").getShape());
+        assertEquals(GlobMatcher.Shape.GENERAL, new GlobMatcher("maven-*-plugin").getShape());
+        assertEquals(GlobMatcher.Shape.GENERAL, new GlobMatcher("junit?").getShape());
+    }
+
+    @Test
+    public void testAnchoredShapes() {
+        assertTrue(new GlobMatcher("*").matches(""));
+        assertTrue(new GlobMatcher("org.*").matches("org."));
+        assertFalse(new GlobMatcher("org.*").matches("xorg.y"));
+        assertTrue(new GlobMatcher("*-plugin").matches("maven-plugin"));
+        assertFalse(new GlobMatcher("*-plugin").matches("maven-plugins"));
+        assertTrue(new GlobMatcher("*maven*").matches("maven"));
+        assertFalse(new GlobMatcher("*maven*").matches("mave"));
+        assertFalse(new GlobMatcher("*").matches(null));
+    }
+
+    @Test
+    public void testGeneralPatterns() {
+        GlobMatcher matcher = new GlobMatcher("maven-*-*-plugin");
+        assertTrue(matcher.matches("maven-a-b-plugin"));
+        assertTrue(matcher.matches("maven---plugin"));
+        assertFalse(matcher.matches("maven--plugin"));
+        assertTrue(new GlobMatcher("*a*a*").matches("aa"));
+        assertFalse(new GlobMatcher("*a*a*").matches("a"));
+        assertTrue(new GlobMatcher("?*?").matches("ab"));
+        assertFalse(new GlobMatcher("?*?").matches("a"));
+        assertFalse(new GlobMatcher("ab*ba").matches("aba"));
+    }
+
+    @Test
+    public void testAgreesWithRegex() {
+        Random random = new Random(42);
+        String alphabet = "ab.*?";
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder glob = new StringBuilder();
+            StringBuilder re = new StringBuilder();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                glob.append(c);
+                re.append(c == '*' ? ".*" : c == '?' ? "." : Pattern.quote(String.valueOf(c)));
+            }
+            StringBuilder str = new StringBuilder();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                str.append("ab.".charAt(random.nextInt(3)));
+            }
+            boolean expected = glob.isEmpty() || Pattern.matches(re.toString(), str);
+            assertEquals(
+                    expected,
+                    new GlobMatcher(glob.toString()).matches(str.toString()),
+                    "glob=" + glob + ", str=" + str);
+        }
+    }
+
+    @Test
+    public void testSharedMatchers() {
+        GlobMatcher matcher = GlobMatcher.of("he*o");
+        assertSame(matcher, GlobMatcher.of("he*o"));
+        assertSame(matcher, GlobMatcher.of(new String("he*o")));
+        assertNotSame(matcher, new GlobMatcher("he*o"));
+        assertTrue(matcher.matches("hello"));
+    }
+
+    @Test
+    public void testPoolDoesNotKeepUnusedInstances() throws Exception {
+        WeakPool<Object> pool = new WeakPool<>();
+        Object value = new Object();
+        assertSame(value, pool.intern("used", value));
+        assertSame(value, pool.intern("used", new Object()));
+        pool.intern("unused", new Object());
+        for (int i = 0; i < 100 && pool.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.size());
+        assertNull(pool.get("unused"));
+        assertSame(value, pool.get("used"));
+    }
 }
@@ -0,0 +1,111 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LogTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void testFormat() {
+        assertEquals("plain", Log.format("plain"));
+        assertEquals("a=1, b=x", Log.format("a={}, b={}", 1, "x"));
+        assertEquals("a=null", Log.format("a={}", (Object) null));
+        assertEquals("a=1, b={}", Log.format("a={}, b={}", 1));
+        assertEquals("a=1", Log.format("a={}", 1, 2));
+        assertEquals("{}x", Log.format("{}{}", "{}", "x"));
+    }
+
+    @Test
+    public void testWholeLinesWrittenOnFlush() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bos, true, StandardCharsets.UTF_8);
+        StreamLogSink sink = new StreamLogSink(() -> out, false);
+        sink.write(Log.Level.INFO, "one");
+        sink.write(Log.Level.DEBUG, "two");
+        assertEquals("", bos.toString(StandardCharsets.UTF_8));
+        sink.flush();
+        assertEquals("DOLA: -> one" + NL + "DOLA: two" + NL, bos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testThreadsDoNotInterleave() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bos, true, StandardCharsets.UTF_8);
+        StreamLogSink sink = new StreamLogSink(() -> out, true);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String name = "t" + t;
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int model = 0; model < 50; model++) {
+                                    for (int line = 0; line < 10; line++) {
+                                        sink.write(Log.Level.INFO, name + " " + model + " " + line);
+                                    }
+                                    sink.flush();
+                                }
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sink.close();
+        String[] lines = bos.toString(StandardCharsets.UTF_8).split(NL);
+        assertEquals(8 * 50 * 10, lines.length);
+        for (int i = 0; i < lines.length; i += 10) {
+            String block = lines[i].substring(0, lines[i].lastIndexOf(' '));
+            for (int line = 0; line < 10; line++) {
+                assertEquals(block + " " + line, lines[i + line]);
+            }
+        }
+    }
+
+    @Test
+    public void testBuffersDroppedOnFlush() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bos, true, StandardCharsets.UTF_8);
+        StreamLogSink sink = new StreamLogSink(() -> out, true);
+        for (int t = 0; t < 100; t++) {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                sink.write(Log.Level.INFO, "line");
+                                sink.flush();
+                            });
+            thread.start();
+            thread.join();
+        }
+        sink.flush();
+        assertEquals(0, sink.bufferCount());
+        sink.close();
+        assertEquals(100, bos.toString(StandardCharsets.UTF_8).split(NL).length);
+        sink.write(Log.Level.INFO, "late");
+        sink.flush();
+        assertTrue(bos.toString(StandardCharsets.UTF_8).endsWith("DOLA: -> late" + NL));
+    }
+}
@@ -0,0 +1,144 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetricsReportTest {
+
+    private static SelectiveTransformation selective(
+            Transformation transformation, String desc, String... selectors) {
+        return new SelectiveTransformation(
+                List.of(selectors).stream().map(GidAidMatcher::new).toList(), transformation, desc);
+    }
+
+    private static Dependency dependency(String gid, String aid) {
+        return Dependency.newBuilder().groupId(gid).artifactId(aid).build();
+    }
+
+    @Test
+    public void testCounters() {
+        SelectiveTransformation removeFoo =
+                selective(new RemoveDependency().produceTransformation("org.foo:*"), "rmFoo");
+        SelectiveTransformation removeBar =
+                selective(
+                        new RemoveDependency().produceTransformation("*:bar"),
+                        "rmBar",
+                        "org.app:one");
+        SelectiveTransformation add =
+                selective(new AddDependency().produceTransformation("org.x:y"), "add");
+        SelectiveTransformation removeParent =
+                selective(new RemoveParent().produceTransformation("org.parent:*"), "rmParent");
+        TransformationPlan plan =
+                new TransformationPlan(List.of(removeFoo, removeBar, add, removeParent));
+
+        Model one =
+                Model.newBuilder()
+                        .groupId("org.app")
+                        .artifactId("one")
+                        .parent(Parent.newBuilder().groupId("org.parent").artifactId("p").build())
+                        .dependencies(
+                                List.of(
+                                        dependency("org.foo", "bar"),
+                                        dependency("org.foo", "baz"),
+                                        dependency("org.other", "bar"),
+                                        dependency("org.x", "y")))
+                        .build();
+        Model two =
+                Model.newBuilder()
+                        .groupId("org.app")
+                        .artifactId("two")
+                        .dependencies(List.of(dependency("org.other", "bar")))
+                        .build();
+        plan.transform(one);
+        plan.transform(two);
+        plan.transform(two);
+
+        assertEquals(3, plan.getModelCount());
+        // org.foo:bar is attributed to the first removal, which removes it in sequence
+        assertEquals(3, removeFoo.getMetrics().getHits());
+        assertEquals(1, removeFoo.getMetrics().getModified());
+        assertEquals(2, removeFoo.getMetrics().getElements());
+        assertEquals(1, removeBar.getMetrics().getHits());
+        assertEquals(1, removeBar.getMetrics().getModified());
+        assertEquals(1, removeBar.getMetrics().getElements());
+        assertEquals(3, add.getMetrics().getHits());
+        assertEquals(2, add.getMetrics().getModified());
+        assertEquals(2, add.getMetrics().getElements());
+        assertEquals(3, removeParent.getMetrics().getHits());
+        assertEquals(1, removeParent.getMetrics().getModified());
+        assertEquals(1, removeParent.getMetrics().getElements());
+
+        removeParent.transform(two);
+        assertEquals(1, removeParent.getMetrics().getInvocations());
+        assertEquals(4, removeParent.getMetrics().getHits());
+    }
+
+    @Test
+    public void testReportSortedByCost(@TempDir Path dir) throws Exception {
+        List<MetricsReport.Row> rows =
+                List.of(
+                        new MetricsReport.Row("cheap \"quoted\"", 10, 5, 1, 1, 1000),
+                        new MetricsReport.Row("expensive", 10, 10, 10, 20, 5_000_000));
+        String table = MetricsReport.formatTable(rows);
+        assertTrue(table.contains("cheap \"quoted\""));
+        String json = MetricsReport.formatJson(rows);
+        assertTrue(
+                json.contains(
+                        "{\"transformation\": \"cheap \\\"quoted\\\"\", \"invocations\": 10"));
+        assertEquals("[]\n", MetricsReport.formatJson(List.of()));
+
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                selective(model -> model, "noop"),
+                                selective(
+                                        model -> {
+                                            long end = System.nanoTime() + 2_000_000;
+                                            while (System.nanoTime() < end) {
+                                                Thread.onSpinWait();
+                                            }
+                                            return model;
+                                        },
+                                        "slow")));
+        plan.transform(Model.newBuilder().groupId("g").artifactId("a").build());
+        Path file = dir.resolve("metrics.json");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new MetricsReport(List.of(plan), Map.of(), file)
+                .write(new PrintStream(bos, true, StandardCharsets.UTF_8));
+        String text = bos.toString(StandardCharsets.UTF_8);
+        assertTrue(text.indexOf("Transformation[slow]") < text.indexOf("Transformation[noop]"));
+        String written = Files.readString(file);
+        assertTrue(written.indexOf("slow") < written.indexOf("noop"));
+        assertTrue(written.contains("\"invocations\": 1, \"hits\": 1, \"modified\": 0"));
+    }
+}
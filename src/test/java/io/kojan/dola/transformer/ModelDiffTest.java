@@ -0,0 +1,132 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.ModelDiff.Change;
+import io.kojan.dola.transformer.ModelDiff.Kind;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.Profile;
+import org.junit.jupiter.api.Test;
+
+public class ModelDiffTest {
+
+    private static Dependency dependency(String aid) {
+        return Dependency.newBuilder().groupId("org.foo").artifactId(aid).version("1").build();
+    }
+
+    private static Plugin plugin(String aid) {
+        return Plugin.newBuilder().groupId("org.foo").artifactId(aid).build();
+    }
+
+    private static Model model() {
+        return Model.newBuilder()
+                .parent(Parent.newBuilder().groupId("org.foo").artifactId("parent").build())
+                .groupId("org.foo")
+                .artifactId("lib")
+                .version("1")
+                .properties(Map.of("a", "1", "b", "2"))
+                .dependencies(List.of(dependency("a"), dependency("b"), dependency("c")))
+                .build(Build.newBuilder().plugins(List.of(plugin("p"), plugin("q"))).build())
+                .profiles(
+                        List.of(
+                                Profile.newBuilder()
+                                        .id("first")
+                                        .build(
+                                                BuildBase.newBuilder()
+                                                        .plugins(List.of(plugin("r")))
+                                                        .build())
+                                        .build()))
+                .build();
+    }
+
+    @Test
+    public void testEqualModels() {
+        Model model = model();
+        assertEquals(List.of(), ModelDiff.diff(model, model));
+        assertEquals(List.of(), ModelDiff.diff(model, model()));
+        assertEquals(List.of(), ModelDiff.diff(model, model.withVersion("1")));
+    }
+
+    @Test
+    public void testScalarsAndObjects() {
+        Model model = model();
+        List<Change> changes = ModelDiff.diff(model, model.withParent(null).withVersion("2"));
+        assertEquals(
+                List.of(
+                        new Change(Kind.REMOVED, "parent", model.getParent(), null),
+                        new Change(Kind.CHANGED, "version", "1", "2")),
+                changes);
+        assertEquals("~ version: 1 -> 2", changes.get(1).toString());
+    }
+
+    @Test
+    public void testListElementsPairedByKey() {
+        Model model = model();
+        List<Dependency> deps = model.getDependencies();
+        Dependency d = dependency("d");
+        Model newModel =
+                model.withDependencies(List.of(d, deps.get(2), deps.get(0).withVersion("2")));
+        assertEquals(
+                List.of(
+                        new Change(Kind.CHANGED, "dependencies[org.foo:a:jar].version", "1", "2"),
+                        new Change(Kind.REMOVED, "dependencies[org.foo:b:jar]", deps.get(1), null),
+                        new Change(Kind.ADDED, "dependencies[org.foo:d:jar]", null, d)),
+                ModelDiff.diff(model, newModel));
+    }
+
+    @Test
+    public void testNestedContainers() {
+        Model model = model();
+        Profile profile = model.getProfiles().get(0);
+        Model newModel =
+                model.withBuild(
+                                model.getBuild()
+                                        .withPlugins(List.of(model.getBuild().getPlugins().get(0))))
+                        .withProfiles(
+                                List.of(
+                                        profile.withBuild(
+                                                profile.getBuild().withPlugins(List.of()))));
+        assertEquals(
+                List.of(
+                        "- build.plugins[org.foo:q]: Plugin [org.foo:q]",
+                        "- profiles[first].build.plugins[org.foo:r]: Plugin [org.foo:r]"),
+                ModelDiff.diff(model, newModel).stream().map(Change::toString).toList());
+    }
+
+    @Test
+    public void testMapsAndStrings() {
+        Model model = model().withSubprojects(List.of("x", "y"));
+        Model newModel =
+                model.withProperties(Map.of("a", "1", "b", "3", "c", "4"))
+                        .withSubprojects(List.of("y", "z"));
+        assertEquals(
+                List.of(
+                        "~ properties[b]: 2 -> 3",
+                        "+ properties[c]: 4",
+                        "- subprojects[x]: x",
+                        "+ subprojects[z]: z"),
+                ModelDiff.diff(model, newModel).stream().map(Change::toString).toList());
+    }
+}
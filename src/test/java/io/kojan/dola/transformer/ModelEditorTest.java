@@ -0,0 +1,118 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class ModelEditorTest {
+
+    private static Dependency dep(String aid) {
+        return Dependency.newBuilder().groupId("g").artifactId(aid).build();
+    }
+
+    private static Model model() {
+        return Model.newBuilder()
+                .parent(Parent.newBuilder().groupId("g").artifactId("parent").version("1").build())
+                .artifactId("child")
+                .dependencies(List.of(dep("a"), dep("b")))
+                .subprojects(List.of("x", "y"))
+                .build(
+                        Build.newBuilder()
+                                .plugins(
+                                        List.of(
+                                                Plugin.newBuilder()
+                                                        .groupId("g")
+                                                        .artifactId("p")
+                                                        .build()))
+                                .build())
+                .build();
+    }
+
+    @Test
+    public void testUnmodifiedEditorReturnsBaseModel() {
+        Model model = model();
+        ModelEditor editor = new ModelEditor(model);
+        assertFalse(editor.isModified());
+        assertSame(model, editor.build());
+    }
+
+    @Test
+    public void testPendingEditsAreVisibleBeforeBuild() {
+        Model model = model();
+        ModelEditor editor = new ModelEditor(model);
+        editor.setParent(null);
+        editor.setGroupId("g");
+        editor.set(ModelSection.DEPENDENCIES, List.of(dep("b")));
+        assertNull(editor.getParent());
+        assertEquals("g", editor.getGroupId());
+        assertEquals(1, editor.get(ModelSection.DEPENDENCIES).size());
+        assertEquals(0, editor.indexOf(ModelSection.DEPENDENCIES, "g", "b"));
+        assertEquals(-1, editor.indexOf(ModelSection.DEPENDENCIES, "g", "a"));
+        assertSame(model, editor.getBase());
+        assertNotNull(model.getParent());
+    }
+
+    @Test
+    public void testAllEditsAreAppliedInOneBuild() {
+        Model model = model();
+        ModelEditor editor = new ModelEditor(model);
+        editor.setParent(null);
+        editor.setGroupId("g");
+        editor.setVersion("1");
+        List<Dependency> dependencies = List.of(dep("b"));
+        editor.set(ModelSection.DEPENDENCIES, dependencies);
+        editor.set(ModelSection.SUBPROJECTS, List.of("y"));
+        editor.set(ModelSection.MANAGED_DEPENDENCIES, List.of(dep("m")));
+
+        Model result = editor.build();
+        assertNull(result.getParent());
+        assertEquals("g", result.getGroupId());
+        assertEquals("child", result.getArtifactId());
+        assertEquals("1", result.getVersion());
+        assertEquals(dependencies, result.getDependencies());
+        assertEquals(List.of("y"), result.getSubprojects());
+        assertEquals(
+                "m", result.getDependencyManagement().getDependencies().get(0).getArtifactId());
+        assertSame(model.getBuild(), result.getBuild());
+
+        assertSame(result, editor.getBase());
+        assertSame(result, editor.getView().getModel());
+        assertFalse(editor.isModified());
+        assertSame(result, editor.build());
+    }
+
+    @Test
+    public void testResetDiscardsPendingEdits() {
+        Model model = model();
+        ModelEditor editor = new ModelEditor(model);
+        editor.setVersion("2");
+        editor.set(ModelSection.SUBPROJECTS, List.of());
+        Model other = model();
+        editor.reset(other);
+        assertFalse(editor.isModified());
+        assertNull(editor.getVersion());
+        assertEquals(List.of("x", "y"), editor.get(ModelSection.SUBPROJECTS));
+        assertSame(other, editor.build());
+    }
+}
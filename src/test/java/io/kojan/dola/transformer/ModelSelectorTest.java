@@ -0,0 +1,174 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+public class ModelSelectorTest {
+
+    private static Model model(String aid, String packaging, Map<String, String> properties) {
+        return Model.newBuilder()
+                .groupId("org.app")
+                .artifactId(aid)
+                .packaging(packaging)
+                .properties(properties)
+                .build();
+    }
+
+    @Test
+    public void testCoordinatesOnly() {
+        ModelSelector selector = ModelSelector.parse("org.app:*");
+        assertInstanceOf(GidAidMatcher.class, selector);
+        assertSame(selector, selector.getCoordinates());
+        assertEquals(List.of(), selector.getConditions());
+        assertTrue(selector.matches(model("a", null, Map.of())));
+    }
+
+    @Test
+    public void testTermsAreConjoinedAndOrderedByCost() {
+        ModelSelector selector =
+                ModelSelector.parse("org.app:* & property=skip=tr* & !packaging=pom");
+        assertEquals("org.app:*", selector.getCoordinates().getPattern());
+        assertEquals(List.of("!packaging=pom", "property=skip=tr*"), selector.getConditions());
+        assertTrue(selector.matches(model("a", "jar", Map.of("skip", "true"))));
+        assertTrue(selector.matches(model("a", null, Map.of("skip", "true"))));
+        assertFalse(selector.matches(model("a", "pom", Map.of("skip", "true"))));
+        assertFalse(selector.matches(model("a", "jar", Map.of("skip", "false"))));
+        assertFalse(selector.matches(model("a", "jar", Map.of())));
+        assertFalse(
+                selector.matches(
+                        model("a", "jar", Map.of("skip", "true")).withGroupId("org.other")));
+    }
+
+    @Test
+    public void testNegatedCoordinatesAndPresence() {
+        ModelSelector selector = ModelSelector.parse("!org.app:test-*&property=release");
+        assertNull(selector.getCoordinates());
+        assertTrue(selector.matches(model("a", null, Map.of("release", ""))));
+        assertFalse(selector.matches(model("test-a", null, Map.of("release", ""))));
+        assertFalse(selector.matches(model("a", null, Map.of())));
+    }
+
+    @Test
+    public void testInheritedCoordinatesAreSelectedByConditions() {
+        ModelSelector selector = ModelSelector.parse("packaging=pom");
+        assertNull(selector.getCoordinates());
+        Model inherited = model("a", "pom", Map.of()).withGroupId(null);
+        assertTrue(selector.matches(inherited));
+        assertFalse(ModelSelector.parse("*:*&packaging=pom").matches(inherited));
+
+        SelectiveTransformation selective =
+                new SelectiveTransformation(
+                        List.of(selector),
+                        new AddDependency().produceTransformation("org.x:y:1"),
+                        "add");
+        TransformationPlan plan = new TransformationPlan(List.of(selective));
+        assertEquals(1, plan.transform(inherited).getDependencies().size());
+        Model jar = model("a", "jar", Map.of()).withGroupId(null);
+        assertSame(jar, plan.transform(jar));
+    }
+
+    @Test
+    public void testUnknownAttribute() {
+        assertThrows(IllegalArgumentException.class, () -> ModelSelector.parse("color=red"));
+    }
+
+    @Test
+    public void testPathTrie() {
+        Path base = Path.of("/work/project");
+        PathTrie trie = new PathTrie(base);
+        int modules = trie.add("modules/*");
+        int deep = trie.add("modules/**/it");
+        int root = trie.add("**");
+        int top = trie.add(".");
+        int absolute = trie.add("/work/*/tools");
+        assertEquals(modules, trie.add("modules/*"));
+
+        Path a = base.resolve("modules/a/pom.xml");
+        assertTrue(trie.matches(a, modules));
+        assertFalse(trie.matches(a, deep));
+        assertTrue(trie.matches(a, root));
+        assertFalse(trie.matches(a, top));
+        Path it = base.resolve("modules/a/b/it/pom.xml");
+        assertFalse(trie.matches(it, modules));
+        assertTrue(trie.matches(it, deep));
+        assertTrue(trie.matches(base.resolve("modules/it/pom.xml"), deep));
+        assertTrue(trie.matches(base.resolve("pom.xml"), top));
+        assertTrue(trie.matches(base.resolve("pom.xml"), root));
+        assertTrue(trie.matches(base.resolve("tools/pom.xml"), absolute));
+        assertFalse(trie.matches(Path.of("/elsewhere/modules/a/pom.xml"), modules));
+        assertFalse(trie.matches(null, root));
+
+        int later = trie.add("modules/a");
+        assertTrue(trie.matches(a, later));
+        assertTrue(trie.matches(a, modules));
+        assertTrue(trie.matches(it, deep));
+        assertTrue(trie.matches(base.resolve("tools/pom.xml"), absolute));
+    }
+
+    @Test
+    public void testPathTrieBaseFromSession() {
+        Properties properties = new Properties();
+        properties.setProperty("maven.multiModuleProjectDirectory", "/session/root");
+        properties.setProperty("user.dir", "/elsewhere");
+        PathTrie trie = PathTrie.of(properties);
+        int id = trie.add("modules/*");
+        assertTrue(trie.matches(Path.of("/session/root/modules/a/pom.xml"), id));
+        assertFalse(trie.matches(Path.of("/elsewhere/modules/a/pom.xml"), id));
+    }
+
+    @Test
+    public void testPathSelector() {
+        ModelSelector selector = ModelSelector.parse("path=modules/*");
+        Path cwd =
+                Path.of(
+                        System.getProperty(
+                                "maven.multiModuleProjectDirectory",
+                                System.getProperty("user.dir")));
+        Model model = model("a", null, Map.of());
+        assertFalse(selector.matches(model));
+        assertTrue(selector.matches(model.withPomFile(cwd.resolve("modules/a/pom.xml"))));
+        assertFalse(selector.matches(model.withPomFile(cwd.resolve("pom.xml"))));
+    }
+
+    @Test
+    public void testPlanTestsConditions() {
+        SelectiveTransformation selective =
+                new SelectiveTransformation(
+                        List.of(
+                                ModelSelector.parse("org.app:*&packaging=pom"),
+                                ModelSelector.parse("org.app:b")),
+                        new AddDependency().produceTransformation("org.x:y:1"),
+                        "add");
+        assertTrue(selective.isConditional());
+        TransformationPlan plan = new TransformationPlan(List.of(selective));
+        Model jar = model("a", "jar", Map.of());
+        Model pom = model("a", "pom", Map.of());
+        Model b = model("b", "jar", Map.of());
+        assertSame(jar, plan.transform(jar));
+        assertEquals(1, plan.transform(pom).getDependencies().size());
+        assertEquals(1, plan.transform(b).getDependencies().size());
+        assertSame(jar, selective.transform(jar));
+    }
+}
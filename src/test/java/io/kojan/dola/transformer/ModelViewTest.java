@@ -0,0 +1,136 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class ModelViewTest {
+
+    private static Dependency dep(String gid, String aid) {
+        return Dependency.newBuilder().groupId(gid).artifactId(aid).build();
+    }
+
+    private static List<Dependency> deps(int n) {
+        List<Dependency> deps = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            deps.add(dep("g" + i % 7, "a" + i));
+        }
+        return deps;
+    }
+
+    @Test
+    public void testLookupInAllSections() {
+        Model model =
+                Model.newBuilder()
+                        .dependencies(List.of(dep("g", "a"), dep("g", "b"), dep("g", "a")))
+                        .dependencyManagement(
+                                DependencyManagement.newBuilder()
+                                        .dependencies(List.of(dep("m", "x")))
+                                        .build())
+                        .build(
+                                Build.newBuilder()
+                                        .plugins(
+                                                List.of(
+                                                        Plugin.newBuilder()
+                                                                .groupId("p")
+                                                                .artifactId("q")
+                                                                .build()))
+                                        .build())
+                        .subprojects(List.of("core", "tests"))
+                        .build();
+        ModelView view = new ModelView(model);
+        assertEquals(0, view.indexOf(ModelSection.DEPENDENCIES, "g", "a"));
+        assertEquals(1, view.indexOf(ModelSection.DEPENDENCIES, "g", "b"));
+        assertEquals(-1, view.indexOf(ModelSection.DEPENDENCIES, "m", "x"));
+        assertEquals(0, view.indexOf(ModelSection.MANAGED_DEPENDENCIES, "m", "x"));
+        assertEquals(0, view.indexOf(ModelSection.PLUGINS, "p", "q"));
+        assertEquals(1, view.indexOf(ModelSection.SUBPROJECTS, "tests", null));
+        assertFalse(view.contains(ModelSection.SUBPROJECTS, "other", null));
+
+        ModelView empty = new ModelView(Model.newInstance());
+        assertEquals(-1, empty.indexOf(ModelSection.MANAGED_DEPENDENCIES, "m", "x"));
+        assertEquals(-1, empty.indexOf(ModelSection.PLUGINS, "p", "q"));
+    }
+
+    @Test
+    public void testIndexMatchesScan() {
+        Random random = new Random(42);
+        List<Dependency> deps = deps(100);
+        ModelView view = new ModelView(Model.newBuilder().dependencies(deps).build());
+        for (int i = 0; i < 1000; i++) {
+            String gid = "g" + random.nextInt(8);
+            String aid = "a" + random.nextInt(120);
+            int expected = -1;
+            for (int j = 0; j < deps.size() && expected < 0; j++) {
+                if (deps.get(j).getGroupId().equals(gid)
+                        && deps.get(j).getArtifactId().equals(aid)) {
+                    expected = j;
+                }
+            }
+            assertEquals(expected, view.indexOf(ModelSection.DEPENDENCIES, gid, aid));
+        }
+    }
+
+    @Test
+    public void testIndexFollowsModelChanges() {
+        Model model = Model.newBuilder().dependencies(deps(50)).subprojects(List.of("x")).build();
+        ModelView view = new ModelView(model);
+        assertEquals(10, view.indexOf(ModelSection.DEPENDENCIES, "g3", "a10"));
+        assertEquals(10, view.indexOf(ModelSection.DEPENDENCIES, "g3", "a10"));
+
+        // Unrelated section changed, dependency index is still valid
+        view.setModel(model.withSubprojects(List.of("y")));
+        assertEquals(10, view.indexOf(ModelSection.DEPENDENCIES, "g3", "a10"));
+        assertEquals(0, view.indexOf(ModelSection.SUBPROJECTS, "y", null));
+
+        // Dependencies changed, lookups reflect the new list
+        List<Dependency> changed = new ArrayList<>(view.get(ModelSection.DEPENDENCIES));
+        changed.remove(0);
+        view.setModel(view.getModel().withDependencies(changed));
+        assertEquals(9, view.indexOf(ModelSection.DEPENDENCIES, "g3", "a10"));
+        assertEquals(-1, view.indexOf(ModelSection.DEPENDENCIES, "g0", "a0"));
+        assertEquals(-1, view.indexOf(ModelSection.DEPENDENCIES, "g0", "a0"));
+
+        view.reset(Model.newInstance());
+        assertEquals(-1, view.indexOf(ModelSection.DEPENDENCIES, "g3", "a10"));
+    }
+
+    @Test
+    public void testPlanUsesViewForLiteralLookups() {
+        List<Transformation> transformations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transformations.add(new AddDependency().produceTransformation("g" + i % 7 + ":a" + i));
+            transformations.add(model -> model);
+        }
+        transformations.add(new AddDependency().produceTransformation("new:dep"));
+        TransformationPlan plan = new TransformationPlan(transformations);
+        Model model = Model.newBuilder().dependencies(deps(50)).build();
+        Model result = plan.transform(model);
+        assertEquals(51, result.getDependencies().size());
+        assertEquals("new", result.getDependencies().get(50).getGroupId());
+    }
+}
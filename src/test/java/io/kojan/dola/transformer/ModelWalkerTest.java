@@ -0,0 +1,189 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.ModelWalker.Container;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.Reporting;
+import org.junit.jupiter.api.Test;
+
+public class ModelWalkerTest {
+
+    private static Dependency dependency(String aid) {
+        return Dependency.newBuilder().groupId("org.foo").artifactId(aid).build();
+    }
+
+    private static Plugin plugin(String aid) {
+        return Plugin.newBuilder().groupId("org.foo").artifactId(aid).build();
+    }
+
+    private static Model model() {
+        return Model.newBuilder()
+                .groupId("org.foo")
+                .artifactId("lib")
+                .dependencies(List.of(dependency("dep")))
+                .dependencyManagement(
+                        DependencyManagement.newBuilder()
+                                .dependencies(List.of(dependency("managed-dep")))
+                                .build())
+                .build(
+                        Build.newBuilder()
+                                .plugins(List.of(plugin("plugin")))
+                                .pluginManagement(
+                                        PluginManagement.newBuilder()
+                                                .plugins(List.of(plugin("managed-plugin")))
+                                                .build())
+                                .build())
+                .reporting(
+                        Reporting.newBuilder()
+                                .plugins(
+                                        List.of(
+                                                ReportPlugin.newBuilder()
+                                                        .groupId("org.foo")
+                                                        .artifactId("report-plugin")
+                                                        .build()))
+                                .build())
+                .profiles(
+                        List.of(
+                                Profile.newBuilder()
+                                        .id("first")
+                                        .dependencies(List.of(dependency("first-dep")))
+                                        .build(
+                                                BuildBase.newBuilder()
+                                                        .plugins(List.of(plugin("first-plugin")))
+                                                        .build())
+                                        .build(),
+                                Profile.newBuilder()
+                                        .id("second")
+                                        .dependencies(List.of(dependency("second-dep")))
+                                        .build()))
+                .build();
+    }
+
+    /** Records every visited container and removes elements with the given artifactId. */
+    private static class Recorder implements ModelWalker.Visitor {
+        final List<String> visited = new ArrayList<>();
+        final String aid;
+
+        Recorder(String aid) {
+            this.aid = aid;
+        }
+
+        private String location(Profile profile, String container, String first) {
+            return container.toString()
+                    + (profile != null ? "@" + profile.getId() : "")
+                    + "="
+                    + first;
+        }
+
+        @Override
+        public List<Dependency> visitDependencies(
+                Model model, Profile profile, Container container, List<Dependency> dependencies) {
+            visited.add(location(profile, container.name(), dependencies.get(0).getArtifactId()));
+            return dependencies.stream().anyMatch(d -> d.getArtifactId().equals(aid))
+                    ? dependencies.stream().filter(d -> !d.getArtifactId().equals(aid)).toList()
+                    : dependencies;
+        }
+
+        @Override
+        public List<Plugin> visitPlugins(
+                Model model, Profile profile, Container container, List<Plugin> plugins) {
+            visited.add(location(profile, container.name(), plugins.get(0).getArtifactId()));
+            return plugins.stream().anyMatch(p -> p.getArtifactId().equals(aid))
+                    ? plugins.stream().filter(p -> !p.getArtifactId().equals(aid)).toList()
+                    : plugins;
+        }
+
+        @Override
+        public List<ReportPlugin> visitReportPlugins(
+                Model model, Profile profile, List<ReportPlugin> plugins) {
+            visited.add(location(profile, "REPORTING", plugins.get(0).getArtifactId()));
+            return plugins;
+        }
+    }
+
+    @Test
+    public void testEveryNonEmptyContainerIsVisitedOnce() {
+        Model model = model();
+        Recorder recorder = new Recorder(null);
+        assertSame(model, new ModelWalker(List.of(recorder)).walk(model));
+        assertEquals(
+                List.of(
+                        "DEPENDENCIES=dep",
+                        "DEPENDENCY_MANAGEMENT=managed-dep",
+                        "REPORTING=report-plugin",
+                        "PLUGINS=plugin",
+                        "PLUGIN_MANAGEMENT=managed-plugin",
+                        "DEPENDENCIES@first=first-dep",
+                        "PLUGINS@first=first-plugin",
+                        "DEPENDENCIES@second=second-dep"),
+                recorder.visited);
+    }
+
+    @Test
+    public void testUnchangedSubtreesAreShared() {
+        Model model = model();
+        Model result = new ModelWalker(List.of(new Recorder("first-plugin"))).walk(model);
+        assertNotSame(model, result);
+        assertSame(model.getDependencies(), result.getDependencies());
+        assertSame(model.getDependencyManagement(), result.getDependencyManagement());
+        assertSame(model.getBuild(), result.getBuild());
+        assertSame(model.getReporting(), result.getReporting());
+        Profile first = result.getProfiles().get(0);
+        assertSame(model.getProfiles().get(0).getDependencies(), first.getDependencies());
+        assertEquals(List.of(), first.getBuild().getPlugins());
+        assertSame(model.getProfiles().get(1), result.getProfiles().get(1));
+    }
+
+    @Test
+    public void testAllVisitorsAreAppliedInOnePass() {
+        Model model = model();
+        Recorder first = new Recorder("managed-dep");
+        Recorder second = new Recorder("managed-plugin");
+        Model result = new ModelWalker(List.of(first, second)).walk(model);
+        assertEquals(List.of(), result.getDependencyManagement().getDependencies());
+        assertEquals(List.of(), result.getBuild().getPluginManagement().getPlugins());
+        assertSame(model.getBuild().getPlugins(), result.getBuild().getPlugins());
+        assertFalse(second.visited.contains("DEPENDENCY_MANAGEMENT=managed-dep"));
+        assertEquals(first.visited.size() - 1, second.visited.size());
+    }
+
+    @Test
+    public void testOnlyEnabledVisitorsAreApplied() {
+        Model model = model();
+        Recorder first = new Recorder("dep");
+        Recorder second = new Recorder("second-dep");
+        BitSet enabled = new BitSet();
+        enabled.set(6);
+        Model result = new ModelWalker(List.of(first, second)).walk(model, enabled, 5);
+        assertEquals(List.of(), first.visited);
+        assertSame(model.getDependencies(), result.getDependencies());
+        assertEquals(List.of(), result.getProfiles().get(1).getDependencies());
+    }
+}
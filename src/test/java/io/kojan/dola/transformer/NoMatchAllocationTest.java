@@ -0,0 +1,113 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import io.kojan.dola.transformer.op.RemoveSubproject;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class NoMatchAllocationTest {
+
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 20000;
+
+    private static DolaTransformer transformer() {
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.cache", "0");
+        properties.setProperty("dola.transformer.insn.01.removeDependency", "org.gone:*");
+        properties.setProperty("dola.transformer.insn.02.removeDependency", "*:gone-*@org.foo:*");
+        properties.setProperty("dola.transformer.insn.03.removePlugin", "org.gone:p?");
+        properties.setProperty("dola.transformer.insn.04.removeSubproject", "gone*");
+        properties.setProperty("dola.transformer.insn.05.removeParent", "org.gone:parent");
+        properties.setProperty("dola.transformer.insn.06.removeDependency", "org.*:absent");
+        properties.setProperty("dola.transformer.insn.07.removeParent", "*:other@org.bar:*");
+        properties.setProperty("dola.transformer.insn.08.addDependency", "org.dep:dep0");
+        properties.setProperty("dola.transformer.insn.09.removePlugin", "*:absent@org.foo:lib");
+        return new DolaTransformer(
+                Map.of(
+                        "addDependency", new AddDependency(),
+                        "removeDependency", new RemoveDependency(),
+                        "removeParent", new RemoveParent(),
+                        "removePlugin", new RemovePlugin(),
+                        "removeSubproject", new RemoveSubproject()),
+                properties);
+    }
+
+    private static Model model() {
+        List<Dependency> dependencies = new ArrayList<>();
+        List<Plugin> plugins = new ArrayList<>();
+        List<String> subprojects = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            dependencies.add(
+                    Dependency.newBuilder().groupId("org.dep").artifactId("dep" + i).build());
+            plugins.add(Plugin.newBuilder().groupId("org.plugin").artifactId("p" + i).build());
+            subprojects.add("module" + i);
+        }
+        return Model.newBuilder()
+                .groupId("org.foo")
+                .artifactId("lib")
+                .parent(Parent.newBuilder().groupId("org.foo").artifactId("parent").build())
+                .dependencies(dependencies)
+                .build(Build.newBuilder().plugins(plugins).build())
+                .subprojects(subprojects)
+                .build();
+    }
+
+    @Test
+    public void testUnchangedModelDoesNotAllocate() {
+        assumeFalse(Log.isDebugEnabled());
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        DolaTransformer transformer = transformer();
+        Model model = model();
+        for (int i = 0; i < WARMUP; i++) {
+            assertSame(model, transformer.transform(model));
+        }
+
+        long before = bean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (transformer.transform(model) != model) {
+                fail("model was changed");
+            }
+        }
+        long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+
+        // Allow for a few stray allocations outside of the measured code, but not a single
+        // allocation per call
+        assertTrue(
+                allocated < ITERATIONS,
+                "unchanged path allocated " + allocated + " bytes in " + ITERATIONS + " calls");
+    }
+}
@@ -0,0 +1,155 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PlanCacheTest {
+
+    private static final Map<String, Transformer> TRANSFORMERS =
+            Map.of(
+                    "addDependency", new AddDependency(),
+                    "removeDependency", new RemoveDependency(),
+                    "removeParent", new RemoveParent());
+
+    private static final PathTrie PATHS = PathTrie.of(new Properties());
+
+    @TempDir Path dir;
+
+    private static List<String> descs(List<? extends Object> transformations) {
+        return transformations.stream().map(Object::toString).toList();
+    }
+
+    private Path write(String name, String... lines) throws Exception {
+        Path file = dir.resolve(name);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testInstructionFile() throws Exception {
+        Path file =
+                write(
+                        "insns.txt",
+                        "# comment",
+                        "",
+                        "removeParent=org.parent:*",
+                        "  x.removeDependency.raw = org.drop:*@org.app:* ",
+                        "dola.transformer.insn.addDependency=org.added:foo:1");
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insnFile", file.toString());
+        properties.setProperty("dola.transformer.optimize", "0");
+        properties.setProperty("dola.transformer.insn.removeDependency", "org.junk:*");
+
+        List<String> plan = descs(TransformationParser.parse(TRANSFORMERS, properties));
+        assertEquals(
+                List.of(
+                        "Transformation[op=removeParent, arg=org.parent:*, sel=,"
+                                + " phases=file+raw]",
+                        "Transformation[op=removeDependency, arg=org.drop:*, sel=org.app:*,"
+                                + " phases=raw]",
+                        "Transformation[op=addDependency, arg=org.added:foo:1, sel=,"
+                                + " phases=raw+effective]",
+                        "Transformation[op=removeDependency, arg=org.junk:*, sel=,"
+                                + " phases=raw+effective]"),
+                plan);
+        // The plan cache is opt-in
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    public void testMalformedLine() throws Exception {
+        Path file = write("insns.txt", "removeParent=org.parent:*", "removeDependency");
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insnFile", file.toString());
+        IllegalArgumentException e =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> TransformationParser.parse(TRANSFORMERS, properties));
+        assertTrue(e.getMessage().contains("insns.txt:2"));
+    }
+
+    @Test
+    public void testCacheIsStoredAndLoaded() throws Exception {
+        Path file =
+                write(
+                        "insns.txt",
+                        "removeDependency=org.drop:*",
+                        "removeDependency=org.drop:*",
+                        "addDependency=org.added:foo:1@(org.app:a,org.app:*)");
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insnFile", file.toString());
+        properties.setProperty("dola.transformer.insn.removeParent", "org.parent:*");
+        Path cacheFile = dir.resolve("target/dola/plan.cache");
+        properties.setProperty("dola.transformer.planCache", cacheFile.toString());
+
+        List<String> parsed = descs(TransformationParser.parse(TRANSFORMERS, properties));
+        assertEquals(3, parsed.size());
+        assertTrue(Files.exists(cacheFile));
+
+        byte[] hash =
+                PlanCache.hash(
+                        TRANSFORMERS,
+                        List.of(file),
+                        properties,
+                        List.of("dola.transformer.insn.removeParent"));
+        List<PlanOptimizer.Instruction> cached =
+                PlanCache.load(cacheFile, hash, TRANSFORMERS, PATHS);
+        assertNotNull(cached);
+        assertEquals(
+                parsed,
+                descs(cached.stream().map(PlanOptimizer.Instruction::toTransformation).toList()));
+        assertEquals(parsed, descs(TransformationParser.parse(TRANSFORMERS, properties)));
+
+        properties.setProperty("dola.transformer.insn.removeParent", "org.other:*");
+        assertNull(PlanCache.load(cacheFile, new byte[hash.length], TRANSFORMERS, PATHS));
+        List<String> changed = descs(TransformationParser.parse(TRANSFORMERS, properties));
+        assertTrue(changed.get(2).contains("arg=org.other:*"));
+    }
+
+    @Test
+    public void testCorruptCacheIsIgnored() throws Exception {
+        Path file = write("insns.txt", "removeDependency=org.drop:*");
+        Path cacheFile = write("plan.bin", "garbage");
+        Properties properties = new Properties();
+        properties.setProperty("dola.transformer.insnFile", file.toString());
+        properties.setProperty("dola.transformer.planCache", cacheFile.toString());
+
+        assertEquals(1, TransformationParser.parse(TRANSFORMERS, properties).size());
+        byte[] hash = PlanCache.hash(TRANSFORMERS, List.of(file), properties, List.of());
+        assertNotNull(PlanCache.load(cacheFile, hash, TRANSFORMERS, PATHS));
+
+        Files.write(cacheFile, Arrays.copyOf(Files.readAllBytes(cacheFile), 50));
+        assertNull(PlanCache.load(cacheFile, hash, TRANSFORMERS, PATHS));
+        assertEquals(1, TransformationParser.parse(TRANSFORMERS, properties).size());
+    }
+}
@@ -0,0 +1,358 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependencies;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PlanOptimizerTest {
+
+    private static final Map<String, Transformer> TRANSFORMERS =
+            Map.of(
+                    "addDependency", new AddDependency(),
+                    "removeDependency", new RemoveDependency(),
+                    "removeDependencies", new RemoveDependencies(),
+                    "removeParent", new RemoveParent(),
+                    "removePlugin", new RemovePlugin());
+
+    private static List<String> parse(String... instructions) {
+        return TransformationParser.parseFromProperties(TRANSFORMERS, properties(instructions))
+                .stream()
+                .map(Transformation::toString)
+                .map(desc -> desc.substring(desc.indexOf('[') + 1, desc.length() - 1))
+                .toList();
+    }
+
+    @Test
+    public void testDuplicateAndRedundantRemovals() {
+        List<String> plan =
+                parse(
+                        "removeDependency=org.drop:*",
+                        "removeDependency=org.drop:*",
+                        "removeDependency=org.drop:foo@org.app:app",
+                        "removeDependency=org.other:foo");
+        assertEquals(
+                List.of(
+                        "op=removeDependency, arg=org.drop:*, sel=, phases=raw+effective",
+                        "op=removeDependency, arg=org.other:foo, sel=, phases=raw+effective"),
+                plan);
+    }
+
+    @Test
+    public void testRemovalInNarrowerPhasesIsKept() {
+        List<String> plan =
+                parse("removeDependency.raw=org.drop:*", "removeDependency=org.drop:foo");
+        assertEquals(2, plan.size());
+    }
+
+    @Test
+    public void testAdditionCancelledByLaterRemoval() {
+        List<String> plan =
+                parse(
+                        "addDependency=org.added:foo:1@org.app:app",
+                        "addDependency=org.added:bar:1",
+                        "removeDependency=org.added:foo@org.app:*");
+        assertEquals(
+                List.of(
+                        "op=removeDependency, arg=org.added:foo, sel=org.app:*,"
+                                + " phases=raw+effective",
+                        "op=addDependency, arg=org.added:bar:1, sel=, phases=raw+effective"),
+                plan);
+    }
+
+    @Test
+    public void testRemovalDoesNotCancelAdditionForOtherModels() {
+        List<String> plan =
+                parse(
+                        "addDependency=org.added:foo:1",
+                        "removeDependency=org.added:foo@org.app:app");
+        assertEquals(2, plan.size());
+    }
+
+    @Test
+    public void testMatchAllSelectorDoesNotCoverInheritedCoordinates() {
+        List<String> plan =
+                parse("addDependency=org.added:foo:1", "removeDependency=org.added:foo@*:*");
+        assertEquals(2, plan.size());
+        plan = parse("removeDependency=org.drop:*", "removeDependency=org.drop:foo@*:*");
+        assertEquals(1, plan.size());
+        plan = parse("removeDependency=org.drop:*@*:*", "removeDependency=org.drop:foo");
+        assertEquals(2, plan.size());
+    }
+
+    @Test
+    public void testSelectorsAreMerged() {
+        List<String> plan =
+                parse(
+                        "removePlugin=org.plugins:lint@org.app:a",
+                        "removeDependency=org.drop:*",
+                        "removePlugin=org.plugins:lint@(org.app:b,org.app:*)");
+        assertEquals(
+                List.of(
+                        "op=removePlugin, arg=org.plugins:lint, sel=org.app:*,"
+                                + " phases=raw+effective",
+                        "op=removeDependency, arg=org.drop:*, sel=, phases=raw+effective"),
+                plan);
+    }
+
+    @Test
+    public void testConditionalSelectorsAreCoveredOnlyByFewerConditions() {
+        List<String> plan =
+                parse(
+                        "removePlugin=org.plugins:lint@(org.app:a&packaging=pom&property=x,org.app:*&packaging=pom,org.app:b&packaging=jar)",
+                        "removeDependency=org.drop:*@org.app:*&packaging=pom",
+                        "removeDependency=org.drop:foo@org.app:a&packaging=pom&path=**",
+                        "removeDependency=org.drop:bar@org.app:a");
+        assertEquals(
+                List.of(
+                        "op=removePlugin, arg=org.plugins:lint,"
+                                + " sel=org.app:*&packaging=pom,org.app:b&packaging=jar,"
+                                + " phases=raw+effective",
+                        "op=removeDependency, arg=org.drop:*, sel=org.app:*&packaging=pom,"
+                                + " phases=raw+effective",
+                        "op=removeDependency, arg=org.drop:bar, sel=org.app:a,"
+                                + " phases=raw+effective"),
+                plan);
+    }
+
+    @Test
+    public void testNothingIsMovedAcrossOpaqueTransformations() {
+        List<String> plan =
+                parse(
+                        "removeDependency=org.drop:*",
+                        "removeParent.raw+effective=org.parent:*",
+                        "removeDependency=org.drop:*");
+        assertEquals(3, plan.size());
+    }
+
+    @Test
+    public void testRemovalsAreGrouped() {
+        List<String> plan =
+                parse(
+                        "removeDependency=org.drop:*",
+                        "addDependency=org.added:foo:1",
+                        "removeDependency=org.junk:*",
+                        "removeDependency=org.added:bar");
+        assertEquals(
+                List.of(
+                        "op=removeDependency, arg=org.drop:*, sel=, phases=raw+effective",
+                        "op=removeDependency, arg=org.junk:*, sel=, phases=raw+effective",
+                        "op=removeDependency, arg=org.added:bar, sel=, phases=raw+effective",
+                        "op=addDependency, arg=org.added:foo:1, sel=, phases=raw+effective"),
+                plan);
+    }
+
+    private static List<Model> models() {
+        List<Model> models = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            List<Dependency> dependencies = new ArrayList<>();
+            for (int j = 0; j < 6; j++) {
+                dependencies.add(
+                        Dependency.newBuilder()
+                                .groupId(j % 2 == 0 ? "org.drop" : "org.lib")
+                                .artifactId("lib-" + (i + j) % 7)
+                                .build());
+            }
+            Model.Builder builder =
+                    Model.newBuilder()
+                            .groupId(i % 10 == 7 ? null : i % 3 == 0 ? "org.app" : "org.other")
+                            .artifactId("mod" + i % 5)
+                            .dependencies(dependencies)
+                            .build(
+                                    Build.newBuilder()
+                                            .plugins(
+                                                    List.of(
+                                                            Plugin.newBuilder()
+                                                                    .groupId("org.plugins")
+                                                                    .artifactId("lint")
+                                                                    .build()))
+                                            .build());
+            if (i % 4 == 0) {
+                builder.parent(
+                        Parent.newBuilder()
+                                .groupId("org.parent")
+                                .artifactId("parent")
+                                .version("1")
+                                .build());
+            }
+            models.add(builder.build());
+        }
+        return models;
+    }
+
+    private static String fingerprint(Model model) {
+        return model.getGroupId()
+                + ":"
+                + model.getArtifactId()
+                + " parent="
+                + (model.getParent() != null)
+                + " deps="
+                + model.getDependencies().stream()
+                        .map(d -> d.getGroupId() + ":" + d.getArtifactId() + ":" + d.getVersion())
+                        .collect(Collectors.joining(","))
+                + " plugins="
+                + model.getBuild().getPlugins().size();
+    }
+
+    @Test
+    public void testOptimizedPlanGivesSameResults() {
+        String[] instructions = {
+            "removeDependency=org.drop:lib-1",
+            "addDependency=org.added:foo:1@org.app:*",
+            "addDependency=org.added:bar:1",
+            "removeDependency=org.drop:*@org.app:mod1",
+            "removeDependency=org.drop:lib-2@(org.app:mod1,org.other:*)",
+            "removeDependency=org.added:foo@*:*",
+            "addDependency=org.added:bar:2@org.app:mod2",
+            "removePlugin=org.plugins:lint@org.app:mod3",
+            "removeDependency=org.lib:*@org.other:mod4",
+            "removePlugin=org.plugins:lint@org.other:mod3",
+            "removeParent=org.parent:*@*:mod0",
+            "removeDependency=org.lib:lib-3",
+            "removeDependency=org.lib:lib-3",
+            "addDependency=org.added:baz:1@*:mod2",
+            "addDependency=org.added:baz:1@*:mod4",
+            "addDependency=org.added:qux:1",
+            "removeDependency=org.added:qux@*:*",
+        };
+        assertTrue(assertSameResults(instructions) > 0);
+    }
+
+    @Test
+    public void testAdditionAfterBulkRemovalIsKept(@TempDir Path dir) throws Exception {
+        Path list = dir.resolve("remove.txt");
+        Files.writeString(list, "foo:bar\n");
+        String[] instructions = {
+            "addDependency=foo:bar:1", "removeDependencies=" + list, "addDependency=foo:bar:1",
+        };
+        assertEquals(3, parse(instructions).size());
+        for (String optimize : List.of("1", "0")) {
+            Properties properties = properties(instructions);
+            properties.setProperty("dola.transformer.optimize", optimize);
+            List<Transformation> transformations =
+                    TransformationParser.parseFromProperties(TRANSFORMERS, properties);
+            Model model =
+                    plan(transformations, Phase.RAW)
+                            .transform(
+                                    Model.newBuilder()
+                                            .groupId("org.app")
+                                            .artifactId("app")
+                                            .build());
+            assertEquals(
+                    List.of("foo:bar"),
+                    model.getDependencies().stream()
+                            .map(d -> d.getGroupId() + ":" + d.getArtifactId())
+                            .toList(),
+                    "optimize=" + optimize);
+        }
+        assertSameResults(instructions);
+    }
+
+    @Test
+    public void testRandomPlansGiveSameResults(@TempDir Path dir) throws Exception {
+        Path list = dir.resolve("remove.txt");
+        Files.writeString(list, "org.added:foo\norg.drop:lib-?\n");
+        String[] ops = {
+            "addDependency=org.added:foo:1",
+            "addDependency=org.added:bar:1",
+            "addDependency=org.drop:lib-3:1",
+            "removeDependency=org.added:foo",
+            "removeDependency=org.added:*",
+            "removeDependency=org.drop:*",
+            "removeDependency=org.drop:lib-3",
+            "removeDependencies=" + list,
+            "removePlugin=org.plugins:lint",
+            "removeParent=org.parent:*",
+        };
+        String[] phases = {"", ".raw", ".effective", ".raw+effective"};
+        String[] selectors = {"", "", "@*:*", "@org.app:*", "@*:mod1", "@(org.app:mod2,*:mod3)"};
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            String[] instructions = new String[4 + random.nextInt(9)];
+            for (int i = 0; i < instructions.length; i++) {
+                String[] kv = ops[random.nextInt(ops.length)].split("=", 2);
+                instructions[i] =
+                        kv[0]
+                                + phases[random.nextInt(phases.length)]
+                                + "="
+                                + kv[1]
+                                + selectors[random.nextInt(selectors.length)];
+            }
+            assertSameResults(instructions);
+        }
+    }
+
+    private static Properties properties(String... instructions) {
+        Properties properties = new Properties();
+        for (int i = 0; i < instructions.length; i++) {
+            String[] kv = instructions[i].split("=", 2);
+            properties.setProperty(String.format("dola.transformer.insn.%02d.%s", i, kv[0]), kv[1]);
+        }
+        return properties;
+    }
+
+    /**
+     * Applies instructions to test models in every phase, with and without optimization, and checks
+     * that results are the same.
+     *
+     * @return number of instructions eliminated by the optimizer
+     */
+    private static int assertSameResults(String... instructions) {
+        Properties optimized = properties(instructions);
+        Properties plain = properties(instructions);
+        plain.setProperty("dola.transformer.optimize", "0");
+        List<Transformation> a = TransformationParser.parseFromProperties(TRANSFORMERS, optimized);
+        List<Transformation> b = TransformationParser.parseFromProperties(TRANSFORMERS, plain);
+        for (Phase phase : Phase.values()) {
+            TransformationPlan planA = plan(a, phase);
+            TransformationPlan planB = plan(b, phase);
+            for (Model model : models()) {
+                assertEquals(
+                        fingerprint(planB.transform(model)),
+                        fingerprint(planA.transform(model)),
+                        phase + " " + model + " " + List.of(instructions));
+            }
+        }
+        return b.size() - a.size();
+    }
+
+    private static TransformationPlan plan(List<Transformation> transformations, Phase phase) {
+        return new TransformationPlan(
+                transformations.stream()
+                        .filter(t -> ((SelectiveTransformation) t).getPhases().contains(phase))
+                        .toList());
+    }
+}
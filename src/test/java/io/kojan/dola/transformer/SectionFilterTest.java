@@ -0,0 +1,82 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+public class SectionFilterTest {
+
+    private static final List<Integer> ELEMENTS = IntStream.range(0, 10000).boxed().toList();
+
+    @Test
+    public void testSmallSectionIsSequential() {
+        SectionFilter filter = new SectionFilter(100, 4);
+        assertFalse(filter.parallel(99));
+        assertNull(filter.evaluate(ELEMENTS.subList(0, 99), i -> i));
+        assertNull(filter.testAll(ELEMENTS.subList(0, 99), i -> true));
+        assertTrue(filter.parallel(100));
+        assertFalse(new SectionFilter(0, 4).parallel(ELEMENTS.size()));
+        assertFalse(new SectionFilter(100, 1).parallel(ELEMENTS.size()));
+    }
+
+    @Test
+    public void testParallelResultsByIndex() {
+        SectionFilter filter = new SectionFilter(100, 4);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        int[] values =
+                filter.evaluate(
+                        ELEMENTS,
+                        i -> {
+                            threads.add(Thread.currentThread().getName());
+                            return i * 2;
+                        });
+        assertArrayEquals(ELEMENTS.stream().mapToInt(i -> i * 2).toArray(), values);
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("dola-filter-")));
+        boolean[] hits = filter.testAll(ELEMENTS, i -> i % 3 == 0);
+        for (int i = 0; i < hits.length; i++) {
+            assertEquals(i % 3 == 0, hits[i]);
+        }
+    }
+
+    @Test
+    public void testRemoveIf() {
+        Model model = Model.newBuilder().groupId("org.app").artifactId("app").build();
+        List<Integer> small = ELEMENTS.subList(0, 10);
+        assertSame(small, SectionFilter.removeIf(small, i -> i > 10, "number", model));
+        TransformationMetrics metrics = new TransformationMetrics();
+        TransformationMetrics previous = metrics.enter();
+        try {
+            assertEquals(
+                    List.of(0, 1, 2, 4, 5, 6, 8, 9),
+                    SectionFilter.removeIf(small, i -> i % 4 == 3, "number", model));
+            List<Integer> rest =
+                    SectionFilter.removeIf(
+                            ELEMENTS.subList(0, 100), i -> i % 2 == 0, "number", model);
+            assertEquals(50, rest.size());
+            assertTrue(rest.stream().allMatch(i -> i % 2 == 1));
+        } finally {
+            TransformationMetrics.exit(previous);
+        }
+        assertEquals(52, metrics.getElements());
+    }
+}
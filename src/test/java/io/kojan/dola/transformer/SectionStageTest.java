@@ -0,0 +1,141 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveSubproject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+public class SectionStageTest {
+
+    private static TransformationMetrics[] metrics(List<Transformation> transformations) {
+        TransformationMetrics[] metrics = new TransformationMetrics[transformations.size()];
+        Arrays.setAll(metrics, i -> new TransformationMetrics());
+        return metrics;
+    }
+
+    private static Dependency dep(String gid, String aid) {
+        return Dependency.newBuilder().groupId(gid).artifactId(aid).build();
+    }
+
+    private static BitSet all(int n) {
+        BitSet bits = new BitSet();
+        bits.set(0, n);
+        return bits;
+    }
+
+    @Test
+    public void testSectionIsRebuiltOnce() {
+        Dependency a = dep("g", "a");
+        Dependency b = dep("g", "b");
+        Dependency c = dep("g", "c");
+        List<Transformation> transformations =
+                List.of(
+                        new RemoveDependency().produceTransformation("g:a"),
+                        new AddDependency().produceTransformation("g:d:1"),
+                        new RemoveDependency().produceTransformation("*:c"),
+                        new RemoveDependency().produceTransformation("g:d"),
+                        new AddDependency().produceTransformation("g:e:1"));
+
+        Model model = mock(Model.class);
+        expect(model.getDependencies()).andReturn(List.of(a, b, c));
+        Model newModel = mock(Model.class);
+        expect(model.withDependencies(anyObject())).andReturn(newModel);
+        replay(model, newModel);
+
+        SectionStage stage =
+                new SectionStage(
+                        transformations, metrics(transformations), 0, transformations.size());
+        assertSame(newModel, stage.transform(model, all(transformations.size())));
+
+        verify(model, newModel);
+    }
+
+    @Test
+    public void testOnlySelectedTransformationsApply() {
+        List<Transformation> transformations =
+                List.of(
+                        new RemoveDependency().produceTransformation("g:a"),
+                        new RemoveDependency().produceTransformation("g:b"),
+                        new RemoveSubproject().produceTransformation("x"));
+        Model model =
+                Model.newBuilder()
+                        .dependencies(List.of(dep("g", "a"), dep("g", "b")))
+                        .subprojects(List.of("x", "y"))
+                        .build();
+        SectionStage stage = new SectionStage(transformations, metrics(transformations), 0, 3);
+
+        BitSet selected = new BitSet();
+        selected.set(1);
+        Model result = stage.transform(model, selected);
+        assertEquals(List.of("g:a"), ids(result.getDependencies()));
+        assertSame(model.getSubprojects(), result.getSubprojects());
+
+        assertSame(model, stage.transform(model, new BitSet()));
+    }
+
+    @Test
+    public void testAgreesWithSequentialApplication() {
+        Random random = new Random(13);
+        String[] aids = {"a", "b", "c", "d"};
+        for (int n = 0; n < 500; n++) {
+            List<Transformation> transformations = new ArrayList<>();
+            for (int i = random.nextInt(8) + 1; i > 0; i--) {
+                String aid = aids[random.nextInt(aids.length)];
+                transformations.add(
+                        random.nextBoolean()
+                                ? new AddDependency().produceTransformation("g:" + aid + ":1")
+                                : new RemoveDependency()
+                                        .produceTransformation(
+                                                random.nextBoolean() ? "g:" + aid : "*:?"));
+            }
+            List<Dependency> deps = new ArrayList<>();
+            for (String aid : aids) {
+                if (random.nextBoolean()) {
+                    deps.add(dep("g", aid));
+                }
+            }
+            Model model = Model.newBuilder().dependencies(deps).build();
+
+            Model expected = model;
+            for (Transformation transformation : transformations) {
+                expected = transformation.transform(expected);
+            }
+            SectionStage stage =
+                    new SectionStage(
+                            transformations, metrics(transformations), 0, transformations.size());
+            Model actual = stage.transform(model, all(transformations.size()));
+
+            assertEquals(ids(expected.getDependencies()), ids(actual.getDependencies()));
+            assertEquals(expected == model, actual == model);
+        }
+    }
+
+    private static List<String> ids(List<Dependency> deps) {
+        return deps.stream().map(d -> d.getGroupId() + ":" + d.getArtifactId()).toList();
+    }
+}
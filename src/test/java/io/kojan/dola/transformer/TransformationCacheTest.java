@@ -0,0 +1,110 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+public class TransformationCacheTest {
+
+    private static Model model(String aid, String... deps) {
+        return Model.newBuilder()
+                .groupId("org.foo")
+                .artifactId(aid)
+                .dependencies(
+                        List.of(deps).stream()
+                                .map(
+                                        d ->
+                                                Dependency.newBuilder()
+                                                        .groupId("org.dep")
+                                                        .artifactId(d)
+                                                        .build())
+                                .toList())
+                .build();
+    }
+
+    @Test
+    public void testIdentityHit() {
+        TransformationCache cache = new TransformationCache(16);
+        Model in = model("a", "x");
+        Model out = in.withArtifactId("b");
+        assertNull(cache.get(in));
+        cache.put(in, out);
+        assertSame(out, cache.get(in));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testContentHitForUnchangedModel() {
+        TransformationCache cache = new TransformationCache(16);
+        Model in = model("a", "x", "y");
+        cache.put(in, in);
+        Model twin = model("a", "x", "y");
+        assertNotSame(in, twin);
+        assertSame(twin, cache.get(twin));
+        assertNull(cache.get(model("a", "x", "z")));
+        assertNull(cache.get(model("a", "x")));
+        assertNull(cache.get(twin.withVersion("1.0")));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testTransformOnMiss() {
+        TransformationCache cache = new TransformationCache(16);
+        Model in = model("a", "x");
+        int[] calls = new int[1];
+        UnaryOperator<Model> identity =
+                m -> {
+                    calls[0]++;
+                    return m;
+                };
+        assertSame(in, cache.get(in, identity));
+        Model twin = model("a", "x");
+        assertSame(twin, cache.get(twin, identity));
+        assertSame(in, cache.get(in, identity));
+        assertEquals(1, calls[0]);
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testNoContentHitForChangedModel() {
+        TransformationCache cache = new TransformationCache(16);
+        Model in = model("a", "x");
+        cache.put(in, in.withDependencies(List.of()));
+        assertNull(cache.get(model("a", "x")));
+    }
+
+    @Test
+    public void testBounded() {
+        TransformationCache cache = new TransformationCache(16);
+        Model first = model("first");
+        Model firstOut = first.withVersion("1");
+        cache.put(first, firstOut);
+        for (int i = 0; i < 1000; i++) {
+            Model m = model("m" + i);
+            cache.put(m, m.withVersion("1"));
+        }
+        assertNull(cache.get(first));
+    }
+}
@@ -18,6 +18,7 @@ package io.kojan.dola.transformer;
 import static org.easymock.EasyMock.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.kojan.dola.transformer.op.RemovePlugin;
 import java.util.*;
 import org.junit.jupiter.api.Test;
 
@@ -126,4 +127,52 @@ public class TransformationParserTest {
 
         verify(mockTransformer, mockTransformation);
     }
+
+    @Test
+    public void testParsePhaseSuffix() {
+        Properties props = new Properties();
+        props.setProperty("dola.transformer.insn.01.removeParent.file+RAW", "g:a");
+        props.setProperty("dola.transformer.insn.02.removeParent.all", "g:b");
+        props.setProperty("dola.transformer.insn.removeParent", "g:c");
+
+        Transformer mockTransformer = mock(Transformer.class);
+        Transformation mockTransformation = mock(Transformation.class);
+
+        expect(mockTransformer.produceTransformation(anyString()))
+                .andReturn(mockTransformation)
+                .times(3);
+
+        Map<String, Transformer> transformers = Map.of("removeParent", mockTransformer);
+
+        replay(mockTransformer, mockTransformation);
+
+        List<Transformation> result = TransformationParser.parseFromProperties(transformers, props);
+        assertEquals(3, result.size());
+        assertEquals(
+                EnumSet.of(Phase.FILE, Phase.RAW),
+                ((SelectiveTransformation) result.get(0)).getPhases());
+        assertTrue(result.get(0).toString().contains("op=removeParent"));
+        assertTrue(result.get(0).toString().contains("phases=file+raw"));
+        assertEquals(
+                EnumSet.allOf(Phase.class), ((SelectiveTransformation) result.get(1)).getPhases());
+        assertEquals(
+                EnumSet.allOf(Phase.class), ((SelectiveTransformation) result.get(2)).getPhases());
+
+        verify(mockTransformer, mockTransformation);
+    }
+
+    @Test
+    public void testDefaultPhasesFromAnnotation() {
+        Properties props = new Properties();
+        props.setProperty("dola.transformer.insn.removePlugin", "g:a");
+
+        Map<String, Transformer> transformers = Map.of("removePlugin", new RemovePlugin());
+
+        List<Transformation> result = TransformationParser.parseFromProperties(transformers, props);
+        assertEquals(1, result.size());
+        assertEquals(
+                EnumSet.of(Phase.RAW, Phase.EFFECTIVE),
+                ((SelectiveTransformation) result.get(0)).getPhases());
+        assertTrue(result.get(0).toString().contains("phases=raw+effective"));
+    }
 }
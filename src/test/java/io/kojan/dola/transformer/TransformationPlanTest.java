@@ -0,0 +1,264 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.op.AddDependency;
+import io.kojan.dola.transformer.op.PurgeDependency;
+import io.kojan.dola.transformer.op.PurgePlugin;
+import io.kojan.dola.transformer.op.RemoveDependency;
+import io.kojan.dola.transformer.op.RemoveParent;
+import io.kojan.dola.transformer.op.RemovePlugin;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class TransformationPlanTest {
+
+    private static Model model(String gid, String aid) {
+        return Model.newBuilder().groupId(gid).artifactId(aid).build();
+    }
+
+    private static Transformation recording(List<String> log, String name) {
+        return model -> {
+            log.add(name);
+            return model;
+        };
+    }
+
+    @Test
+    public void testOnlySelectedTransformationsAreAppliedInOrder() {
+        List<String> log = new ArrayList<>();
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.foo:*")),
+                                        recording(log, "a"),
+                                        "a"),
+                                recording(log, "b"),
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.bar:*")),
+                                        recording(log, "c"),
+                                        "c"),
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("*:lib")),
+                                        recording(log, "d"),
+                                        "d")));
+        Model model = model("org.foo", "lib");
+        assertSame(model, plan.transform(model));
+        assertEquals(List.of("a", "b", "d"), log);
+    }
+
+    @Test
+    public void testReselectsAfterCoordinatesChange() {
+        List<String> log = new ArrayList<>();
+        Transformation setGroupId =
+                model -> {
+                    log.add("set");
+                    return model.withGroupId("org.foo");
+                };
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.foo:lib")),
+                                        recording(log, "before"),
+                                        "before"),
+                                setGroupId,
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.foo:lib")),
+                                        recording(log, "after"),
+                                        "after")));
+        Model result = plan.transform(model(null, "lib"));
+        assertEquals("org.foo", result.getGroupId());
+        assertEquals(List.of("set", "after"), log);
+    }
+
+    @Test
+    public void testAdjacentRemovalsAreEvaluatedTogether() {
+        Dependency junit = Dependency.newBuilder().groupId("junit").artifactId("junit").build();
+        Dependency slf4j =
+                Dependency.newBuilder().groupId("org.slf4j").artifactId("slf4j-api").build();
+        Dependency guava =
+                Dependency.newBuilder().groupId("com.google.guava").artifactId("guava").build();
+        Plugin compiler =
+                Plugin.newBuilder()
+                        .groupId("org.apache.maven.plugins")
+                        .artifactId("maven-compiler-plugin")
+                        .build();
+        Plugin surefire =
+                Plugin.newBuilder()
+                        .groupId("org.apache.maven.plugins")
+                        .artifactId("maven-surefire-plugin")
+                        .build();
+        Model model =
+                Model.newBuilder()
+                        .groupId("org.foo")
+                        .artifactId("lib")
+                        .dependencies(List.of(junit, slf4j, guava))
+                        .build(Build.newBuilder().plugins(List.of(compiler, surefire)).build())
+                        .build();
+        RemoveDependency removeDependency = new RemoveDependency();
+        RemovePlugin removePlugin = new RemovePlugin();
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                removeDependency.produceTransformation("junit:*"),
+                                removePlugin.produceTransformation("*:maven-surefire-plugin"),
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.bar:*")),
+                                        removeDependency.produceTransformation("org.slf4j:*"),
+                                        "not selected"),
+                                removeDependency.produceTransformation("*:guava")));
+        Model result = plan.transform(model);
+        assertEquals(List.of(slf4j), result.getDependencies());
+        assertEquals(List.of(compiler), result.getBuild().getPlugins());
+    }
+
+    @Test
+    public void testAdjacentWalkingTransformationsShareOneWalk() {
+        Dependency junit = Dependency.newBuilder().groupId("junit").artifactId("junit").build();
+        Dependency slf4j =
+                Dependency.newBuilder().groupId("org.slf4j").artifactId("slf4j-api").build();
+        Plugin javadoc =
+                Plugin.newBuilder()
+                        .groupId("org.apache.maven.plugins")
+                        .artifactId("maven-javadoc-plugin")
+                        .build();
+        Model model =
+                Model.newBuilder()
+                        .groupId("org.foo")
+                        .artifactId("lib")
+                        .dependencies(List.of(junit, slf4j))
+                        .dependencyManagement(
+                                DependencyManagement.newBuilder()
+                                        .dependencies(List.of(slf4j, junit))
+                                        .build())
+                        .build(Build.newBuilder().plugins(List.of(javadoc)).build())
+                        .build();
+        PurgeDependency purgeDependency = new PurgeDependency();
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                purgeDependency.produceTransformation("junit:*"),
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.bar:*")),
+                                        purgeDependency.produceTransformation("org.slf4j:*"),
+                                        "not selected"),
+                                new PurgePlugin().produceTransformation("*:maven-javadoc-plugin")));
+        Model result = plan.transform(model);
+        assertEquals(List.of(slf4j), result.getDependencies());
+        assertEquals(List.of(slf4j), result.getDependencyManagement().getDependencies());
+        assertEquals(List.of(), result.getBuild().getPlugins());
+        assertEquals(1, plan.getMetrics(0).getModified());
+        assertEquals(2, plan.getMetrics(0).getElements());
+        assertEquals(0, plan.getMetrics(1).getInvocations());
+        assertEquals(1, plan.getMetrics(2).getModified());
+    }
+
+    @Test
+    public void testEditsAreGatheredAcrossTransformations() {
+        Dependency junit = Dependency.newBuilder().groupId("junit").artifactId("junit").build();
+        Model model =
+                Model.newBuilder()
+                        .parent(
+                                Parent.newBuilder()
+                                        .groupId("org.foo")
+                                        .artifactId("parent")
+                                        .version("1")
+                                        .build())
+                        .artifactId("lib")
+                        .dependencies(List.of(junit))
+                        .build();
+        List<String> log = new ArrayList<>();
+        Transformation observer =
+                m -> {
+                    log.add(m.getGroupId() + ":" + m.getDependencies().size());
+                    return m;
+                };
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                new RemoveParent().produceTransformation("org.foo:parent"),
+                                new SelectiveTransformation(
+                                        List.of(new GidAidMatcher("org.foo:lib")),
+                                        new RemoveDependency().produceTransformation("junit:*"),
+                                        "selected by inherited groupId"),
+                                observer,
+                                new AddDependency().produceTransformation("org.foo:api:1")));
+        Model result = plan.transform(model);
+        // Pending edits are applied before a transformation that needs the model
+        assertEquals(List.of("org.foo:0"), log);
+        assertNull(result.getParent());
+        assertEquals("org.foo", result.getGroupId());
+        assertEquals("1", result.getVersion());
+        assertEquals(
+                List.of("api"),
+                result.getDependencies().stream().map(Dependency::getArtifactId).toList());
+    }
+
+    @Test
+    public void testMetricsCanBeDisabled() {
+        Dependency junit = Dependency.newBuilder().groupId("junit").artifactId("junit").build();
+        Dependency slf4j =
+                Dependency.newBuilder().groupId("org.slf4j").artifactId("slf4j-api").build();
+        Model model =
+                Model.newBuilder()
+                        .groupId("org.foo")
+                        .artifactId("lib")
+                        .dependencies(List.of(junit, slf4j))
+                        .build();
+        RemoveDependency removeDependency = new RemoveDependency();
+        PurgeDependency purgeDependency = new PurgeDependency();
+        SelectiveTransformation selective =
+                new SelectiveTransformation(
+                        List.of(new GidAidMatcher("org.foo:*")),
+                        new AddDependency().produceTransformation("org.foo:api:1"),
+                        "selected");
+        TransformationPlan plan =
+                new TransformationPlan(
+                        List.of(
+                                removeDependency.produceTransformation("junit:*"),
+                                removeDependency.produceTransformation("*:guava"),
+                                purgeDependency.produceTransformation("org.slf4j:*"),
+                                purgeDependency.produceTransformation("org.bar:*"),
+                                selective),
+                        false);
+        Model result = plan.transform(model);
+        assertEquals(
+                List.of("api"),
+                result.getDependencies().stream().map(Dependency::getArtifactId).toList());
+        assertEquals(0, plan.getModelCount());
+        for (int i = 0; i < plan.getTransformations().size(); i++) {
+            TransformationMetrics metrics = plan.getMetrics(i);
+            assertEquals(0, metrics.getHits());
+            assertEquals(0, metrics.getModified());
+            assertEquals(0, metrics.getElements());
+            assertEquals(0, metrics.getNanos());
+        }
+        selective.transform(model);
+        assertEquals(0, selective.getMetrics().getInvocations());
+        assertEquals(0, selective.getMetrics().getHits());
+    }
+}
@@ -0,0 +1,68 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.Transformation;
+import java.util.List;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Profile;
+import org.junit.jupiter.api.Test;
+
+public class PurgeDependencyTest {
+
+    private static Dependency dependency(String gid, String aid) {
+        return Dependency.newBuilder().groupId(gid).artifactId(aid).build();
+    }
+
+    @Test
+    public void testDependencyIsRemovedFromAllContainers() {
+        Dependency junit = dependency("junit", "junit");
+        Dependency guava = dependency("com.google.guava", "guava");
+        Model model =
+                Model.newBuilder()
+                        .dependencies(List.of(junit, guava))
+                        .dependencyManagement(
+                                DependencyManagement.newBuilder()
+                                        .dependencies(List.of(guava, junit))
+                                        .build())
+                        .profiles(
+                                List.of(
+                                        Profile.newBuilder()
+                                                .id("test")
+                                                .dependencies(List.of(junit))
+                                                .build()))
+                        .build();
+        Transformation transformation = new PurgeDependency().produceTransformation("junit:*");
+        Model result = transformation.transform(model);
+        assertEquals(List.of(guava), result.getDependencies());
+        assertEquals(List.of(guava), result.getDependencyManagement().getDependencies());
+        assertEquals(List.of(), result.getProfiles().get(0).getDependencies());
+    }
+
+    @Test
+    public void testDependencyDoesNotMatch_ModelUnchanged() {
+        Model model =
+                Model.newBuilder()
+                        .dependencies(List.of(dependency("com.google.guava", "guava")))
+                        .build();
+        Transformation transformation = new PurgeDependency().produceTransformation("junit:*");
+        assertSame(model, transformation.transform(model));
+    }
+}
@@ -0,0 +1,102 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.Transformation;
+import java.util.List;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.Reporting;
+import org.junit.jupiter.api.Test;
+
+public class PurgePluginTest {
+
+    private static Plugin plugin(String aid) {
+        return Plugin.newBuilder().groupId("org.apache.maven.plugins").artifactId(aid).build();
+    }
+
+    private static ReportPlugin reportPlugin(String aid) {
+        return ReportPlugin.newBuilder()
+                .groupId("org.apache.maven.plugins")
+                .artifactId(aid)
+                .build();
+    }
+
+    @Test
+    public void testPluginIsRemovedFromAllContainers() {
+        Plugin javadoc = plugin("maven-javadoc-plugin");
+        Plugin compiler = plugin("maven-compiler-plugin");
+        Model model =
+                Model.newBuilder()
+                        .build(
+                                Build.newBuilder()
+                                        .plugins(List.of(compiler, javadoc))
+                                        .pluginManagement(
+                                                PluginManagement.newBuilder()
+                                                        .plugins(List.of(javadoc))
+                                                        .build())
+                                        .build())
+                        .reporting(
+                                Reporting.newBuilder()
+                                        .plugins(
+                                                List.of(
+                                                        reportPlugin("maven-javadoc-plugin"),
+                                                        reportPlugin("maven-jxr-plugin")))
+                                        .build())
+                        .profiles(
+                                List.of(
+                                        Profile.newBuilder()
+                                                .id("release")
+                                                .build(
+                                                        BuildBase.newBuilder()
+                                                                .plugins(List.of(javadoc))
+                                                                .build())
+                                                .build()))
+                        .build();
+        Transformation transformation =
+                new PurgePlugin().produceTransformation("*:maven-javadoc-plugin");
+        Model result = transformation.transform(model);
+        assertEquals(List.of(compiler), result.getBuild().getPlugins());
+        assertEquals(List.of(), result.getBuild().getPluginManagement().getPlugins());
+        assertEquals(
+                List.of("maven-jxr-plugin"),
+                result.getReporting().getPlugins().stream()
+                        .map(ReportPlugin::getArtifactId)
+                        .toList());
+        assertEquals(List.of(), result.getProfiles().get(0).getBuild().getPlugins());
+    }
+
+    @Test
+    public void testPluginDoesNotMatch_ModelUnchanged() {
+        Model model =
+                Model.newBuilder()
+                        .build(
+                                Build.newBuilder()
+                                        .plugins(List.of(plugin("maven-compiler-plugin")))
+                                        .build())
+                        .build();
+        Transformation transformation =
+                new PurgePlugin().produceTransformation("*:maven-javadoc-plugin");
+        assertSame(model, transformation.transform(model));
+    }
+}
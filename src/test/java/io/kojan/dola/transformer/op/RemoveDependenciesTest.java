@@ -0,0 +1,95 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.Transformation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RemoveDependenciesTest {
+
+    @TempDir Path dir;
+
+    private Transformation transformation(String... lines) throws Exception {
+        Path file = dir.resolve("deps.txt");
+        Files.write(file, List.of(lines));
+        return new RemoveDependencies().produceTransformation(file.toString());
+    }
+
+    private static Model model(String... coords) {
+        return Model.newBuilder()
+                .dependencies(
+                        List.of(coords).stream()
+                                .map(
+                                        ga ->
+                                                Dependency.newBuilder()
+                                                        .groupId(ga.substring(0, ga.indexOf(':')))
+                                                        .artifactId(
+                                                                ga.substring(ga.indexOf(':') + 1))
+                                                        .build())
+                                .toList())
+                .build();
+    }
+
+    private static List<String> coords(Model model) {
+        return model.getDependencies().stream()
+                .map(d -> d.getGroupId() + ":" + d.getArtifactId())
+                .toList();
+    }
+
+    @Test
+    public void testExactAndGlobEntries() throws Exception {
+        Transformation transformation =
+                transformation(
+                        "# unwanted", "", "org.a:one", " org.a:two ", "org.junk:*", "*:test-?");
+        Model model =
+                model(
+                        "org.a:one",
+                        "org.a:three",
+                        "org.junk:x",
+                        "org.b:test-1",
+                        "org.b:test-10",
+                        "org.a:two");
+        Model result = transformation.transform(model);
+        assertEquals(List.of("org.a:three", "org.b:test-10"), coords(result));
+    }
+
+    @Test
+    public void testModelUnchanged() throws Exception {
+        Transformation transformation = transformation("org.a:one", "org.junk:*");
+        Model model = model("org.a:two", "org.b:one");
+        assertSame(model, transformation.transform(model));
+    }
+
+    @Test
+    public void testExactEntriesOnly() throws Exception {
+        Transformation transformation = transformation("org.a:one");
+        Model model = model("org.a:one", "org.a:one-more");
+        assertEquals(List.of("org.a:one-more"), coords(transformation.transform(model)));
+    }
+
+    @Test
+    public void testInvalidLineThrows() {
+        assertThrows(IllegalArgumentException.class, () -> transformation("org.a.one"));
+    }
+}
@@ -27,39 +27,28 @@ public class RemoveParentTest {
 
     @Test
     public void testParentMatchesAndIsRemoved() {
-        // Setup matcher arg
         String matcherArg = "com.example:parent-artifact";
         RemoveParent transformer = new RemoveParent();
         Transformation transformation = transformer.produceTransformation(matcherArg);
 
-        // Mock parent
-        Parent parent = mock(Parent.class);
-        expect(parent.getGroupId()).andReturn("com.example").anyTimes();
-        expect(parent.getArtifactId()).andReturn("parent-artifact").anyTimes();
-        expect(parent.getVersion()).andReturn("1.0.0").anyTimes();
-
-        // Mock original model
-        Model originalModel = mock(Model.class);
-        expect(originalModel.getParent()).andReturn(parent).anyTimes();
-        expect(originalModel.getGroupId()).andReturn(null).anyTimes(); // triggers groupId copy
-        expect(originalModel.getVersion()).andReturn(null).anyTimes(); // triggers version copy
-
-        // Expect withParent(null), withGroupId(), and withVersion() calls
-        Model modelWithoutParent = mock(Model.class);
-        expect(originalModel.withParent(null)).andReturn(modelWithoutParent);
-
-        Model modelWithGroupId = mock(Model.class);
-        expect(modelWithoutParent.withGroupId("com.example")).andReturn(modelWithGroupId);
-
-        Model finalModel = mock(Model.class);
-        expect(modelWithGroupId.withVersion("1.0.0")).andReturn(finalModel);
-
-        replay(parent, originalModel, modelWithoutParent, modelWithGroupId, finalModel);
+        Parent parent =
+                Parent.newBuilder()
+                        .groupId("com.example")
+                        .artifactId("parent-artifact")
+                        .version("1.0.0")
+                        .build();
+        Model originalModel =
+                Model.newBuilder().artifactId("child").parent(parent).name("Child").build();
 
+        // Parent, groupId and version are all replaced in a single copy of the model
         Model result = transformation.transform(originalModel);
-        assertSame(finalModel, result);
-
-        verify(parent, originalModel, modelWithoutParent, modelWithGroupId, finalModel);
+        assertNotSame(originalModel, result);
+        assertNull(result.getParent());
+        assertEquals("com.example", result.getGroupId());
+        assertEquals("child", result.getArtifactId());
+        assertEquals("1.0.0", result.getVersion());
+        assertEquals("Child", result.getName());
+        assertSame(parent, originalModel.getParent());
     }
 
     @Test
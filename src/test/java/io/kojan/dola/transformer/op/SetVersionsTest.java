@@ -0,0 +1,126 @@
+/*-
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.kojan.dola.transformer.op;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.kojan.dola.transformer.ModelView;
+import io.kojan.dola.transformer.Transformation;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SetVersionsTest {
+
+    @TempDir Path dir;
+
+    private Transformation transformation(String... lines) throws Exception {
+        Path table = dir.resolve("versions.txt");
+        Files.write(table, List.of(lines));
+        return new SetVersions().produceTransformation(table.toString());
+    }
+
+    private static Dependency dep(String gid, String aid, String version) {
+        return Dependency.newBuilder().groupId(gid).artifactId(aid).version(version).build();
+    }
+
+    private static Model model() {
+        return Model.newBuilder()
+                .groupId("org.app")
+                .artifactId("app")
+                .dependencies(
+                        List.of(
+                                dep("org.lib", "a", "1.0"),
+                                dep("org.lib", "b", "[1.0,2.0)"),
+                                dep("org.lib", "c", null),
+                                dep("org.other", "d", "3.0")))
+                .dependencyManagement(
+                        DependencyManagement.newBuilder()
+                                .dependencies(
+                                        List.of(
+                                                dep("org.lib", "c", "0.9"),
+                                                dep("org.lib", "e", "2")))
+                                .build())
+                .build();
+    }
+
+    private static List<String> versions(List<Dependency> dependencies) {
+        return dependencies.stream().map(Dependency::getVersion).toList();
+    }
+
+    @Test
+    public void testVersionsAreSet() throws Exception {
+        Transformation transformation =
+                transformation(
+                        "# aligned versions",
+                        "",
+                        "org.lib:a=1.1",
+                        "org.lib:b = 1.5",
+                        "org.lib:c=1.2",
+                        "org.lib:e=2",
+                        "org.unused:x=9");
+        Model model = model();
+        Model result = transformation.transform(model);
+
+        assertNotSame(model, result);
+        assertEquals(Arrays.asList("1.1", "1.5", null, "3.0"), versions(result.getDependencies()));
+        assertEquals(
+                List.of("1.2", "2"), versions(result.getDependencyManagement().getDependencies()));
+        assertSame(model.getDependencies().get(3), result.getDependencies().get(3));
+        assertSame(
+                model.getDependencyManagement().getDependencies().get(1),
+                result.getDependencyManagement().getDependencies().get(1));
+
+        Model viewResult = transformation.transform(new ModelView(model));
+        assertEquals(versions(result.getDependencies()), versions(viewResult.getDependencies()));
+        assertEquals(
+                versions(result.getDependencyManagement().getDependencies()),
+                versions(viewResult.getDependencyManagement().getDependencies()));
+    }
+
+    @Test
+    public void testModelUnchanged() throws Exception {
+        Transformation transformation = transformation("org.lib:a=1.0", "org.lib:e=2");
+        Model model = model();
+        assertSame(model, transformation.transform(model));
+        assertSame(model, transformation.transform(new ModelView(model)));
+    }
+
+    @Test
+    public void testModelWithoutDependencyManagement() throws Exception {
+        Transformation transformation = transformation("org.lib:a=1.1");
+        Model model = Model.newBuilder().dependencies(List.of(dep("org.lib", "a", "1.0"))).build();
+        Model result = transformation.transform(model);
+        assertEquals(List.of("1.1"), versions(result.getDependencies()));
+        assertNull(result.getDependencyManagement());
+    }
+
+    @Test
+    public void testInvalidTableThrows() {
+        assertThrows(IllegalArgumentException.class, () -> transformation("org.lib:a"));
+        assertThrows(IllegalArgumentException.class, () -> transformation("org.lib=1.0"));
+        assertThrows(
+                UncheckedIOException.class,
+                () -> new SetVersions().produceTransformation(dir.resolve("none").toString()));
+    }
+}